@@ -77,6 +77,10 @@ public class AudioCodeContext<D extends AudioCodeDelegate> extends CodeContext<D
         updateDelegate();
     }
 
+    AudioContext.Profiler getProfiler() {
+        return audioCtxt == null ? null : audioCtxt.getProfiler();
+    }
+
     private void setupDelegate() {
         setupPorts();
         setupUGens();
@@ -23,6 +23,7 @@
 package org.praxislive.audio.code;
 
 import java.lang.reflect.Field;
+import org.praxislive.audio.AudioContext;
 import org.praxislive.audio.AudioPort;
 import org.praxislive.audio.code.userapi.AudioIn;
 import org.praxislive.code.CodeConnector;
@@ -35,6 +36,7 @@ import org.praxislive.core.PortInfo;
 import org.praxislive.core.types.PMap;
 import org.praxislive.logging.LogLevel;
 import org.jaudiolibs.pipes.Buffer;
+import org.jaudiolibs.pipes.Pipe;
 import org.praxislive.audio.DefaultAudioInputPort;
 
 /**
@@ -75,6 +77,24 @@ class AudioInPort extends DefaultAudioInputPort {
 
     static class AudioInPipe extends AudioIn {
 
+        private AudioCodeContext<?> context;
+
+        @Override
+        public void process(Pipe sink, Buffer buffer, long time) {
+            AudioContext.Profiler profiler = context == null ? null : context.getProfiler();
+            if (profiler == null) {
+                super.process(sink, buffer, time);
+                return;
+            }
+            // time spent upstream is not attributed to this component
+            profiler.begin();
+            try {
+                super.process(sink, buffer, time);
+            } finally {
+                profiler.end(null);
+            }
+        }
+
         @Override
         protected void process(Buffer buffer, boolean rendering) {
 
@@ -108,6 +128,7 @@ class AudioInPort extends DefaultAudioInputPort {
                 }
                 port = new AudioInPort(new AudioInPipe());
             }
+            port.in.context = (AudioCodeContext<?>) context;
             try {
                 field.set(context.getDelegate(), port.in);
             } catch (Exception ex) {
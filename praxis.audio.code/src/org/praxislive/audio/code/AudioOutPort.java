@@ -23,6 +23,7 @@
 package org.praxislive.audio.code;
 
 import java.lang.reflect.Field;
+import org.praxislive.audio.AudioContext;
 import org.praxislive.audio.AudioPort;
 import org.praxislive.audio.code.userapi.AudioOut;
 import org.praxislive.code.CodeConnector;
@@ -78,15 +79,22 @@ class AudioOutPort extends DefaultAudioOutputPort {
 
         private float last;
         private boolean switchAndRamp;
-        private CodeContext<?> context;
+        private AudioCodeContext<?> context;
 
         @Override
         public void process(Pipe sink, Buffer buffer, long time) {
+            AudioContext.Profiler profiler = context.getProfiler();
+            if (profiler != null) {
+                profiler.begin();
+            }
             try {
                 super.process(sink, buffer, time);
             } catch (Exception ex) {
                 context.getLog().log(LogLevel.ERROR, ex);
             }
+            if (profiler != null) {
+                profiler.end(context.getAddress());
+            }
         }
         
         @Override
@@ -148,7 +156,7 @@ class AudioOutPort extends DefaultAudioOutputPort {
                 }
                 port = new AudioOutPort(new AudioOutPipe());
             }
-            port.out.context = context;
+            port.out.context = (AudioCodeContext<?>) context;
             try {
                 field.set(context.getDelegate(), port.out);
             } catch (Exception ex) {
@@ -42,18 +42,13 @@ public class Add extends MultiInOut {
             return;
         }
         float[] out = output.getData();
-        for (int i = 0; i < inputs.length; i++) {
+        int size = output.getSize();
+        System.arraycopy(inputs[0].getData(), 0, out, 0, size);
+        for (int i = 1; i < inputs.length; i++) {
             float[] in = inputs[i].getData();
-            if (i == 0) {
-                for (int k = 0,  z = output.getSize(); k < z; k++) {
-                    out[k] = in[k];
-                }
-            } else {
-                for (int k = 0,  z = output.getSize(); k < z; k++) {
-                    out[k] += in[k];
-                }
+            for (int k = 0; k < size; k++) {
+                out[k] += in[k];
             }
-
         }
     }
     
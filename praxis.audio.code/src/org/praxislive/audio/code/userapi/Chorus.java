@@ -24,6 +24,7 @@ package org.praxislive.audio.code.userapi;
 
 import org.praxislive.audio.code.Resettable;
 import org.jaudiolibs.audioops.impl.ChorusOp;
+import org.jaudiolibs.pipes.Buffer;
 import org.jaudiolibs.pipes.impl.OpHolder;
 
 /**
@@ -33,6 +34,7 @@ import org.jaudiolibs.pipes.impl.OpHolder;
 public final class Chorus extends OpHolder<ChorusOp> implements Resettable {
 
     private final ChorusOp op;
+    private long silence;
     
     public Chorus() {
         op = new ChorusOp();
@@ -76,6 +78,23 @@ public final class Chorus extends OpHolder<ChorusOp> implements Resettable {
         return op.getRate();
     }
     
+    @Override
+    protected void process(Buffer buffer, boolean rendering) {
+        if (rendering && Utils.isSilent(buffer)) {
+            // depth is in ms, and delay modulates up to 1.5x depth
+            long tail = Utils.tailSamples(buffer.getSampleRate(),
+                    op.getDepth() * 0.0015, op.getFeedback());
+            if (silence >= tail) {
+                rendering = false;
+            } else {
+                silence += buffer.getSize();
+            }
+        } else {
+            silence = 0;
+        }
+        super.process(buffer, rendering);
+    }
+
     @Override
     public void reset() {
         op.setDepth(0);
@@ -24,6 +24,7 @@ package org.praxislive.audio.code.userapi;
 
 import org.praxislive.audio.code.Resettable;
 import org.jaudiolibs.audioops.impl.VariableDelayOp;
+import org.jaudiolibs.pipes.Buffer;
 import org.jaudiolibs.pipes.impl.OpHolder;
 
 /**
@@ -33,6 +34,7 @@ import org.jaudiolibs.pipes.impl.OpHolder;
 public final class Delay extends OpHolder<VariableDelayOp> implements Resettable {
 
     private final OpImpl op;
+    private long silence;
     
     public Delay() {
         op = new OpImpl(2);
@@ -80,6 +82,23 @@ public final class Delay extends OpHolder<VariableDelayOp> implements Resettable
         return op.getMaxDelay();
     }
     
+    @Override
+    protected void process(Buffer buffer, boolean rendering) {
+        if (rendering && Utils.isSilent(buffer)) {
+            long tail = Utils.tailSamples(buffer.getSampleRate(),
+                    op.getDelay(), op.getFeedback());
+            if (silence >= tail) {
+                // tail has decayed - skip, and op will be reset on resume
+                rendering = false;
+            } else {
+                silence += buffer.getSize();
+            }
+        } else {
+            silence = 0;
+        }
+        super.process(buffer, rendering);
+    }
+
     @Override
     public void reset() {
         op.setDelay(0);
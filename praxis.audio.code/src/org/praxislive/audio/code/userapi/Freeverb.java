@@ -24,6 +24,7 @@ package org.praxislive.audio.code.userapi;
 
 import org.praxislive.audio.code.Resettable;
 import org.jaudiolibs.audioops.impl.FreeverbOp;
+import org.jaudiolibs.pipes.Buffer;
 import org.jaudiolibs.pipes.impl.MultiChannelOpHolder;
 
 /**
@@ -39,7 +40,14 @@ public class Freeverb extends MultiChannelOpHolder<FreeverbOp>
     private final static float INITIAL_WET = 0;
     private final static float INITIAL_WIDTH = 0.5f;
     
+    // values used by the Freeverb algorithm to calculate the decay tail
+    private final static float ROOM_SCALE = 0.28f;
+    private final static float ROOM_OFFSET = 0.7f;
+    private final static double COMB_PERIOD = 0.0372;
+    private final static double ALLPASS_TAIL = 0.05;
+    
     private final FreeverbOp op;
+    private long silence;
 
     public Freeverb() {
         this(new FreeverbOp(), 2);
@@ -95,6 +103,32 @@ public class Freeverb extends MultiChannelOpHolder<FreeverbOp>
         return op.getWidth();
     }
     
+    @Override
+    protected void process(Buffer[] buffers, boolean rendering) {
+        if (rendering && buffers.length > 0 && isSilent(buffers)) {
+            long tail = Utils.tailSamples(buffers[0].getSampleRate(),
+                    COMB_PERIOD, op.getRoomSize() * ROOM_SCALE + ROOM_OFFSET)
+                    + (long) (buffers[0].getSampleRate() * ALLPASS_TAIL);
+            if (silence >= tail) {
+                rendering = false;
+            } else {
+                silence += buffers[0].getSize();
+            }
+        } else {
+            silence = 0;
+        }
+        super.process(buffers, rendering);
+    }
+
+    private boolean isSilent(Buffer[] buffers) {
+        for (Buffer buffer : buffers) {
+            if (!Utils.isSilent(buffer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void reset() {
         op.setDamp(INITIAL_DAMP);
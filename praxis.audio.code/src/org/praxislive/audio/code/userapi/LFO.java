@@ -213,7 +213,7 @@ public final class LFO extends OpHolder<AudioOp> implements Resettable {
             float t = phase / TWOPI;
             switch (wave) {
                 case Sine:
-                    value = (float) Math.sin(phase);
+                    value = WaveTables.sine(phase);
                     break;
                 case Saw:
                     value = (2.0f * t) - 1.0f;
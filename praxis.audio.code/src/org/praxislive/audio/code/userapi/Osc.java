@@ -89,6 +89,7 @@ public final class Osc extends OpHolder<AudioOp> implements Resettable {
         private float srate;
         private float gain, oldGain;
         private Waveform wave;
+        private float[] scratch;
 
         private Op() {
             this.freq = DEFAULT_FREQUENCY;
@@ -125,6 +126,7 @@ public final class Osc extends OpHolder<AudioOp> implements Resettable {
         public void initialize(float samplerate, int buffersize) {
             this.srate = samplerate;
             this.phase = 0;
+            this.scratch = new float[buffersize];
             updateIncrement();
         }
 
@@ -144,17 +146,14 @@ public final class Osc extends OpHolder<AudioOp> implements Resettable {
             float g1 = oldGain;
             float g2 = freq > 1 ? gain : 0;
             if (g1 != 0 || g2 != 0) {
+                float[] buf = generate(buffersize);
                 float delta = (g2 - g1) / buffersize;
                 for (int i = 0; i < buffersize; i++) {
-                    out[i] = g1 * nextSample();
-                    g1 += delta;
-                } 
-            } else {
-                Arrays.fill(out, 0);
-                phase += (phaseIncrement * buffersize);
-                while (phase >= TWOPI) {
-                    phase -= TWOPI;
+                    out[i] = buf[i] * (g1 + delta * i);
                 }
+            } else {
+                Arrays.fill(out, 0, buffersize, 0);
+                skip(buffersize);
             }
             oldGain = g2;
         }
@@ -165,62 +164,90 @@ public final class Osc extends OpHolder<AudioOp> implements Resettable {
             float g1 = oldGain;
             float g2 = freq > 1 ? gain : 0;
             if (g1 != 0 || g2 != 0) {
+                float[] buf = generate(buffersize);
                 float delta = (g2 - g1) / buffersize;
                 for (int i = 0; i < buffersize; i++) {
-                    out[i] += g1 * nextSample();
-                    g1 += delta;
-                } 
-            } else {
-                phase += (phaseIncrement * buffersize);
-                while (phase >= TWOPI) {
-                    phase -= TWOPI;
+                    out[i] += buf[i] * (g1 + delta * i);
                 }
+            } else {
+                skip(buffersize);
             }
             oldGain = g2;
         }
 
-        private void updateIncrement() {
-            float inc = 0;
-            if (srate > 0) {
-                inc = TWOPI * freq / srate;
-                if (inc < 0) {
-                    inc = 0;
-                }
+        private void skip(int buffersize) {
+            phase += (phaseIncrement * buffersize);
+            while (phase >= TWOPI) {
+                phase -= TWOPI;
             }
-            phaseIncrement = inc;
         }
 
-        private float nextSample() {
-            float value = 0;
-            float t = phase / TWOPI;
+        /*
+         * Render a block of the raw waveform into the scratch buffer. The
+         * waveform switch is hoisted out of the per-sample loop, and gain is
+         * applied separately in a loop simple enough to be vectorised.
+         */
+        private float[] generate(int buffersize) {
+            float[] buf = scratch;
+            if (buf == null || buf.length < buffersize) {
+                buf = new float[buffersize];
+                scratch = buf;
+            }
+            float p = phase;
+            float inc = phaseIncrement;
+            float dt = inc / TWOPI;
             switch (wave) {
                 case Sine:
-                    value = (float) Math.sin(phase);
+                    for (int i = 0; i < buffersize; i++) {
+                        buf[i] = WaveTables.sine(p);
+                        p += inc;
+                        while (p >= TWOPI) {
+                            p -= TWOPI;
+                        }
+                    }
                     break;
                 case Saw:
-                    value = (2.0f * t) - 1.0f;
-                    value -= polyBLEP(t);
+                    for (int i = 0; i < buffersize; i++) {
+                        float t = p / TWOPI;
+                        buf[i] = (2.0f * t) - 1.0f - polyBLEP(t, dt);
+                        p += inc;
+                        while (p >= TWOPI) {
+                            p -= TWOPI;
+                        }
+                    }
                     break;
                 case Square:
-                    if (phase < Math.PI) {
-                        value = 1.0f;
-                    } else {
-                        value = -1.0f;
+                    for (int i = 0; i < buffersize; i++) {
+                        float t = p / TWOPI;
+                        float value = t < 0.5f ? 1.0f : -1.0f;
+                        value += polyBLEP(t, dt);
+                        value -= polyBLEP((t + 0.5f) % 1.0f, dt);
+                        buf[i] = value;
+                        p += inc;
+                        while (p >= TWOPI) {
+                            p -= TWOPI;
+                        }
                     }
-
-                    value += polyBLEP(t);
-                    value -= polyBLEP((t + 0.5f) % 1.0f);
                     break;
+                default:
+                    Arrays.fill(buf, 0, buffersize, 0);
             }
-            phase += phaseIncrement;
-            while (phase >= TWOPI) {
-                phase -= TWOPI;
+            phase = p;
+            return buf;
+        }
+
+        private void updateIncrement() {
+            float inc = 0;
+            if (srate > 0) {
+                inc = TWOPI * freq / srate;
+                if (inc < 0) {
+                    inc = 0;
+                }
             }
-            return value;
+            phaseIncrement = inc;
         }
 
-        private float polyBLEP(float t) {
-            float dt = phaseIncrement / TWOPI;
+        private static float polyBLEP(float t, float dt) {
             if (t < dt) {
                 t /= dt;
                 return t + t - t * t - 1.0f;
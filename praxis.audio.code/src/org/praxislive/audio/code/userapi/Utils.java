@@ -22,12 +22,19 @@
  */
 package org.praxislive.audio.code.userapi;
 
+import org.jaudiolibs.pipes.Buffer;
+
 /**
  *
  * @author Neil C Smith (http://neilcsmith.net)
  */
 class Utils {
 
+    /**
+     * Level below which a signal is considered silent (-100dB).
+     */
+    final static float SILENCE = 0.00001f;
+
     private Utils() {
     }
 
@@ -36,4 +43,40 @@ class Utils {
 
     }
 
+    /**
+     * Check whether all samples in the buffer are below {@link #SILENCE}.
+     *
+     * @param buffer
+     * @return true if silent
+     */
+    static boolean isSilent(Buffer buffer) {
+        float[] data = buffer.getData();
+        for (int i = 0, size = buffer.getSize(); i < size; i++) {
+            float sample = data[i];
+            if (sample > SILENCE || sample < -SILENCE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calculate the tail length in samples of a feedback process, ie. the time
+     * after input stops before output falls below {@link #SILENCE}.
+     *
+     * @param sampleRate sample rate
+     * @param period feedback period in seconds
+     * @param feedback feedback gain per period
+     * @return tail length in samples, or Long.MAX_VALUE if not decaying
+     */
+    static long tailSamples(double sampleRate, double period, double feedback) {
+        feedback = Math.abs(feedback);
+        if (feedback >= 0.999) {
+            return Long.MAX_VALUE;
+        }
+        double repeats = feedback <= SILENCE ? 0
+                : Math.ceil(Math.log(SILENCE) / Math.log(feedback));
+        return (long) Math.ceil(sampleRate * period * (repeats + 1));
+    }
+
 }
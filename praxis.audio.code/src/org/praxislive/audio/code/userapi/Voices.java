@@ -0,0 +1,403 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.audio.code.userapi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import org.jaudiolibs.pipes.Buffer;
+import org.jaudiolibs.pipes.Pipe;
+import org.jaudiolibs.pipes.SinkIsFullException;
+import org.jaudiolibs.pipes.SourceIsFullException;
+import org.praxislive.audio.code.Resettable;
+
+/**
+ * A polyphonic UGen managing a pool of {@link Voice}s. Each voice builds its
+ * own UGen graph, and the output of all active voices is summed. Idle voices
+ * are not processed at all, so CPU use is proportional to the number of
+ * sounding notes rather than the size of the pool.
+ * <p>
+ * Voices are allocated on {@link #noteOn(int, double)}. If no voice is idle,
+ * the oldest releasing voice is stolen, or failing that the oldest playing
+ * voice. A released voice becomes idle when its output falls silent, or when
+ * it calls {@link Voice#stop()}.
+ * <pre>
+ * {@code
+ * @UGen Voices voices;
+ * @Out(1) AudioOut out;
+ *
+ * public void init() {
+ *     voices.voices(8, SynthVoice::new);
+ *     link(voices, out);
+ * }
+ *
+ * class SynthVoice extends Voices.Voice {
+ *     Osc osc = new Osc();
+ *     protected Pipe output() { return osc; }
+ *     protected void noteOn(int note, double velocity) {
+ *         osc.frequency(midiToFrequency(note)).gain(velocity);
+ *     }
+ *     protected void noteOff() {
+ *         stop();
+ *     }
+ * }
+ * }
+ * </pre>
+ */
+public final class Voices extends Pipe implements Resettable {
+
+    private final static int MAX_VOICES = 64;
+
+    private final List<Pipe> sources;
+
+    private Voice[] voices;
+    private Pipe sink;
+    private Buffer scratch;
+    private long counter;
+    private long renderReqTime;
+    private boolean renderReqCache;
+
+    public Voices() {
+        sources = new ArrayList<>();
+        voices = new Voice[0];
+    }
+
+    /**
+     * Replace the voice pool with the given number of voices, created by the
+     * provided factory.
+     *
+     * @param count number of voices, between 1 and 64
+     * @param factory voice factory
+     * @return this
+     */
+    public Voices voices(int count, Supplier<? extends Voice> factory) {
+        if (count < 1 || count > MAX_VOICES) {
+            throw new IllegalArgumentException("Voice count out of range");
+        }
+        clear();
+        Voice[] pool = new Voice[count];
+        for (int i = 0; i < count; i++) {
+            Voice voice = Objects.requireNonNull(factory.get());
+            voice.out = Objects.requireNonNull(voice.output());
+            pool[i] = voice;
+        }
+        voices = pool;
+        for (Voice voice : pool) {
+            addSource(voice.out);
+        }
+        return this;
+    }
+
+    /**
+     * Allocate a voice and start a note.
+     *
+     * @param note MIDI note number
+     * @param velocity note velocity, usually 0 .. 1
+     * @return allocated voice, or null if the pool is empty
+     */
+    public Voice noteOn(int note, double velocity) {
+        Voice voice = allocate();
+        if (voice == null) {
+            return null;
+        }
+        voice.note = note;
+        voice.state = Voice.PLAYING;
+        voice.age = ++counter;
+        voice.noteOn(note, velocity);
+        return voice;
+    }
+
+    /**
+     * Release all playing voices for the given note.
+     *
+     * @param note MIDI note number
+     * @return this
+     */
+    public Voices noteOff(int note) {
+        for (Voice voice : voices) {
+            if (voice.state == Voice.PLAYING && voice.note == note) {
+                voice.state = Voice.RELEASING;
+                voice.noteOff();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Release all playing voices.
+     *
+     * @return this
+     */
+    public Voices allNotesOff() {
+        for (Voice voice : voices) {
+            if (voice.state == Voice.PLAYING) {
+                voice.state = Voice.RELEASING;
+                voice.noteOff();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Number of voices currently playing or releasing.
+     *
+     * @return active voice count
+     */
+    public int active() {
+        int count = 0;
+        for (Voice voice : voices) {
+            if (voice.state != Voice.IDLE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Size of the voice pool.
+     *
+     * @return voice count
+     */
+    public int size() {
+        return voices.length;
+    }
+
+    @Override
+    public void reset() {
+        clear();
+    }
+
+    private void clear() {
+        for (int i = sources.size(); i > 0; i--) {
+            removeSource(sources.get(i - 1));
+        }
+        voices = new Voice[0];
+    }
+
+    private Voice allocate() {
+        Voice releasing = null;
+        Voice playing = null;
+        for (Voice voice : voices) {
+            switch (voice.state) {
+                case Voice.IDLE:
+                    return voice;
+                case Voice.RELEASING:
+                    if (releasing == null || voice.age < releasing.age) {
+                        releasing = voice;
+                    }
+                    break;
+                default:
+                    if (playing == null || voice.age < playing.age) {
+                        playing = voice;
+                    }
+            }
+        }
+        return releasing != null ? releasing : playing;
+    }
+
+    @Override
+    protected void process(Pipe sink, Buffer buffer, long time) {
+        if (sink != this.sink) {
+            return;
+        }
+        buffer.clear();
+        float[] out = buffer.getData();
+        int size = buffer.getSize();
+        for (Voice voice : voices) {
+            if (voice.state == Voice.IDLE) {
+                continue;
+            }
+            if (scratch == null || !buffer.isCompatible(scratch)) {
+                scratch = buffer.createBuffer();
+            }
+            callSource(voice.out, scratch, time);
+            float[] data = scratch.getData();
+            float peak = 0;
+            for (int i = 0; i < size; i++) {
+                float sample = data[i];
+                out[i] += sample;
+                peak = Math.max(peak, Math.abs(sample));
+            }
+            if (voice.state == Voice.RELEASING && peak < Utils.SILENCE) {
+                voice.state = Voice.IDLE;
+            }
+        }
+    }
+
+    @Override
+    protected boolean isRenderRequired(Pipe source, long time) {
+        if (sink == null) {
+            return false;
+        }
+        if (time != renderReqTime) {
+            renderReqTime = time;
+            renderReqCache = sinkRequiresRender(sink, time);
+        }
+        return renderReqCache;
+    }
+
+    @Override
+    public int getSourceCount() {
+        return sources.size();
+    }
+
+    @Override
+    public int getSourceCapacity() {
+        return MAX_VOICES;
+    }
+
+    @Override
+    public Pipe getSource(int idx) {
+        return sources.get(idx);
+    }
+
+    @Override
+    public int getSinkCount() {
+        return sink == null ? 0 : 1;
+    }
+
+    @Override
+    public int getSinkCapacity() {
+        return 1;
+    }
+
+    @Override
+    public Pipe getSink(int idx) {
+        if (idx == 0 && sink != null) {
+            return sink;
+        }
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Override
+    protected void registerSource(Pipe source) {
+        if (source == null) {
+            throw new NullPointerException();
+        }
+        if (sources.size() == MAX_VOICES) {
+            throw new SinkIsFullException();
+        }
+        sources.add(source);
+    }
+
+    @Override
+    protected void unregisterSource(Pipe source) {
+        if (sources.remove(source)) {
+            // drop any voice whose output has been disconnected elsewhere
+            List<Voice> remaining = new ArrayList<>(voices.length);
+            for (Voice voice : voices) {
+                if (voice.out != source) {
+                    remaining.add(voice);
+                }
+            }
+            voices = remaining.toArray(new Voice[remaining.size()]);
+        }
+    }
+
+    @Override
+    protected void registerSink(Pipe sink) throws SourceIsFullException {
+        if (sink == null) {
+            throw new NullPointerException();
+        }
+        if (this.sink != null) {
+            throw new SourceIsFullException();
+        }
+        this.sink = sink;
+    }
+
+    @Override
+    protected void unregisterSink(Pipe sink) {
+        if (this.sink == sink) {
+            this.sink = null;
+        }
+    }
+
+    /**
+     * A single voice. Subclasses build their UGen graph in the constructor or
+     * field initializers and return the final UGen from {@link #output()}.
+     */
+    public static abstract class Voice {
+
+        private final static int IDLE = 0;
+        private final static int PLAYING = 1;
+        private final static int RELEASING = 2;
+
+        private Pipe out;
+        private int state;
+        private int note = -1;
+        private long age;
+
+        /**
+         * The final UGen of this voice's graph. Called once when the voice is
+         * added to the pool.
+         *
+         * @return voice output
+         */
+        protected abstract Pipe output();
+
+        /**
+         * Called when a note is allocated to this voice, including when it is
+         * stolen from another note.
+         *
+         * @param note MIDI note number
+         * @param velocity note velocity
+         */
+        protected void noteOn(int note, double velocity) {
+        }
+
+        /**
+         * Called when the note playing on this voice is released. The voice
+         * continues to be processed until its output is silent or
+         * {@link #stop()} is called.
+         */
+        protected void noteOff() {
+        }
+
+        /**
+         * Immediately return this voice to the idle pool.
+         */
+        protected final void stop() {
+            state = IDLE;
+        }
+
+        /**
+         * The last note allocated to this voice.
+         *
+         * @return MIDI note number, or -1 if never allocated
+         */
+        public final int note() {
+            return note;
+        }
+
+        /**
+         * Whether this voice is currently playing or releasing.
+         *
+         * @return true if active
+         */
+        public final boolean isActive() {
+            return state != IDLE;
+        }
+
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.audio.code.userapi;
+
+/**
+ * Shared precomputed tables for oscillator UGens.
+ */
+final class WaveTables {
+
+    private final static float TWOPI = (float) (2 * Math.PI);
+    private final static int SINE_SIZE = 4096;
+    private final static int SINE_MASK = SINE_SIZE - 1;
+    private final static float SINE_SCALE = SINE_SIZE / TWOPI;
+    // extra guard point so interpolation never needs to wrap
+    private final static float[] SINE = new float[SINE_SIZE + 1];
+
+    static {
+        for (int i = 0; i <= SINE_SIZE; i++) {
+            SINE[i] = (float) Math.sin(2 * Math.PI * i / SINE_SIZE);
+        }
+    }
+
+    private WaveTables() {
+    }
+
+    /**
+     * Linearly interpolated sine lookup. Phase is expected to be in the range
+     * 0 to 2PI - values slightly outside are wrapped.
+     *
+     * @param phase in radians
+     * @return sine of phase
+     */
+    static float sine(float phase) {
+        float pos = phase * SINE_SCALE;
+        int idx = (int) pos;
+        float frac = pos - idx;
+        idx &= SINE_MASK;
+        float a = SINE[idx];
+        return a + (SINE[idx + 1] - a) * frac;
+    }
+
+}
@@ -0,0 +1,45 @@
+package org.praxislive.audio.code.userapi;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ */
+public class WaveTablesTest {
+
+    public WaveTablesTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testSine() {
+        float twopi = (float) (2 * Math.PI);
+        int steps = 100_000;
+        for (int i = 0; i < steps; i++) {
+            float phase = twopi * i / steps;
+            assertEquals(Math.sin(phase), WaveTables.sine(phase), 1e-6);
+        }
+        assertEquals(0, WaveTables.sine(twopi), 1e-6);
+    }
+
+}
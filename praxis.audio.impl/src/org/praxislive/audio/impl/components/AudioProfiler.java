@@ -0,0 +1,171 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.audio.impl.components;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.praxislive.audio.AudioContext;
+import org.praxislive.core.ComponentAddress;
+import org.praxislive.core.types.PMap;
+
+/**
+ * Profiler implementation for DefaultAudioRoot. Time is accumulated per
+ * component over each block, and the last {@link #HISTORY} block totals are
+ * kept for reporting. Not thread safe - must only be used on the audio thread.
+ */
+class AudioProfiler extends AudioContext.Profiler {
+
+    private final static int MAX_DEPTH = 64;
+    private final static int HISTORY = 1024;
+
+    private final long[] starts;
+    private final long[] nested;
+    private final Map<ComponentAddress, Entry> entries;
+    private final List<Entry> active;
+
+    private int depth;
+    private long block;
+
+    AudioProfiler() {
+        starts = new long[MAX_DEPTH];
+        nested = new long[MAX_DEPTH];
+        entries = new LinkedHashMap<>();
+        active = new ArrayList<>();
+    }
+
+    @Override
+    public void begin() {
+        if (depth < MAX_DEPTH) {
+            starts[depth] = System.nanoTime();
+            nested[depth] = 0;
+        }
+        depth++;
+    }
+
+    @Override
+    public void end(ComponentAddress component) {
+        if (depth == 0) {
+            return;
+        }
+        depth--;
+        if (depth >= MAX_DEPTH) {
+            return;
+        }
+        long elapsed = System.nanoTime() - starts[depth];
+        if (depth > 0) {
+            nested[depth - 1] += elapsed;
+        }
+        if (component != null) {
+            Entry entry = entries.get(component);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(component, entry);
+            }
+            if (entry.lastBlock != block) {
+                entry.lastBlock = block;
+                entry.blockTime = 0;
+                active.add(entry);
+            }
+            entry.blockTime += elapsed - nested[depth];
+        }
+    }
+
+    /**
+     * Commit the times recorded in the previous block, and start a new block.
+     */
+    void nextBlock() {
+        for (int i = 0, count = active.size(); i < count; i++) {
+            active.get(i).commit();
+        }
+        active.clear();
+        depth = 0;
+        block++;
+    }
+
+    /**
+     * Clear all recorded data.
+     */
+    void reset() {
+        entries.clear();
+        active.clear();
+        depth = 0;
+    }
+
+    /**
+     * Create a map of component address to statistics (mean, p99 and max
+     * block time in microseconds) over the recorded history. Components that
+     * have not been processed within the history period are removed.
+     *
+     * @return profile data
+     */
+    PMap toMap() {
+        PMap.Builder builder = PMap.builder(entries.size());
+        Iterator<Map.Entry<ComponentAddress, Entry>> itr = entries.entrySet().iterator();
+        while (itr.hasNext()) {
+            Map.Entry<ComponentAddress, Entry> e = itr.next();
+            Entry entry = e.getValue();
+            if (block - entry.lastBlock > HISTORY) {
+                itr.remove();
+                continue;
+            }
+            if (entry.count == 0) {
+                continue;
+            }
+            int size = (int) Math.min(entry.count, HISTORY);
+            long[] sorted = Arrays.copyOf(entry.history, size);
+            Arrays.sort(sorted);
+            long total = 0;
+            for (long t : sorted) {
+                total += t;
+            }
+            double mean = (double) total / size;
+            long p99 = sorted[Math.min(size - 1, (int) Math.ceil(size * 0.99) - 1)];
+            long max = sorted[size - 1];
+            builder.put(e.getKey().toString(),
+                    PMap.of("mean", mean / 1000,
+                            "p99", p99 / 1000.0,
+                            "max", max / 1000.0));
+        }
+        return builder.build();
+    }
+
+    private static class Entry {
+
+        private final long[] history = new long[HISTORY];
+
+        private long count;
+        private long blockTime;
+        private long lastBlock = -1;
+
+        private void commit() {
+            history[(int) (count % HISTORY)] = blockTime;
+            count++;
+            blockTime = 0;
+        }
+
+    }
+
+}
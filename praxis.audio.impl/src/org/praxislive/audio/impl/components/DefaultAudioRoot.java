@@ -32,8 +32,13 @@ import java.util.logging.Logger;
 import org.praxislive.audio.AudioContext;
 import org.praxislive.audio.AudioSettings;
 import org.praxislive.audio.ClientRegistrationException;
+import org.praxislive.base.FlightRecorder;
+import org.praxislive.core.ArgumentInfo;
 import org.praxislive.core.Lookup;
+import org.praxislive.core.types.PMap;
 import org.praxislive.impl.AbstractRoot;
+import org.praxislive.impl.ArgumentProperty;
+import org.praxislive.impl.BooleanProperty;
 import org.praxislive.impl.InstanceLookup;
 import org.praxislive.impl.IntProperty;
 import org.praxislive.impl.RootState;
@@ -80,6 +85,10 @@ public class DefaultAudioRoot extends AbstractRoot {
     private Lookup lookup;
     private long period = -1;
 
+    private AudioProfiler profiler;
+    private boolean profiling;
+    private boolean profilerActive;
+
     public DefaultAudioRoot() {
         extractLibraryInfo();
         buildDefaultControls();
@@ -146,6 +155,11 @@ public class DefaultAudioRoot extends AbstractRoot {
                 .build();
         registerControl("library", libCtl);
 
+        profiler = new AudioProfiler();
+        registerControl("profiling", BooleanProperty.create(new ProfilingBinding(), false));
+        registerControl("profile", ArgumentProperty.createReadOnly(
+                ArgumentInfo.of(PMap.class), profiler::toMap));
+
         audioCtxt = new AudioCtxt();
     }
 
@@ -390,6 +404,7 @@ public class DefaultAudioRoot extends AbstractRoot {
         server = null;
         bus = null;
         busListener = null;
+        profilerActive = false;
         interrupt();
     }
 
@@ -411,17 +426,37 @@ public class DefaultAudioRoot extends AbstractRoot {
     private class BusListener implements BufferRateListener, BusClient.ConfigurationListener {
 
         private final long offset;
+
+        private long lastBlockStart;
         
         private BusListener(Clock clock) {
             offset = System.nanoTime() - clock.getTime();
         }
 
         public void nextBuffer(BufferRateSource source) {
+            FlightRecorder.AudioBuffer event = FlightRecorder.beginAudioBuffer();
+            long blockStart = System.nanoTime();
             try {
-                update(source.getTime() - offset, true);
+                // dispatch pending calls at the block boundary nearest their
+                // timestamp - block-size is the timing resolution, independent
+                // of the external buffer size
+                long window = period > 0 ? period / 2 : 0;
+                update(source.getTime() - offset, window, true);
+                // only switch profiling on or off between blocks
+                profilerActive = profiling;
+                if (profilerActive) {
+                    profiler.nextBlock();
+                }
             } catch (Exception ex) {
                 server.shutdown();
             }
+            if (event != null && event.end()) {
+                long late = Math.max(0, blockStart - source.getTime());
+                event.commit(getAddress().rootID(), period,
+                        lastBlockStart == 0 ? 0 : blockStart - lastBlockStart,
+                        late, period > 0 && late > period);
+            }
+            lastBlockStart = blockStart;
         }
 
         public void configure(AudioConfiguration context) throws Exception {
@@ -487,6 +522,11 @@ public class DefaultAudioRoot extends AbstractRoot {
         public int getBlockSize() {
             return blockSize.value;
         }
+
+        @Override
+        public Profiler getProfiler() {
+            return profilerActive ? profiler : null;
+        }
     }
 
     private class Context extends AbstractRoot.Context {
@@ -540,6 +580,21 @@ public class DefaultAudioRoot extends AbstractRoot {
 
     }
 
+    private class ProfilingBinding implements BooleanProperty.Binding {
+
+        public void setBoundValue(long time, boolean value) {
+            if (value && !profiling) {
+                profiler.reset();
+            }
+            profiling = value;
+        }
+
+        public boolean getBoundValue() {
+            return profiling;
+        }
+
+    }
+
     private class LibraryBinding implements StringProperty.Binding {
 
         private String value = "";
@@ -22,6 +22,7 @@
 package org.praxislive.audio;
 
 import org.jaudiolibs.pipes.Pipe;
+import org.praxislive.core.ComponentAddress;
 
 /**
  *
@@ -44,6 +45,44 @@ public abstract class AudioContext {
     
     public abstract int getBlockSize();
 
+    /**
+     * Get the profiler for this context, or null if profiling is not currently
+     * active. Components should query this on every processing cycle, as
+     * profiling may be switched on and off at any time. The default
+     * implementation returns null.
+     *
+     * @return active profiler or null
+     */
+    public Profiler getProfiler() {
+        return null;
+    }
+
+    /**
+     * Records audio processing time per component. All methods must be called
+     * on the audio thread, and every call to {@link #begin()} must be matched
+     * by a call to {@link #end(org.praxislive.core.ComponentAddress)} within
+     * the same processing cycle.
+     */
+    public static abstract class Profiler {
+
+        /**
+         * Mark the start of a timed section. Sections may be nested.
+         */
+        public abstract void begin();
+
+        /**
+         * Mark the end of the current timed section. The elapsed time, minus
+         * the time of any nested sections, is attributed to the given
+         * component. If the component is null the section is not recorded,
+         * but its time is still excluded from the enclosing section - use
+         * this to exclude pulling from upstream components.
+         *
+         * @param component address to attribute time to, or null
+         */
+        public abstract void end(ComponentAddress component);
+
+    }
+
     public static abstract class Client {
         
         //@TODO add change listeners to client for changes to counts
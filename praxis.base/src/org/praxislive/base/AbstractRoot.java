@@ -76,6 +76,7 @@ public abstract class AbstractRoot implements Root {
     private final Queue<Object> queue;
     private final Queue<Object> pending;
     private final Lock lock;
+    private final RootMetrics metrics;
 
     private volatile long time;
 
@@ -88,6 +89,7 @@ public abstract class AbstractRoot implements Root {
     private PacketQueue pendingPackets;
     private State cachedState;
     private boolean interrupted;
+    private int packetCount;
 
     /**
      * Default constructor.
@@ -99,6 +101,7 @@ public abstract class AbstractRoot implements Root {
         pending = new ArrayDeque<>();
         lock = new ReentrantLock();
         lookup = Lookup.EMPTY;
+        metrics = RootMetrics.createIfEnabled();
     }
 
     @Override
@@ -223,6 +226,15 @@ public abstract class AbstractRoot implements Root {
         return new Router();
     }
 
+    /**
+     * Get the Call metrics for this Root, if enabled. See {@link RootMetrics}.
+     *
+     * @return metrics, or null if not enabled
+     */
+    protected final RootMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Hook called during activation of this Root, asynchronously after a call
      * to {@link Controller#start(java.util.concurrent.ThreadFactory)}. The
@@ -351,12 +363,15 @@ public abstract class AbstractRoot implements Root {
     private boolean update(long time, boolean poll) {
 
         interrupted = false;
+        packetCount = 0;
 
         State currentState = state.get();
         if (currentState != State.ACTIVE_IDLE && currentState != State.ACTIVE_RUNNING) {
             return false;
         }
 
+        FlightRecorder.RootUpdate event = FlightRecorder.beginRootUpdate();
+
         if (currentState != cachedState) {
             cachedState = currentState;
             if (cachedState == State.ACTIVE_RUNNING) {
@@ -378,6 +393,7 @@ public abstract class AbstractRoot implements Root {
 
         Packet pkt = pendingPackets.poll();
         while (pkt != null) {
+            packetCount++;
             processPacket(pkt);
             if (interrupted) {
                 break;
@@ -385,6 +401,10 @@ public abstract class AbstractRoot implements Root {
             pkt = pendingPackets.poll();
         }
 
+        if (event != null && event.end()) {
+            event.commit(address.rootID(), packetCount, interrupted);
+        }
+
         return true;
     }
 
@@ -404,13 +424,20 @@ public abstract class AbstractRoot implements Root {
         for (Object obj = queue.poll(); obj != null; obj = queue.poll()) {
             pending.add(obj);
         }
+        if (metrics != null) {
+            metrics.queueDepth(pending.size());
+        }
 
         for (Object obj = pending.poll(); obj != null; obj = pending.poll()) {
             if (obj instanceof Packet) {
                 Packet pkt = (Packet) obj;
                 if ((pkt.time() - now) > 0) {
                     pendingPackets.add(pkt);
+                    if (metrics != null) {
+                        metrics.pendingDepth(pendingPackets.size());
+                    }
                 } else {
+                    packetCount++;
                     processPacket(pkt);
                 }
             } else if (obj instanceof Runnable) {
@@ -433,6 +460,10 @@ public abstract class AbstractRoot implements Root {
 
     private void processPacket(Packet packet) {
         if (packet instanceof Call) {
+            if (metrics != null) {
+                processInstrumented((Call) packet);
+                return;
+            }
             try {
                 processCall((Call) packet, router);
             } catch (Throwable t) {
@@ -445,6 +476,17 @@ public abstract class AbstractRoot implements Root {
         }
     }
 
+    private void processInstrumented(Call call) {
+        long start = System.nanoTime();
+        metrics.dispatched(hub.getClock().getTime() - call.time());
+        try {
+            processCall(call, router);
+        } catch (Throwable t) {
+            LOG.log(Level.SEVERE, "Uncaught exception processing call", t);
+        }
+        metrics.processed(call.to(), System.nanoTime() - start);
+    }
+
     private class Router implements PacketRouter {
 
         @Override
@@ -471,6 +513,8 @@ public abstract class AbstractRoot implements Root {
             boolean ok = queue.offer(packet);
             if (ok) {
                 onQueueReceipt();
+            } else if (metrics != null) {
+                metrics.dropped();
             }
             return ok;
         }
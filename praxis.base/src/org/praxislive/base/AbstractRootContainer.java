@@ -44,6 +44,9 @@ public abstract class AbstractRootContainer extends AbstractRoot implements Cont
 
     private final ContainerImpl delegate;
 
+    private PropertySubscriptions subscriptions;
+    private BatchControl batch;
+
     protected AbstractRootContainer() {
         delegate = new ContainerImpl(this);
         registerControl(StartableProtocol.START, (call, router) -> {
@@ -57,6 +60,30 @@ public abstract class AbstractRootContainer extends AbstractRoot implements Cont
         registerControl(StartableProtocol.IS_RUNNING, (call, router) -> {
             router.route(call.reply(PBoolean.of(getState() == State.ACTIVE_RUNNING)));
         });
+        registerControl(PropertySubscriptions.ID, (call, router) -> {
+            if (subscriptions == null) {
+                subscriptions = new PropertySubscriptions(
+                        ControlAddress.of(getAddress(), PropertySubscriptions.ID),
+                        getExecutionContext(), getRouter(),
+                        this::findControl, this::findComponent);
+            }
+            subscriptions.call(call, router);
+        });
+        registerControl(BatchControl.ID, (call, router) -> {
+            if (batch == null) {
+                batch = new BatchControl(
+                        ControlAddress.of(getAddress(), BatchControl.ID),
+                        getRouter(), this::findControl, this::findComponent);
+            }
+            batch.call(call, router);
+        });
+        if (getMetrics() != null) {
+            registerControl(RootMetrics.CONTROL_ID, (call, router) -> {
+                if (call.isRequest()) {
+                    router.route(call.reply(getMetrics().snapshot()));
+                }
+            });
+        }
     }
 
     @Override
@@ -111,6 +138,9 @@ public abstract class AbstractRootContainer extends AbstractRoot implements Cont
                 if (call.isRequest()) {
                     router.route(call.error(PError.of("Unknown control address : " + call.to())));
                 }
+                if (getMetrics() != null) {
+                    getMetrics().dropped();
+                }
             }
         } catch (Exception ex) {
             if (call.isRequest()) {
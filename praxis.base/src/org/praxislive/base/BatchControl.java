@@ -0,0 +1,170 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.base;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import org.praxislive.core.Call;
+import org.praxislive.core.Component;
+import org.praxislive.core.ComponentAddress;
+import org.praxislive.core.ComponentInfo;
+import org.praxislive.core.Control;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.ControlInfo;
+import org.praxislive.core.PacketRouter;
+import org.praxislive.core.Value;
+import org.praxislive.core.types.PArray;
+import org.praxislive.core.types.PMap;
+
+/**
+ * Root level control for reading or writing many controls in a single round
+ * trip. Controls are invoked directly on the root thread.
+ * <ul>
+ * <li>An array of control addresses reads each control, replying with an array
+ * containing an array of result values per address.</li>
+ * <li>An array of control addresses followed by an array of values sets each
+ * control, replying in the same way.</li>
+ * <li>A component address reads all properties of that component, replying
+ * with a map of control ID to value.</li>
+ * </ul>
+ * Only properties are read, and only writable properties are set. Any other
+ * control, or a control that fails or does not reply synchronously, has an
+ * empty array as its result.
+ */
+public final class BatchControl implements Control {
+
+    /**
+     * ID of the hidden root control.
+     */
+    public final static String ID = "_batch";
+
+    private final ControlAddress address;
+    private final Function<ControlAddress, Control> controlFinder;
+    private final Function<ComponentAddress, Component> componentFinder;
+    private final LocalCaller caller;
+
+    /**
+     * Create a BatchControl.
+     *
+     * @param address address of this control, used as the sender of calls
+     * @param router router for any other packets controls send
+     * @param controlFinder function to find controls in the root
+     * @param componentFinder function to find components in the root
+     */
+    public BatchControl(ControlAddress address,
+            PacketRouter router,
+            Function<ControlAddress, Control> controlFinder,
+            Function<ComponentAddress, Component> componentFinder) {
+        this.address = address;
+        this.controlFinder = controlFinder;
+        this.componentFinder = componentFinder;
+        this.caller = new LocalCaller(router);
+    }
+
+    @Override
+    public void call(Call call, PacketRouter router) throws Exception {
+        if (!call.isRequest()) {
+            return;
+        }
+        List<Value> args = call.args();
+        if (args.isEmpty()) {
+            throw new IllegalArgumentException();
+        }
+        Value result;
+        if (args.get(0) instanceof ComponentAddress) {
+            result = readComponent((ComponentAddress) args.get(0), call.time());
+        } else {
+            PArray addresses = PArray.from(args.get(0))
+                    .orElseThrow(IllegalArgumentException::new);
+            PArray values = args.size() > 1
+                    ? PArray.from(args.get(1)).orElseThrow(IllegalArgumentException::new)
+                    : null;
+            if (values != null && values.size() != addresses.size()) {
+                throw new IllegalArgumentException("Address and value count mismatch");
+            }
+            result = invokeAll(addresses, values, call.time());
+        }
+        if (call.isReplyRequired()) {
+            router.route(call.reply(result));
+        }
+    }
+
+    private PArray invokeAll(PArray addresses, PArray values, long time)
+            throws Exception {
+        Value[] results = new Value[addresses.size()];
+        for (int i = 0; i < results.length; i++) {
+            ControlAddress to = ControlAddress.from(addresses.get(i))
+                    .orElseThrow(IllegalArgumentException::new);
+            if (values == null) {
+                results[i] = isProperty(to, false)
+                        ? invoke(to, Collections.emptyList(), time)
+                        : PArray.EMPTY;
+            } else {
+                results[i] = isProperty(to, true)
+                        ? invoke(to, Collections.singletonList(values.get(i)), time)
+                        : PArray.EMPTY;
+            }
+        }
+        return PArray.of(results);
+    }
+
+    private boolean isProperty(ControlAddress address, boolean writable) {
+        Component cmp = componentFinder.apply(address.component());
+        if (writable) {
+            return LocalCaller.controlType(cmp, address.controlID())
+                    == ControlInfo.Type.Property;
+        } else {
+            return LocalCaller.isProperty(cmp, address.controlID());
+        }
+    }
+
+    private PArray invoke(ControlAddress to, List<Value> args, long time) {
+        Control control = controlFinder.apply(to);
+        if (control == null) {
+            return PArray.EMPTY;
+        }
+        List<Value> ret = caller.invoke(control, Call.create(to, address, time, args));
+        return ret == null ? PArray.EMPTY : PArray.of(ret);
+    }
+
+    private PMap readComponent(ComponentAddress component, long time) {
+        Component cmp = componentFinder.apply(component);
+        if (cmp == null) {
+            throw new IllegalArgumentException("Unknown component address : " + component);
+        }
+        ComponentInfo info = cmp.getInfo();
+        PMap.Builder builder = PMap.builder();
+        for (String id : info.controls()) {
+            if (!LocalCaller.isProperty(cmp, id)) {
+                continue;
+            }
+            PArray ret = invoke(ControlAddress.of(component, id),
+                    Collections.emptyList(), time);
+            if (!ret.isEmpty()) {
+                builder.put(id, ret.get(0));
+            }
+        }
+        return builder.build();
+    }
+
+}
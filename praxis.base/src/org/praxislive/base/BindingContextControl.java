@@ -22,16 +22,21 @@
 package org.praxislive.base;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import org.praxislive.core.Call;
 import org.praxislive.core.ComponentAddress;
 import org.praxislive.core.PacketRouter;
@@ -42,11 +47,19 @@ import org.praxislive.core.ControlInfo;
 import org.praxislive.core.ExecutionContext;
 import org.praxislive.core.Value;
 import org.praxislive.core.protocols.ComponentProtocol;
+import org.praxislive.core.types.PArray;
+import org.praxislive.core.types.PNumber;
 
 /**
  * An implementation of BindingContext based around a single Control. A
  * container just needs to provide an instance as a (hidden) control, and make
  * it available via Lookup.
+ * <p>
+ * Bound properties are subscribed to with the root of the bound control, which
+ * will push changed values. If the root does not support subscriptions, or the
+ * system property <code>praxis.bindings.poll</code> is set, property values
+ * are polled instead. Polls due on the same tick for controls in the same
+ * root are sent as a single batch call, where the root supports it.
  */
 public class BindingContextControl implements Control, BindingContext {
 
@@ -57,12 +70,19 @@ public class BindingContextControl implements Control, BindingContext {
     private static final int HIGH_SYNC_DELAY = 50;
     private static final long INVOKE_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(5000);
     private static final long QUIET_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long RENEW_PERIOD
+            = TimeUnit.MILLISECONDS.toNanos(PropertySubscriptions.LEASE_TIME / 2);
+    private static final boolean POLL_ONLY = Boolean.getBoolean("praxis.bindings.poll");
 
     private final ExecutionContext context;
     private final PacketRouter router;
     private final ControlAddress controlAddress;
     private final Map<ControlAddress, BindingImpl> bindings;
     private final BindingSyncQueue syncQueue;
+    private final Map<Integer, BindingImpl> subscriptions;
+    private final Map<String, List<BindingImpl>> pendingGets;
+    private final Map<Integer, Batch> batches;
+    private final Set<String> unbatchedRoots;
 
     /**
      * Create a BindingContextControl.
@@ -82,6 +102,10 @@ public class BindingContextControl implements Control, BindingContext {
         this.router = Objects.requireNonNull(router);
         bindings = new LinkedHashMap<>();
         syncQueue = new BindingSyncQueue(context.getTime());
+        subscriptions = new HashMap<>();
+        pendingGets = new LinkedHashMap<>();
+        batches = new HashMap<>();
+        unbatchedRoots = new HashSet<>();
         context.addClockListener(this::tick);
     }
 
@@ -110,6 +134,13 @@ public class BindingContextControl implements Control, BindingContext {
             BindingImpl binding = bindings.get(call.from());
             if (binding != null) {
                 binding.process(call);
+            } else if (call.from().controlID().equals(BatchControl.ID)) {
+                processBatch(call);
+            } else if (call.from().controlID().equals(PropertySubscriptions.ID)) {
+                binding = subscriptions.get(call.matchID());
+                if (binding != null) {
+                    binding.processSubscription(call);
+                }
             } else if (call.from().controlID().equals(ComponentProtocol.INFO)) {
                 ComponentAddress infoOf = call.from().component();
                 bindings.forEach((a, b) -> {
@@ -119,7 +150,14 @@ public class BindingContextControl implements Control, BindingContext {
                 });
             }
         } else {
-            throw new UnsupportedOperationException();
+            BindingImpl binding = bindings.get(call.from());
+            if (binding != null) {
+                binding.processPush(call);
+            } else if (call.from().controlID().equals(PropertySubscriptions.ID)) {
+                processSubscriptionEnded(call);
+            } else if (call.isReplyRequired()) {
+                throw new UnsupportedOperationException();
+            }
         }
 
     }
@@ -130,6 +168,85 @@ public class BindingContextControl implements Control, BindingContext {
         while ((b = syncQueue.poll()) != null) {
             b.processSync();
         }
+        flushGets();
+    }
+
+    private void flushGets() {
+        if (pendingGets.isEmpty()) {
+            return;
+        }
+        long now = context.getTime();
+        if (!batches.isEmpty()) {
+            batches.values().removeIf(batch -> now - batch.call.time() > INVOKE_TIMEOUT);
+        }
+        pendingGets.forEach((rootID, pending) -> {
+            if (pending.size() == 1 || unbatchedRoots.contains(rootID)) {
+                pending.forEach(binding -> binding.sendGet(now));
+            } else if (!pending.isEmpty()) {
+                PArray addresses = pending.stream()
+                        .map(binding -> binding.boundAddress)
+                        .collect(PArray.collector());
+                ControlAddress to = ControlAddress.of(
+                        ComponentAddress.of("/" + rootID), BatchControl.ID);
+                Call call = Call.create(to, controlAddress, now,
+                        Collections.singletonList(addresses));
+                batches.put(call.matchID(), new Batch(call, new ArrayList<>(pending)));
+                for (BindingImpl binding : pending) {
+                    binding.getQueued = false;
+                    binding.activeCall = call;
+                    binding.activeAdaptor = null;
+                }
+                router.route(call);
+            }
+            pending.clear();
+        });
+    }
+
+    private void processSubscriptionEnded(Call call) {
+        BindingImpl binding = call.args().isEmpty() ? null
+                : ControlAddress.from(call.args().get(0)).map(bindings::get).orElse(null);
+        if (binding != null && binding.subscribed) {
+            binding.subscriptionFailed();
+        }
+    }
+
+    private void processBatch(Call call) {
+        Batch batch = batches.remove(call.matchID());
+        if (batch == null) {
+            return;
+        }
+        if (call.isReply()) {
+            PArray results = call.args().isEmpty() ? PArray.EMPTY
+                    : PArray.from(call.args().get(0)).orElse(PArray.EMPTY);
+            for (int i = 0; i < batch.bindings.size(); i++) {
+                PArray result = i < results.size()
+                        ? PArray.from(results.get(i)).orElse(PArray.EMPTY)
+                        : PArray.EMPTY;
+                batch.bindings.get(i).processBatchResult(batch.call, result);
+            }
+        } else {
+            String rootID = batch.call.to().component().rootID();
+            LOG.log(Level.FINE, "Batch calls unavailable for /{0}", rootID);
+            unbatchedRoots.add(rootID);
+            long now = context.getTime();
+            for (BindingImpl binding : batch.bindings) {
+                if (binding.activeCall == batch.call) {
+                    binding.sendGet(now);
+                }
+            }
+        }
+    }
+
+    private static class Batch {
+
+        private final Call call;
+        private final List<BindingImpl> bindings;
+
+        private Batch(Call call, List<BindingImpl> bindings) {
+            this.call = call;
+            this.bindings = bindings;
+        }
+
     }
 
     private class BindingSyncQueue {
@@ -159,12 +276,18 @@ public class BindingContextControl implements Control, BindingContext {
         }
 
         private void add(BindingImpl binding) {
+            if (binding.queued) {
+                q.remove(binding);
+            }
             q.add(binding);
+            binding.queued = true;
         }
 
         private BindingImpl poll() {
             if (!q.isEmpty() && q.peek().syncTime - time <= 0) {
-                return q.poll();
+                BindingImpl binding = q.poll();
+                binding.queued = false;
+                return binding;
             }
             return null;
         }
@@ -178,6 +301,11 @@ public class BindingContextControl implements Control, BindingContext {
         private ControlInfo bindingInfo;
         private long syncTime;
         private long syncPeriod;
+        private boolean queued;
+        private boolean getQueued;
+        private boolean subscribed;
+        private boolean subscribeFailed;
+        private int subscribeMatchID;
 
 //        private int lastCallID;
         private int infoMatchID;
@@ -269,12 +397,19 @@ public class BindingContextControl implements Control, BindingContext {
                 }
                 if (!active || highRate == SyncRate.None) {
                     syncPeriod = 0;
+                    unsubscribe();
                 } else {
-                    syncPeriod = delayForRate(highRate);
-                    processSync();
+                    syncPeriod = TimeUnit.MILLISECONDS.toNanos(delayForRate(highRate));
+                    if (!POLL_ONLY && !subscribeFailed) {
+                        sendSubscription(delayForRate(highRate));
+                    }
+                    if (!subscribed) {
+                        processSync();
+                    }
                 }
             } else {
                 syncPeriod = 0;
+                unsubscribe();
             }
 
         }
@@ -291,6 +426,60 @@ public class BindingContextControl implements Control, BindingContext {
             throw new IllegalArgumentException();
         }
 
+        private void sendSubscription(int period) {
+            ControlAddress toAddress = ControlAddress.of(
+                    ComponentAddress.of("/" + boundAddress.component().rootID()),
+                    PropertySubscriptions.ID);
+            Call call = Call.create(toAddress, controlAddress, context.getTime(),
+                    Arrays.asList(boundAddress, PNumber.of(period)));
+            subscriptions.remove(subscribeMatchID);
+            subscribeMatchID = call.matchID();
+            subscriptions.put(subscribeMatchID, this);
+            router.route(call);
+        }
+
+        private void unsubscribe() {
+            if (subscriptions.remove(subscribeMatchID) != null) {
+                subscribed = false;
+                sendSubscription(0);
+                subscriptions.remove(subscribeMatchID);
+            }
+        }
+
+        private void processSubscription(Call call) {
+            if (call.matchID() != subscribeMatchID) {
+                return;
+            }
+            if (call.isReply()) {
+                if (!subscribed && syncPeriod > 0) {
+                    subscribed = true;
+                    syncTime = context.getTime() + RENEW_PERIOD;
+                    syncQueue.add(this);
+                }
+            } else {
+                subscriptionFailed();
+            }
+        }
+
+        private void subscriptionFailed() {
+            LOG.log(Level.FINE, "Subscription unavailable for {0}, polling", boundAddress);
+            subscriptions.remove(subscribeMatchID);
+            subscribed = false;
+            subscribeFailed = true;
+            if (syncPeriod > 0) {
+                processSync();
+            }
+        }
+
+        private void processPush(Call call) {
+            if (isProperty && activeAdaptor == null) {
+                values = call.args();
+                for (Adaptor a : adaptors) {
+                    a.update();
+                }
+            }
+        }
+
         private void sendInfoRequest() {
             ControlAddress toAddress = ControlAddress.of(boundAddress.component(),
                     ComponentProtocol.INFO);
@@ -378,6 +567,12 @@ public class BindingContextControl implements Control, BindingContext {
         private void processSync() {
             long now = context.getTime();
             if (syncPeriod > 0) {
+                if (subscribed) {
+                    syncTime = now + RENEW_PERIOD;
+                    syncQueue.add(this);
+                    sendSubscription((int) TimeUnit.NANOSECONDS.toMillis(syncPeriod));
+                    return;
+                }
                 syncTime = now + syncPeriod;
                 syncQueue.add(this);
             }
@@ -393,15 +588,38 @@ public class BindingContextControl implements Control, BindingContext {
                     }
                 }
             }
-            if (isProperty) {
-                Call call = Call.create(boundAddress, controlAddress, now);
-                router.route(call);
-                activeCall = call;
-                activeAdaptor = null;
+            if (isProperty && !getQueued) {
+                getQueued = true;
+                pendingGets.computeIfAbsent(boundAddress.component().rootID(),
+                        k -> new ArrayList<>()).add(this);
             }
 
         }
 
+        private void sendGet(long now) {
+            getQueued = false;
+            Call call = Call.create(boundAddress, controlAddress, now);
+            router.route(call);
+            activeCall = call;
+            activeAdaptor = null;
+        }
+
+        private void processBatchResult(Call call, PArray result) {
+            if (activeCall != call) {
+                return;
+            }
+            activeCall = null;
+            if (result.isEmpty()) {
+                LOG.log(Level.FINE, "Error on sync call - {0}", boundAddress);
+            } else if (isProperty) {
+                values = Collections.unmodifiableList(
+                        result.stream().collect(Collectors.toList()));
+                for (Adaptor a : adaptors) {
+                    a.update();
+                }
+            }
+        }
+
         @Override
         public Optional<ControlInfo> getControlInfo() {
             return Optional.ofNullable(bindingInfo);
@@ -21,8 +21,10 @@
  */
 package org.praxislive.base;
 
+import java.util.function.Consumer;
 import org.praxislive.core.ExecutionContext;
 import org.praxislive.util.ArrayUtils;
+import org.praxislive.util.ListenerSet;
 
 /**
  * Default implementation of {@link ExecutionContext} for use with
@@ -31,7 +33,8 @@ import org.praxislive.util.ArrayUtils;
 public class DefaultExecutionContext implements ExecutionContext {
 
     private ExecutionContext.StateListener[] stateListeners;
-    private ExecutionContext.ClockListener[] clockListeners;
+    private final ListenerSet<ExecutionContext.ClockListener> clockListeners;
+    private final Consumer<ExecutionContext.ClockListener> clockDispatch;
     private ExecutionContext.State state;
     long time;
     private long startTime;
@@ -43,7 +46,8 @@ public class DefaultExecutionContext implements ExecutionContext {
      */
     public DefaultExecutionContext(long time) {
         this.stateListeners = new ExecutionContext.StateListener[0];
-        this.clockListeners = new ExecutionContext.ClockListener[0];
+        this.clockListeners = new ListenerSet<>();
+        this.clockDispatch = l -> l.tick(this);
         this.state = ExecutionContext.State.NEW;
         this.time = this.startTime = time;
     }
@@ -60,12 +64,12 @@ public class DefaultExecutionContext implements ExecutionContext {
 
     @Override
     public void addClockListener(ExecutionContext.ClockListener listener) {
-        clockListeners = ArrayUtils.add(clockListeners, listener);
+        clockListeners.add(listener);
     }
 
     @Override
     public void removeClockListener(ExecutionContext.ClockListener listener) {
-        clockListeners = ArrayUtils.remove(clockListeners, listener);
+        clockListeners.remove(listener);
     }
 
     /**
@@ -141,9 +145,7 @@ public class DefaultExecutionContext implements ExecutionContext {
     }
 
     private void fireClockListeners() {
-        for (ExecutionContext.ClockListener l : clockListeners) {
-            l.tick(this);
-        }
+        clockListeners.forEach(clockDispatch);
     }
 
 }
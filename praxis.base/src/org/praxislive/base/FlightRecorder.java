@@ -0,0 +1,224 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.base;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.praxislive.core.Lookup;
+
+/**
+ * Optional JDK flight recorder events. Recording requires a {@link Provider}
+ * in the system lookup, as supplied by the praxis.jfr module on Java 11 or
+ * later. Without one, the begin methods return null and nothing is recorded.
+ * <p>
+ * Usage follows the flight recorder event life cycle -
+ * <pre>
+ * FlightRecorder.RootUpdate event = FlightRecorder.beginRootUpdate();
+ * // ... timed work ...
+ * if (event != null &amp;&amp; event.end()) {
+ *     event.commit(root, packets, interrupted);
+ * }
+ * </pre>
+ * Event field values are only computed if the event is to be committed.
+ */
+public final class FlightRecorder {
+
+    private final static Logger LOG = Logger.getLogger(FlightRecorder.class.getName());
+    private final static Provider PROVIDER = findProvider();
+
+    private FlightRecorder() {
+    }
+
+    /**
+     * Whether a provider is installed and the flight recorder API is available
+     * at runtime.
+     *
+     * @return flight recorder available
+     */
+    public static boolean isAvailable() {
+        return PROVIDER != null;
+    }
+
+    /**
+     * Begin an event for a root update cycle.
+     *
+     * @return event, or null if not available
+     */
+    public static RootUpdate beginRootUpdate() {
+        return PROVIDER == null ? null : PROVIDER.beginRootUpdate();
+    }
+
+    /**
+     * Begin an event for an audio root block.
+     *
+     * @return event, or null if not available
+     */
+    public static AudioBuffer beginAudioBuffer() {
+        return PROVIDER == null ? null : PROVIDER.beginAudioBuffer();
+    }
+
+    /**
+     * Begin an event for a video root frame.
+     *
+     * @return event, or null if not available
+     */
+    public static VideoFrame beginVideoFrame() {
+        return PROVIDER == null ? null : PROVIDER.beginVideoFrame();
+    }
+
+    /**
+     * Begin an event for a code compilation.
+     *
+     * @return event, or null if not available
+     */
+    public static Compile beginCompile() {
+        return PROVIDER == null ? null : PROVIDER.beginCompile();
+    }
+
+    private static Provider findProvider() {
+        try {
+            Provider provider = Lookup.SYSTEM.find(Provider.class).orElse(null);
+            if (provider != null && provider.isAvailable()) {
+                return provider;
+            }
+        } catch (LinkageError ex) {
+            LOG.log(Level.WARNING, "Unable to load flight recorder provider", ex);
+        }
+        return null;
+    }
+
+    /**
+     * Service provider for flight recorder events, registered in the system
+     * lookup. Each begin method must return a new event that has already begun.
+     */
+    public static interface Provider {
+
+        /**
+         * Whether the flight recorder API is available at runtime. Checked
+         * once before any events are created.
+         *
+         * @return flight recorder available
+         */
+        public boolean isAvailable();
+
+        public RootUpdate beginRootUpdate();
+
+        public AudioBuffer beginAudioBuffer();
+
+        public VideoFrame beginVideoFrame();
+
+        public Compile beginCompile();
+
+    }
+
+    /**
+     * Base type of all events.
+     */
+    public static abstract class Event {
+
+        /**
+         * End timing of the event.
+         *
+         * @return true if the event should be committed
+         */
+        public abstract boolean end();
+
+    }
+
+    /**
+     * Event for a single root update cycle, including dispatch of due packets.
+     */
+    public static abstract class RootUpdate extends Event {
+
+        /**
+         * Commit the event.
+         *
+         * @param root root ID
+         * @param packets number of packets processed in this cycle
+         * @param interrupted whether the cycle was interrupted before
+         * processing all due packets
+         */
+        public abstract void commit(String root, int packets, boolean interrupted);
+
+    }
+
+    /**
+     * Event for each block of an audio root. The duration covers the root
+     * update at the start of the block.
+     */
+    public static abstract class AudioBuffer extends Event {
+
+        /**
+         * Commit the event. All times in nanoseconds.
+         *
+         * @param root root ID
+         * @param period block period
+         * @param interval time since the previous block started
+         * @param late how far the block started behind its nominal time
+         * @param overrun whether the block started more than one block period
+         * late
+         */
+        public abstract void commit(String root, long period, long interval,
+                long late, boolean overrun);
+
+    }
+
+    /**
+     * Event for each frame of a video root. The duration covers the root
+     * update at the start of the frame.
+     */
+    public static abstract class VideoFrame extends Event {
+
+        /**
+         * Commit the event. All times in nanoseconds.
+         *
+         * @param root root ID
+         * @param period nominal frame period
+         * @param interval time since the previous frame started
+         * @param overrun whether the interval exceeded one and a half frame
+         * periods
+         */
+        public abstract void commit(String root, long period, long interval,
+                boolean overrun);
+
+    }
+
+    /**
+     * Event for each compilation of a class body.
+     */
+    public static abstract class Compile extends Event {
+
+        /**
+         * Commit the event.
+         *
+         * @param context class body context type
+         * @param sourceLength length of the source code in characters
+         * @param classes number of classes generated, zero if compilation
+         * failed
+         * @param succeeded whether compilation succeeded
+         */
+        public abstract void commit(String context, int sourceLength,
+                int classes, boolean succeeded);
+
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.base;
+
+import java.util.List;
+import org.praxislive.core.Call;
+import org.praxislive.core.Component;
+import org.praxislive.core.ComponentInfo;
+import org.praxislive.core.Control;
+import org.praxislive.core.ControlInfo;
+import org.praxislive.core.Packet;
+import org.praxislive.core.PacketRouter;
+import org.praxislive.core.Value;
+
+/**
+ * Invokes a Control directly on the root thread and captures a synchronous
+ * reply, without the request or reply passing through the hub. Any other
+ * packets the control routes are forwarded to the delegate router.
+ */
+class LocalCaller implements PacketRouter {
+
+    private final PacketRouter router;
+
+    private Call request;
+    private List<Value> result;
+
+    LocalCaller(PacketRouter router) {
+        this.router = router;
+    }
+
+    /**
+     * Invoke the control with the provided request.
+     *
+     * @param control control to invoke
+     * @param call request
+     * @return reply arguments, or null on error or asynchronous reply
+     */
+    List<Value> invoke(Control control, Call call) {
+        request = call;
+        result = null;
+        try {
+            control.call(call, this);
+        } catch (Exception ex) {
+            result = null;
+        }
+        request = null;
+        return result;
+    }
+
+    /**
+     * Check whether a control of the component is a property, and so can be
+     * read by a request without arguments.
+     *
+     * @param component component, may be null
+     * @param controlID control ID
+     * @return true if property or read-only property
+     */
+    static boolean isProperty(Component component, String controlID) {
+        ControlInfo.Type type = controlType(component, controlID);
+        return type == ControlInfo.Type.Property
+                || type == ControlInfo.Type.ReadOnlyProperty;
+    }
+
+    /**
+     * Find the type of a control of the component from its info.
+     *
+     * @param component component, may be null
+     * @param controlID control ID
+     * @return control type, or null if component or control info not found
+     */
+    static ControlInfo.Type controlType(Component component, String controlID) {
+        if (component == null) {
+            return null;
+        }
+        ComponentInfo cmpInfo = component.getInfo();
+        if (!cmpInfo.controls().contains(controlID)) {
+            return null;
+        }
+        ControlInfo info = cmpInfo.controlInfo(controlID);
+        return info == null ? null : info.controlType();
+    }
+
+    @Override
+    public void route(Packet packet) {
+        if (request != null && packet instanceof Call) {
+            Call call = (Call) packet;
+            if (call.matchID() == request.matchID()) {
+                if (call.isReply()) {
+                    result = call.args();
+                }
+                return;
+            }
+        }
+        router.route(packet);
+    }
+
+}
@@ -69,6 +69,10 @@ class PacketQueue {
         return null;
     }
     
+    int size() {
+        return q.size();
+    }
+
     void drainTo(List<Packet> list) {
         list.addAll(q);
         q.clear();
@@ -0,0 +1,268 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.base;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.praxislive.core.Call;
+import org.praxislive.core.Component;
+import org.praxislive.core.ComponentAddress;
+import org.praxislive.core.Control;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.ExecutionContext;
+import org.praxislive.core.PacketRouter;
+import org.praxislive.core.Value;
+import org.praxislive.core.types.PError;
+import org.praxislive.core.types.PNumber;
+
+/**
+ * Root level control allowing property values to be pushed to subscribers
+ * rather than polled. A request with arguments of property address and period
+ * (ms) subscribes or renews the sender, with a period of zero unsubscribing.
+ * Properties are sampled locally, and a quiet call with the property address as
+ * sender is pushed to the subscriber only when the value has changed, at most
+ * once per period. Subscriptions lapse unless renewed within
+ * {@link #LEASE_TIME}.
+ * <p>
+ * Subscribing to a control that is not a property, that cannot be read, or
+ * while the root is not running, is rejected with an error. If a subscribed
+ * property later cannot be read, or the root stops running, the subscriptions
+ * are removed and each subscriber is sent a quiet call from this control with
+ * arguments of the property address and an error. Subscribers should fall
+ * back to polling.
+ * <p>
+ * All methods must be called on the root thread.
+ */
+public final class PropertySubscriptions implements Control {
+
+    /**
+     * ID of the hidden root control.
+     */
+    public final static String ID = "_subscribe";
+
+    /**
+     * Time in ms after which a subscription lapses unless renewed.
+     */
+    public final static int LEASE_TIME = 5000;
+
+    private final static long LEASE = TimeUnit.MILLISECONDS.toNanos(LEASE_TIME);
+
+    private final ControlAddress address;
+    private final ExecutionContext context;
+    private final PacketRouter router;
+    private final Function<ControlAddress, Control> controlFinder;
+    private final Function<ComponentAddress, Component> componentFinder;
+    private final Map<ControlAddress, Target> targets;
+    private final LocalCaller caller;
+
+    /**
+     * Create a PropertySubscriptions control.
+     *
+     * @param address address of this control, used as the sender when sampling
+     * properties
+     * @param context root execution context
+     * @param router router for sending pushed values
+     * @param controlFinder function to find controls in the root
+     * @param componentFinder function to find components in the root
+     */
+    public PropertySubscriptions(ControlAddress address,
+            ExecutionContext context,
+            PacketRouter router,
+            Function<ControlAddress, Control> controlFinder,
+            Function<ComponentAddress, Component> componentFinder) {
+        this.address = Objects.requireNonNull(address);
+        this.context = Objects.requireNonNull(context);
+        this.router = Objects.requireNonNull(router);
+        this.controlFinder = Objects.requireNonNull(controlFinder);
+        this.componentFinder = Objects.requireNonNull(componentFinder);
+        targets = new LinkedHashMap<>();
+        caller = new LocalCaller(router);
+        context.addClockListener(this::tick);
+        context.addStateListener(this::stateChanged);
+    }
+
+    @Override
+    public void call(Call call, PacketRouter router) throws Exception {
+        if (!call.isRequest()) {
+            return;
+        }
+        List<Value> args = call.args();
+        if (args.isEmpty()) {
+            throw new IllegalArgumentException("No property address");
+        }
+        ControlAddress property = ControlAddress.from(args.get(0))
+                .orElseThrow(IllegalArgumentException::new);
+        long period = args.size() > 1
+                ? TimeUnit.MILLISECONDS.toNanos(PNumber.from(args.get(1))
+                        .orElseThrow(IllegalArgumentException::new).toIntValue())
+                : 0;
+        ControlAddress subscriber = call.from();
+        if (period > 0) {
+            Target target = targets.get(property);
+            if (target == null) {
+                String error = validate(property, call.time());
+                if (error != null) {
+                    router.route(call.error(PError.of(error)));
+                    return;
+                }
+                target = new Target(property);
+                targets.put(property, target);
+            }
+            Subscription sub = target.subscriptions.get(subscriber);
+            if (sub == null) {
+                sub = new Subscription(subscriber);
+                target.subscriptions.put(subscriber, sub);
+                sub.nextTime = context.getTime();
+            }
+            sub.period = period;
+            sub.expiry = context.getTime() + LEASE;
+        } else {
+            Target target = targets.get(property);
+            if (target != null) {
+                target.subscriptions.remove(subscriber);
+                if (target.subscriptions.isEmpty()) {
+                    targets.remove(property);
+                }
+            }
+        }
+        if (call.isReplyRequired()) {
+            router.route(call.reply());
+        }
+    }
+
+    int getSubscriptionCount() {
+        return targets.values().stream().mapToInt(t -> t.subscriptions.size()).sum();
+    }
+
+    private String validate(ControlAddress property, long time) {
+        if (context.getState() != ExecutionContext.State.ACTIVE) {
+            return "Root not running";
+        }
+        if (!LocalCaller.isProperty(componentFinder.apply(property.component()),
+                property.controlID())) {
+            return "Not a property : " + property;
+        }
+        if (sample(property, time) == null) {
+            return "Cannot read property : " + property;
+        }
+        return null;
+    }
+
+    private void stateChanged(ExecutionContext source) {
+        if (source.getState() != ExecutionContext.State.ACTIVE) {
+            targets.values().forEach(t -> t.fail("Root not running"));
+            targets.clear();
+        }
+    }
+
+    private void tick(ExecutionContext source) {
+        if (targets.isEmpty()) {
+            return;
+        }
+        long now = source.getTime();
+        Iterator<Target> itr = targets.values().iterator();
+        while (itr.hasNext()) {
+            Target target = itr.next();
+            target.process(now);
+            if (target.subscriptions.isEmpty()) {
+                itr.remove();
+            }
+        }
+    }
+
+    private class Target {
+
+        private final ControlAddress property;
+        private final Map<ControlAddress, Subscription> subscriptions;
+
+        private Target(ControlAddress property) {
+            this.property = property;
+            subscriptions = new LinkedHashMap<>();
+        }
+
+        private void process(long now) {
+            List<Value> values = null;
+            Iterator<Subscription> itr = subscriptions.values().iterator();
+            while (itr.hasNext()) {
+                Subscription sub = itr.next();
+                if (now - sub.expiry >= 0) {
+                    itr.remove();
+                    continue;
+                }
+                if (now - sub.nextTime < 0) {
+                    continue;
+                }
+                sub.nextTime = now + sub.period;
+                if (values == null) {
+                    values = sample(property, now);
+                    if (values == null) {
+                        fail("Cannot read property : " + property);
+                        return;
+                    }
+                }
+                if (!values.equals(sub.values)) {
+                    sub.values = values;
+                    router.route(Call.createQuiet(sub.subscriber, property, now, values));
+                }
+            }
+        }
+
+        private void fail(String error) {
+            List<Value> args = Arrays.asList(property, PError.of(error));
+            long time = context.getTime();
+            for (Subscription sub : subscriptions.values()) {
+                router.route(Call.createQuiet(sub.subscriber, address, time, args));
+            }
+            subscriptions.clear();
+        }
+
+    }
+
+    private List<Value> sample(ControlAddress property, long time) {
+        Control control = controlFinder.apply(property);
+        if (control == null) {
+            return null;
+        }
+        return caller.invoke(control, Call.create(property, address, time));
+    }
+
+    private static class Subscription {
+
+        private final ControlAddress subscriber;
+        private long period;
+        private long expiry;
+        private long nextTime;
+        private List<Value> values;
+
+        private Subscription(ControlAddress subscriber) {
+            this.subscriber = subscriber;
+        }
+
+    }
+
+}
@@ -0,0 +1,219 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.base;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.types.PArray;
+import org.praxislive.core.types.PMap;
+import org.praxislive.core.types.PNumber;
+
+/**
+ * Optional Call instrumentation for an {@link AbstractRoot}. Enabled by setting
+ * the system property <code>praxis.base.metrics</code> to true, in which case
+ * {@link AbstractRoot#getMetrics()} returns an instance and
+ * {@link AbstractRootContainer} exposes a snapshot through the hidden
+ * <code>_metrics</code> control. Roots with their own dispatch loop may create
+ * an instance with {@link #createIfEnabled()} and record into it directly.
+ * <p>
+ * Dispatch latency is measured from the time stamp of each Call to the start of
+ * processing, so includes any delay in the sending root as well as time queued.
+ * Calls that cannot be delivered, because the queue refuses them or the
+ * control does not exist, are counted as dropped. Calls dispatched more than <code>praxis.base.metrics.late</code> ms (default
+ * 10) after their time stamp are counted as late. All times in a snapshot are
+ * in microseconds.
+ * <p>
+ * Apart from the count of dropped packets, all recording and reading must
+ * happen on the root thread.
+ */
+public final class RootMetrics {
+
+    /**
+     * ID of the hidden control exposing metrics.
+     */
+    public final static String CONTROL_ID = "_metrics";
+
+    final static boolean ENABLED = Boolean.getBoolean("praxis.base.metrics");
+
+    private final static long LATE = TimeUnit.MILLISECONDS.toNanos(
+            Integer.getInteger("praxis.base.metrics.late", 10));
+    private final static int MAX_REPORTED_CONTROLS = 32;
+
+    private final Map<ControlAddress, Stats> controls;
+    private final Stats dispatch;
+    private final AtomicLong dropped;
+
+    private long late;
+    private int queueMax;
+    private int pendingMax;
+
+    RootMetrics() {
+        controls = new HashMap<>();
+        dispatch = new Stats();
+        dropped = new AtomicLong();
+    }
+
+    /**
+     * Create a RootMetrics if enabled by the system property.
+     *
+     * @return new instance, or null if not enabled
+     */
+    public static RootMetrics createIfEnabled() {
+        return ENABLED ? new RootMetrics() : null;
+    }
+
+    /**
+     * Record a Call starting processing.
+     *
+     * @param latency time from Call time stamp to start of processing in ns
+     */
+    public void dispatched(long latency) {
+        dispatch.add(latency);
+        if (latency > LATE) {
+            late++;
+        }
+    }
+
+    /**
+     * Record a Call finishing processing.
+     *
+     * @param address Call destination
+     * @param duration processing time in ns
+     */
+    public void processed(ControlAddress address, long duration) {
+        Stats stats = controls.get(address);
+        if (stats == null) {
+            stats = new Stats();
+            controls.put(address, stats);
+        }
+        stats.add(duration);
+    }
+
+    /**
+     * Record the depth of the incoming queue.
+     *
+     * @param depth queue depth
+     */
+    public void queueDepth(int depth) {
+        if (depth > queueMax) {
+            queueMax = depth;
+        }
+    }
+
+    /**
+     * Record the depth of the queue of Calls with future time stamps.
+     *
+     * @param depth queue depth
+     */
+    public void pendingDepth(int depth) {
+        if (depth > pendingMax) {
+            pendingMax = depth;
+        }
+    }
+
+    /**
+     * Record a Call that could not be delivered. May be called from any
+     * thread.
+     */
+    public void dropped() {
+        dropped.incrementAndGet();
+    }
+
+    /**
+     * Clear all recorded values.
+     */
+    public void reset() {
+        controls.clear();
+        dispatch.clear();
+        dropped.set(0);
+        late = 0;
+        queueMax = 0;
+        pendingMax = 0;
+    }
+
+    /**
+     * Create a snapshot of the current values. Per control statistics are
+     * reported as an array of count, mean and maximum processing time, for the
+     * controls with the highest total processing time.
+     *
+     * @return snapshot as map
+     */
+    public PMap snapshot() {
+        List<Map.Entry<ControlAddress, Stats>> top = new ArrayList<>(controls.entrySet());
+        top.sort((e1, e2) -> Long.compare(e2.getValue().total, e1.getValue().total));
+        PMap.Builder ctrls = PMap.builder();
+        top.stream().limit(MAX_REPORTED_CONTROLS).forEach(e
+                -> ctrls.put(e.getKey().toString(), e.getValue().toArray()));
+        return PMap.builder()
+                .put("dispatched", count(dispatch.count))
+                .put("latency-mean", PNumber.of(dispatch.mean()))
+                .put("latency-max", PNumber.of(micros(dispatch.max)))
+                .put("late", count(late))
+                .put("dropped", count(dropped.get()))
+                .put("queue-max", queueMax)
+                .put("pending-max", pendingMax)
+                .put("controls", ctrls.build())
+                .build();
+    }
+
+    private static PNumber count(long count) {
+        return count <= Integer.MAX_VALUE ? PNumber.of((int) count) : PNumber.of(count);
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+
+    private static class Stats {
+
+        private long count;
+        private long total;
+        private long max;
+
+        private void add(long nanos) {
+            count++;
+            total += nanos;
+            if (nanos > max) {
+                max = nanos;
+            }
+        }
+
+        private double mean() {
+            return count == 0 ? 0 : micros(total) / count;
+        }
+
+        private void clear() {
+            count = total = max = 0;
+        }
+
+        private PArray toArray() {
+            return PArray.of(count(count), PNumber.of(mean()), PNumber.of(micros(max)));
+        }
+
+    }
+
+}
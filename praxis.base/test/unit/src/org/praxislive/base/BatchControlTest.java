@@ -0,0 +1,161 @@
+package org.praxislive.base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.praxislive.core.Call;
+import org.praxislive.core.Component;
+import org.praxislive.core.ComponentAddress;
+import org.praxislive.core.ComponentInfo;
+import org.praxislive.core.Container;
+import org.praxislive.core.Control;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.Info;
+import org.praxislive.core.Packet;
+import org.praxislive.core.PacketRouter;
+import org.praxislive.core.Port;
+import org.praxislive.core.types.PArray;
+import org.praxislive.core.types.PMap;
+import org.praxislive.core.types.PNumber;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ */
+public class BatchControlTest {
+
+    private final static ComponentAddress ROOT = ComponentAddress.of("/root");
+    private final static ComponentAddress CMP = ComponentAddress.of("/root/cmp");
+    private final static ControlAddress VALUE = ControlAddress.of(CMP, "value");
+    private final static ControlAddress OUTPUT = ControlAddress.of(CMP, "output");
+    private final static ControlAddress TRIGGER = ControlAddress.of(CMP, "trigger");
+    private final static ControlAddress FROM = ControlAddress.of("/gui.binding");
+
+    public BatchControlTest() {
+    }
+
+    @Test
+    public void testReadOnlyInvokesProperties() throws Exception {
+        Fixture f = new Fixture();
+        PArray result = f.batch(PArray.of(VALUE, OUTPUT, TRIGGER));
+        assertEquals(PArray.of(PArray.of(PNumber.of(1)),
+                PArray.of(PNumber.of(42)), PArray.EMPTY), result);
+        assertEquals(0, f.component.triggered);
+    }
+
+    @Test
+    public void testWriteOnlySetsWritableProperties() throws Exception {
+        Fixture f = new Fixture();
+        PArray result = f.batch(PArray.of(VALUE, OUTPUT, TRIGGER),
+                PArray.of(PNumber.of(2), PNumber.of(3), PNumber.of(4)));
+        assertEquals(PArray.of(PArray.of(PNumber.of(2)),
+                PArray.EMPTY, PArray.EMPTY), result);
+        assertEquals(2, f.component.value);
+        assertEquals(0, f.component.triggered);
+    }
+
+    @Test
+    public void testReadComponent() throws Exception {
+        Fixture f = new Fixture();
+        Call call = Call.create(ControlAddress.of(ROOT, BatchControl.ID), FROM, 0, CMP);
+        f.control.call(call, f);
+        PMap result = PMap.from(f.routed.get(0).args().get(0)).get();
+        assertEquals(Arrays.asList("value", "output"), result.keys());
+        assertEquals(0, f.component.triggered);
+    }
+
+    private static class Fixture implements PacketRouter {
+
+        private final TestComponent component;
+        private final BatchControl control;
+        private final List<Call> routed;
+
+        private Fixture() {
+            component = new TestComponent();
+            routed = new ArrayList<>();
+            control = new BatchControl(ControlAddress.of(ROOT, BatchControl.ID), this,
+                    address -> CMP.equals(address.component())
+                    ? component.getControl(address.controlID()) : null,
+                    address -> CMP.equals(address) ? component : null);
+        }
+
+        private PArray batch(PArray... args) throws Exception {
+            Call call = Call.create(ControlAddress.of(ROOT, BatchControl.ID),
+                    FROM, 0, Arrays.asList(args));
+            control.call(call, this);
+            assertEquals(1, routed.size());
+            assertTrue(routed.get(0).isReply());
+            return PArray.from(routed.get(0).args().get(0)).get();
+        }
+
+        @Override
+        public void route(Packet packet) {
+            routed.add((Call) packet);
+        }
+
+    }
+
+    private static class TestComponent implements Component {
+
+        private final ComponentInfo info;
+
+        private int value = 1;
+        private int triggered;
+
+        private TestComponent() {
+            info = Info.component(cmp -> cmp
+                    .control("value", c -> c.property().input(PNumber.class))
+                    .control("output", c -> c.readOnlyProperty().output(PNumber.class))
+                    .control("trigger", c -> c.action()));
+        }
+
+        @Override
+        public Container getParent() {
+            return null;
+        }
+
+        @Override
+        public void parentNotify(Container parent) {
+        }
+
+        @Override
+        public void hierarchyChanged() {
+        }
+
+        @Override
+        public Control getControl(String id) {
+            switch (id) {
+                case "value":
+                    return (call, router) -> {
+                        if (!call.args().isEmpty()) {
+                            value = PNumber.from(call.args().get(0)).get().toIntValue();
+                        }
+                        router.route(call.reply(PNumber.of(value)));
+                    };
+                case "output":
+                    return (call, router) -> router.route(call.reply(PNumber.of(42)));
+                case "trigger":
+                    return (call, router) -> {
+                        triggered++;
+                        router.route(call.reply(Collections.emptyList()));
+                    };
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        public Port getPort(String id) {
+            return null;
+        }
+
+        @Override
+        public ComponentInfo getInfo() {
+            return info;
+        }
+
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.praxislive.base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.praxislive.core.ExecutionContext;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Neil C Smith - https://www.neilcsmith.net
+ */
+public class DefaultExecutionContextTest {
+
+    public DefaultExecutionContextTest() {
+    }
+
+    @Test
+    public void testClockListenerChangesDuringTick() {
+        TestContext ctxt = new TestContext();
+        List<String> calls = new ArrayList<>();
+        ExecutionContext.ClockListener c = source -> calls.add("c");
+        ExecutionContext.ClockListener d = source -> calls.add("d");
+        ExecutionContext.ClockListener b = source -> calls.add("b");
+        ExecutionContext.ClockListener a = new ExecutionContext.ClockListener() {
+            @Override
+            public void tick(ExecutionContext source) {
+                calls.add("a");
+                source.removeClockListener(this);
+                source.removeClockListener(b);
+                source.addClockListener(d);
+                source.addClockListener(c);
+            }
+        };
+        ctxt.addClockListener(a);
+        ctxt.addClockListener(b);
+        ctxt.addClockListener(c);
+        ctxt.addClockListener(a);
+
+        ctxt.updateClock(1000);
+        assertEquals(Arrays.asList("a", "c"), calls);
+
+        calls.clear();
+        ctxt.updateClock(2000);
+        assertEquals(Arrays.asList("c", "d"), calls);
+
+        calls.clear();
+        ctxt.removeClockListener(c);
+        ctxt.removeClockListener(a);
+        ctxt.updateClock(3000);
+        assertEquals(Arrays.asList("d"), calls);
+    }
+
+    private static class TestContext extends DefaultExecutionContext {
+
+        private TestContext() {
+            super(0);
+            updateState(0, ExecutionContext.State.ACTIVE);
+        }
+
+    }
+
+}
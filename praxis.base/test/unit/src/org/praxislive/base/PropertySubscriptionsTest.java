@@ -0,0 +1,213 @@
+package org.praxislive.base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.praxislive.core.Call;
+import org.praxislive.core.Component;
+import org.praxislive.core.ComponentAddress;
+import org.praxislive.core.ComponentInfo;
+import org.praxislive.core.Container;
+import org.praxislive.core.Control;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.ExecutionContext;
+import org.praxislive.core.Info;
+import org.praxislive.core.Packet;
+import org.praxislive.core.PacketRouter;
+import org.praxislive.core.Port;
+import org.praxislive.core.types.PError;
+import org.praxislive.core.types.PNumber;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ */
+public class PropertySubscriptionsTest {
+
+    private final static ComponentAddress ROOT = ComponentAddress.of("/root");
+    private final static ComponentAddress CMP = ComponentAddress.of("/root/cmp");
+    private final static ControlAddress VALUE = ControlAddress.of(CMP, "value");
+    private final static ControlAddress TRIGGER = ControlAddress.of(CMP, "trigger");
+    private final static ControlAddress SUBSCRIBER = ControlAddress.of("/gui.binding");
+
+    public PropertySubscriptionsTest() {
+    }
+
+    @Test
+    public void testPushOnChange() throws Exception {
+        Fixture f = new Fixture();
+        f.subscribe(VALUE, 10);
+        assertEquals(1, f.routed.size());
+        assertTrue(f.routed.get(0).isReply());
+        f.routed.clear();
+
+        f.context.updateClock(1000);
+        assertEquals(1, f.routed.size());
+        Call push = f.routed.get(0);
+        assertEquals(SUBSCRIBER, push.to());
+        assertEquals(VALUE, push.from());
+        assertEquals(PNumber.of(1), push.args().get(0));
+        f.routed.clear();
+
+        f.context.updateClock(100_000_000);
+        assertTrue(f.routed.isEmpty());
+
+        f.component.value = 2;
+        f.context.updateClock(200_000_000);
+        assertEquals(1, f.routed.size());
+        assertEquals(PNumber.of(2), f.routed.get(0).args().get(0));
+    }
+
+    @Test
+    public void testRejectNonProperty() throws Exception {
+        Fixture f = new Fixture();
+        f.subscribe(TRIGGER, 10);
+        assertEquals(1, f.routed.size());
+        assertTrue(f.routed.get(0).isError());
+        assertEquals(0, f.component.triggered);
+        assertEquals(0, f.subscriptions.getSubscriptionCount());
+    }
+
+    @Test
+    public void testEndedWhenPropertyUnreadable() throws Exception {
+        Fixture f = new Fixture();
+        f.subscribe(VALUE, 10);
+        f.context.updateClock(1000);
+        f.routed.clear();
+
+        f.component.fail = true;
+        f.component.value = 2;
+        f.context.updateClock(100_000_000);
+        assertEquals(1, f.routed.size());
+        assertEnded(f.routed.get(0));
+        assertEquals(0, f.subscriptions.getSubscriptionCount());
+    }
+
+    @Test
+    public void testEndedWhenRootStops() throws Exception {
+        Fixture f = new Fixture();
+        f.subscribe(VALUE, 10);
+        f.routed.clear();
+
+        f.context.updateState(1000, ExecutionContext.State.IDLE);
+        assertEquals(1, f.routed.size());
+        assertEnded(f.routed.get(0));
+        assertEquals(0, f.subscriptions.getSubscriptionCount());
+
+        f.routed.clear();
+        f.subscribe(VALUE, 10);
+        assertTrue(f.routed.get(0).isError());
+    }
+
+    private static void assertEnded(Call call) {
+        assertTrue(call.isRequest());
+        assertFalse(call.isReplyRequired());
+        assertEquals(SUBSCRIBER, call.to());
+        assertEquals(ControlAddress.of(ROOT, PropertySubscriptions.ID), call.from());
+        assertEquals(VALUE, ControlAddress.from(call.args().get(0)).get());
+        assertTrue(PError.from(call.args().get(1)).isPresent());
+    }
+
+    private static class Fixture implements PacketRouter {
+
+        private final TestContext context;
+        private final TestComponent component;
+        private final PropertySubscriptions subscriptions;
+        private final List<Call> routed;
+
+        private Fixture() {
+            context = new TestContext();
+            component = new TestComponent();
+            routed = new ArrayList<>();
+            subscriptions = new PropertySubscriptions(
+                    ControlAddress.of(ROOT, PropertySubscriptions.ID),
+                    context, this,
+                    address -> CMP.equals(address.component())
+                    ? component.getControl(address.controlID()) : null,
+                    address -> CMP.equals(address) ? component : null);
+        }
+
+        private Call subscribe(ControlAddress property, int period) throws Exception {
+            Call call = Call.create(ControlAddress.of(ROOT, PropertySubscriptions.ID),
+                    SUBSCRIBER, context.getTime(),
+                    Arrays.asList(property, PNumber.of(period)));
+            subscriptions.call(call, this);
+            return call;
+        }
+
+        @Override
+        public void route(Packet packet) {
+            routed.add((Call) packet);
+        }
+
+    }
+
+    private static class TestComponent implements Component {
+
+        private final ComponentInfo info;
+
+        private int value = 1;
+        private boolean fail;
+        private int triggered;
+
+        private TestComponent() {
+            info = Info.component(cmp -> cmp
+                    .control("value", c -> c.property().input(PNumber.class))
+                    .control("trigger", c -> c.action()));
+        }
+
+        @Override
+        public Container getParent() {
+            return null;
+        }
+
+        @Override
+        public void parentNotify(Container parent) {
+        }
+
+        @Override
+        public void hierarchyChanged() {
+        }
+
+        @Override
+        public Control getControl(String id) {
+            if ("value".equals(id)) {
+                return (call, router) -> {
+                    if (fail) {
+                        throw new IllegalStateException();
+                    }
+                    router.route(call.reply(PNumber.of(value)));
+                };
+            } else if ("trigger".equals(id)) {
+                return (call, router) -> {
+                    triggered++;
+                    router.route(call.reply(Collections.emptyList()));
+                };
+            }
+            return null;
+        }
+
+        @Override
+        public Port getPort(String id) {
+            return null;
+        }
+
+        @Override
+        public ComponentInfo getInfo() {
+            return info;
+        }
+
+    }
+
+    private static class TestContext extends DefaultExecutionContext {
+
+        private TestContext() {
+            super(0);
+            updateState(0, ExecutionContext.State.ACTIVE);
+        }
+
+    }
+
+}
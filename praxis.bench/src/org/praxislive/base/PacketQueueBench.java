@@ -0,0 +1,96 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.base;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.praxislive.core.Call;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.Packet;
+
+/**
+ * Scheduling of timed packets in a root's queue. Packets are added with
+ * out-of-order time stamps and drained as the clock advances in frame sized
+ * steps, as a root would under load. Lives in the base package as
+ * PacketQueue is package private.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketQueueBench {
+
+    private static final int PACKETS = 1024;
+    private static final long FRAME = 16_666_667;
+
+    @Param({"1", "16", "256"})
+    public int frames;
+
+    private Packet[] packets;
+    private PacketQueue queue;
+
+    @Setup
+    public void setup() {
+        ControlAddress to = ControlAddress.of("/video/blur.radius");
+        ControlAddress from = ControlAddress.of("/audio/osc.frequency");
+        long span = frames * FRAME;
+        long seed = 0x5DEECE66DL;
+        packets = new Packet[PACKETS];
+        for (int i = 0; i < PACKETS; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            long offset = (seed >>> 1) % span;
+            packets[i] = Call.createQuiet(to, from, offset);
+        }
+        queue = new PacketQueue(0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKETS)
+    public void scheduleAndDrain(Blackhole bh) {
+        queue.setTime(0);
+        for (Packet p : packets) {
+            queue.add(p);
+        }
+        for (int f = 1; f <= frames; f++) {
+            queue.setTime(f * FRAME);
+            Packet p;
+            while ((p = queue.poll()) != null) {
+                bh.consume(p);
+            }
+        }
+    }
+
+}
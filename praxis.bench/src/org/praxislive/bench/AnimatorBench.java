@@ -0,0 +1,104 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.praxislive.code.userapi.Inject;
+import org.praxislive.code.userapi.Property;
+import org.praxislive.core.code.CoreCodeDelegate;
+
+/**
+ * One frame of a graph with 1,000 animating properties, spread over 50 code
+ * components. Animations are short and of varying length, so properties start
+ * and stop animating (adding and removing clock listeners) every frame. Run
+ * with {@code -prof gc} to check allocation per frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimatorBench {
+
+    private static final int COMPONENTS = 50;
+    private static final long FRAME = 1_000_000_000 / 60;
+
+    private CodeHarness harness;
+    private Animated[] animated;
+    private long time;
+
+    @Setup
+    public void setup() throws Exception {
+        harness = new CodeHarness();
+        animated = new Animated[COMPONENTS];
+        for (int i = 0; i < COMPONENTS; i++) {
+            animated[i] = new Animated();
+            harness.add("a" + i, animated[i]);
+        }
+    }
+
+    @Benchmark
+    public double frame() {
+        time += FRAME;
+        harness.tick(time);
+        return animated[0].p0.getDouble();
+    }
+
+    public static class Animated extends CoreCodeDelegate {
+
+        @Inject
+        public Property p0, p1, p2, p3, p4, p5, p6, p7, p8, p9,
+                p10, p11, p12, p13, p14, p15, p16, p17, p18, p19;
+
+        private Property[] all;
+        private int count;
+
+        @Override
+        public void init() {
+            all = new Property[]{p0, p1, p2, p3, p4, p5, p6, p7, p8, p9,
+                p10, p11, p12, p13, p14, p15, p16, p17, p18, p19};
+        }
+
+        @Override
+        public void update() {
+            for (Property p : all) {
+                if (!p.isAnimating()) {
+                    count++;
+                    p.to(count % 100).in(0.02 + (count % 7) * 0.01);
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.bench;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jaudiolibs.audioservers.AudioConfiguration;
+import org.jaudiolibs.pipes.impl.BusClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.praxislive.audio.code.userapi.Add;
+import org.praxislive.audio.code.userapi.Gain;
+import org.praxislive.audio.code.userapi.IIRFilter;
+import org.praxislive.audio.code.userapi.Osc;
+import org.praxislive.audio.code.userapi.Waveform;
+
+/**
+ * One buffer of stereo audio through voices of Osc, IIRFilter and Gain
+ * unit generators mixed into a stereo bus, as processed per cycle by an audio root.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AudioBench {
+
+    private static final float SAMPLE_RATE = 48000;
+
+    @Param({"64", "256"})
+    public int bufferSize;
+
+    @Param({"1", "16"})
+    public int voices;
+
+    private BusClient bus;
+    private List<FloatBuffer> inputs;
+    private List<FloatBuffer> outputs;
+    private long time;
+    private long period;
+
+    @Setup
+    public void setup() throws Exception {
+        bus = new BusClient(bufferSize, 0, 2);
+        Add left = new Add();
+        Add right = new Add();
+        bus.getSink(0).addSource(left);
+        bus.getSink(1).addSource(right);
+        for (int i = 0; i < voices; i++) {
+            Osc osc = new Osc()
+                    .waveform(i % 2 == 0 ? Waveform.Saw : Waveform.Square)
+                    .frequency(55 * (i + 1));
+            IIRFilter filter = new IIRFilter()
+                    .type(IIRFilter.LP24)
+                    .frequency(2000)
+                    .resonance(6);
+            Gain gain = new Gain().level(1.0 / voices);
+            filter.addSource(osc);
+            gain.addSource(filter);
+            (i % 2 == 0 ? left : right).addSource(gain);
+        }
+        bus.configure(new AudioConfiguration(SAMPLE_RATE, 0, 2, bufferSize, true));
+        inputs = Collections.emptyList();
+        outputs = Arrays.asList(FloatBuffer.allocate(bufferSize),
+                FloatBuffer.allocate(bufferSize));
+        period = (long) (bufferSize * 1_000_000_000L / SAMPLE_RATE);
+    }
+
+    @Benchmark
+    public List<FloatBuffer> process() {
+        time += period;
+        outputs.forEach(FloatBuffer::clear);
+        bus.process(time, inputs, outputs, bufferSize);
+        return outputs;
+    }
+
+}
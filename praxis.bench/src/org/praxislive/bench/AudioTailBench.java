@@ -0,0 +1,123 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2019 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.bench;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jaudiolibs.audioservers.AudioConfiguration;
+import org.jaudiolibs.pipes.impl.BusClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.praxislive.audio.code.userapi.Add;
+import org.praxislive.audio.code.userapi.Chorus;
+import org.praxislive.audio.code.userapi.Delay;
+import org.praxislive.audio.code.userapi.Freeverb;
+import org.praxislive.audio.code.userapi.Gain;
+import org.praxislive.audio.code.userapi.Osc;
+
+/**
+ * One buffer of stereo audio through voices of Delay and Chorus mixed into a
+ * Freeverb, as in a sparse patch of effects. With signal input every effect
+ * runs, as it did before tail skipping. With silent input the effect tails
+ * have decayed during setup, so the difference is the saving from skipping
+ * decayed effects.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AudioTailBench {
+
+    private static final float SAMPLE_RATE = 48000;
+    private static final int PRE_ROLL_SECONDS = 30;
+
+    @Param({"256"})
+    public int bufferSize;
+
+    @Param({"1", "8"})
+    public int voices;
+
+    @Param({"signal", "silent"})
+    public String input;
+
+    private BusClient bus;
+    private List<FloatBuffer> inputs;
+    private List<FloatBuffer> outputs;
+    private long time;
+    private long period;
+
+    @Setup
+    public void setup() throws Exception {
+        bus = new BusClient(bufferSize, 0, 2);
+        Add left = new Add();
+        Add right = new Add();
+        Freeverb reverb = new Freeverb().roomSize(0.7).wet(0.3);
+        reverb.addSource(left);
+        reverb.addSource(right);
+        bus.getSink(0).addSource(reverb);
+        bus.getSink(1).addSource(reverb);
+        double level = "silent".equals(input) ? 0 : 1.0 / voices;
+        for (int i = 0; i < voices; i++) {
+            Osc osc = new Osc().frequency(110 * (i + 1));
+            Gain gain = new Gain().level(level);
+            Delay delay = new Delay().time(0.25).feedback(0.5);
+            Chorus chorus = new Chorus().depth(2).rate(0.5).feedback(0.3);
+            gain.addSource(osc);
+            delay.addSource(gain);
+            chorus.addSource(delay);
+            (i % 2 == 0 ? left : right).addSource(chorus);
+        }
+        bus.configure(new AudioConfiguration(SAMPLE_RATE, 0, 2, bufferSize, true));
+        inputs = Collections.emptyList();
+        outputs = Arrays.asList(FloatBuffer.allocate(bufferSize),
+                FloatBuffer.allocate(bufferSize));
+        period = (long) (bufferSize * 1_000_000_000L / SAMPLE_RATE);
+        // run past the longest tail so silent effects are already skipped
+        int preRoll = (int) (PRE_ROLL_SECONDS * SAMPLE_RATE / bufferSize);
+        for (int i = 0; i < preRoll; i++) {
+            process();
+        }
+    }
+
+    @Benchmark
+    public List<FloatBuffer> process() {
+        time += period;
+        outputs.forEach(FloatBuffer::clear);
+        bus.process(time, inputs, outputs, bufferSize);
+        return outputs;
+    }
+
+}
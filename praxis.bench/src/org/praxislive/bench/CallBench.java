@@ -0,0 +1,78 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.bench;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.praxislive.core.Call;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.Value;
+import org.praxislive.core.types.PNumber;
+import org.praxislive.core.types.PString;
+
+/**
+ * Call creation, reply and error.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallBench {
+
+    private final ControlAddress to = ControlAddress.of("/audio/osc.frequency");
+    private final ControlAddress from = ControlAddress.of("/gui._bindings");
+    private final List<Value> args = Arrays.asList(PNumber.of(440), PString.of("sine"));
+    private long time;
+
+    @Benchmark
+    public Call createEmpty() {
+        return Call.create(to, from, ++time);
+    }
+
+    @Benchmark
+    public Call createWithArgs() {
+        return Call.create(to, from, ++time, args);
+    }
+
+    @Benchmark
+    public Call createQuiet() {
+        return Call.createQuiet(to, from, ++time, args);
+    }
+
+    @Benchmark
+    public Call createAndReply() {
+        return Call.create(to, from, ++time, args).reply(args);
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.bench;
+
+import org.praxislive.base.AbstractContainer;
+import org.praxislive.base.DefaultExecutionContext;
+import org.praxislive.core.Component;
+import org.praxislive.core.ComponentAddress;
+import org.praxislive.core.ComponentInfo;
+import org.praxislive.core.ComponentType;
+import org.praxislive.core.ExecutionContext;
+import org.praxislive.core.Info;
+import org.praxislive.core.Lookup;
+import org.praxislive.core.code.CoreCodeDelegate;
+import org.praxislive.core.code.CoreCodeFactory;
+import org.praxislive.logging.LogBuilder;
+import org.praxislive.logging.LogLevel;
+
+/**
+ * Minimal container and execution context for hosting core code components
+ * outside of a running root. The clock is driven explicitly by the benchmark.
+ */
+class CodeHarness extends AbstractContainer {
+
+    private final Context context;
+    private final Lookup lookup;
+    private final CoreCodeFactory factory;
+
+    CodeHarness() {
+        context = new Context();
+        lookup = Lookup.of(context);
+        factory = new CoreCodeFactory(ComponentType.of("core:custom"),
+                CoreCodeDelegate.class, "");
+    }
+
+    Component add(String id, CoreCodeDelegate delegate) throws Exception {
+        Component cmp = factory.task()
+                .attachLogging(new LogBuilder(LogLevel.ERROR))
+                .createComponent(delegate);
+        addChild(id, cmp);
+        return cmp;
+    }
+
+    void tick(long time) {
+        context.tick(time);
+    }
+
+    @Override
+    public ComponentInfo getInfo() {
+        return Info.component(cmp -> cmp);
+    }
+
+    @Override
+    public Lookup getLookup() {
+        return lookup;
+    }
+
+    @Override
+    protected ComponentAddress getAddress() {
+        return ComponentAddress.of("/bench");
+    }
+
+    private static class Context extends DefaultExecutionContext {
+
+        private Context() {
+            super(0);
+            updateState(0, ExecutionContext.State.ACTIVE);
+        }
+
+        private void tick(long time) {
+            updateClock(time);
+        }
+
+    }
+
+}
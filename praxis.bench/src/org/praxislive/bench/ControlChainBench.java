@@ -0,0 +1,135 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.praxislive.code.userapi.In;
+import org.praxislive.code.userapi.Input;
+import org.praxislive.code.userapi.Out;
+import org.praxislive.code.userapi.Output;
+import org.praxislive.code.userapi.P;
+import org.praxislive.core.Component;
+import org.praxislive.core.ControlPort;
+import org.praxislive.core.code.CoreCodeDelegate;
+
+/**
+ * A message passed along a chain of connected code components through double,
+ * int and linked Input ports into a property. Run with
+ * {@code -prof gc} to check allocation per message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ControlChainBench {
+
+    private CodeHarness harness;
+    private ControlPort.Input head;
+    private Sink sink;
+    private long time;
+    private int count;
+
+    @Setup
+    public void setup() throws Exception {
+        harness = new CodeHarness();
+        sink = new Sink();
+        CoreCodeDelegate[] stages = {
+            new DoubleRelay(), new IntRelay(), new InputRelay(), new DoubleRelay(), sink
+        };
+        Component[] cmps = new Component[stages.length];
+        for (int i = 0; i < stages.length; i++) {
+            cmps[i] = harness.add("c" + i, stages[i]);
+        }
+        for (int i = 0; i < stages.length - 1; i++) {
+            String in = i + 1 == stages.length - 1 ? "value" : "in";
+            cmps[i].getPort("out").connect(cmps[i + 1].getPort(in));
+        }
+        head = (ControlPort.Input) cmps[0].getPort("in");
+    }
+
+    @Benchmark
+    public double send() {
+        time += 1_000_000;
+        harness.tick(time);
+        head.receive(time, ++count);
+        return sink.value;
+    }
+
+    public static class DoubleRelay extends CoreCodeDelegate {
+
+        @Out(1)
+        public Output out;
+
+        @In(1)
+        public void in(double x) {
+            out.send(x * 0.5 + 1);
+        }
+
+    }
+
+    public static class IntRelay extends CoreCodeDelegate {
+
+        @Out(1)
+        public Output out;
+
+        @In(1)
+        public void in(int x) {
+            out.send(x + 1);
+        }
+
+    }
+
+    public static class InputRelay extends CoreCodeDelegate {
+
+        @Out(1)
+        public Output out;
+
+        @In(1)
+        public Input in;
+
+        @Override
+        public void init() {
+            in.values().link(out::send);
+        }
+
+    }
+
+    public static class Sink extends CoreCodeDelegate {
+
+        @P(1)
+        public double value;
+
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.bench;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.praxislive.code.userapi.Data;
+import org.praxislive.code.userapi.Inject;
+import org.praxislive.core.code.CoreCodeDelegate;
+
+/**
+ * Processing of a Data.Pipe graph driven by a Data.Sink from update(), as in
+ * user code. The linear graph processes in place; the fan-in graph exercises
+ * packet caching and accumulation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataPipeBench {
+
+    @Param({"64", "4096"})
+    public int size;
+
+    private CodeHarness linearHarness;
+    private CodeHarness fanInHarness;
+    private Linear linear;
+    private FanIn fanIn;
+    private long time;
+
+    @Setup
+    public void setup() throws Exception {
+        linear = new Linear(size);
+        fanIn = new FanIn(size);
+        linearHarness = new CodeHarness();
+        linearHarness.add("linear", linear);
+        fanInHarness = new CodeHarness();
+        fanInHarness.add("fan-in", fanIn);
+    }
+
+    @Benchmark
+    public double[] linear() {
+        linearHarness.tick(time += 1_000_000);
+        return linear.result;
+    }
+
+    @Benchmark
+    public double[] fanIn() {
+        fanInHarness.tick(time += 1_000_000);
+        return fanIn.result;
+    }
+
+    private static double[] clear(double[] d) {
+        Arrays.fill(d, 0);
+        return d;
+    }
+
+    private static double[] ramp(double[] d) {
+        double step = 1.0 / d.length;
+        for (int i = 0; i < d.length; i++) {
+            d[i] = i * step;
+        }
+        return d;
+    }
+
+    private static double[] scale(double[] d) {
+        for (int i = 0; i < d.length; i++) {
+            d[i] *= 0.5;
+        }
+        return d;
+    }
+
+    private static double[] offset(double[] d) {
+        for (int i = 0; i < d.length; i++) {
+            d[i] += 0.25;
+        }
+        return d;
+    }
+
+    private static double[] clip(double[] d) {
+        for (int i = 0; i < d.length; i++) {
+            d[i] = Math.min(1, Math.max(0, d[i]));
+        }
+        return d;
+    }
+
+    public static class Linear extends CoreCodeDelegate {
+
+        @Inject
+        public Data.Sink<double[]> sink;
+
+        private final double[] data;
+        private double[] result;
+
+        public Linear(int size) {
+            data = new double[size];
+        }
+
+        @Override
+        public void init() {
+            sink.onClear(DataPipeBench::clear);
+            sink.input().addSource(Data.link(
+                    Data.supply(() -> data),
+                    Data.apply(DataPipeBench::scale),
+                    Data.apply(DataPipeBench::offset),
+                    Data.apply(DataPipeBench::clip)
+            ));
+        }
+
+        @Override
+        public void update() {
+            result = sink.process(data);
+        }
+
+    }
+
+    public static class FanIn extends CoreCodeDelegate {
+
+        @Inject
+        public Data.Sink<double[]> sink;
+
+        private final double[] data;
+        private double[] result;
+
+        public FanIn(int size) {
+            data = new double[size];
+        }
+
+        @Override
+        public void init() {
+            sink.onCreate(d -> new double[d.length])
+                    .onClear(DataPipeBench::clear)
+                    .onAccumulate((dst, src) -> {
+                        for (int i = 0; i < dst.length; i++) {
+                            dst[i] += src[i];
+                        }
+                        return dst;
+                    })
+                    .onValidate((dst, src) -> dst.length == src.length);
+            Data.Pipe<double[]> mix = Data.apply(DataPipeBench::clip);
+            mix.addSource(Data.link(
+                    Data.apply(DataPipeBench::ramp),
+                    Data.apply(DataPipeBench::scale)));
+            mix.addSource(Data.link(
+                    Data.apply(DataPipeBench::ramp),
+                    Data.apply(DataPipeBench::offset)));
+            sink.input().addSource(mix);
+        }
+
+        @Override
+        public void update() {
+            result = sink.process(data);
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.bench;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.praxislive.impl.InstanceLookup;
+import org.praxislive.video.ClientConfiguration;
+import org.praxislive.video.Player;
+import org.praxislive.video.PlayerConfiguration;
+import org.praxislive.video.QueueContext;
+import org.praxislive.video.pgl.PGLPlayerFactory;
+import org.praxislive.video.pgl.PGLSurface;
+import org.praxislive.video.pipes.impl.SingleOut;
+import org.praxislive.video.render.Surface;
+
+/**
+ * Runs benchmark tasks on the GL thread of a PGL player. The first frame is
+ * held until the harness is stopped, so tasks are not paced by the frame rate
+ * or vsync. Requires an OpenGL capable display.
+ */
+class GLHarness extends SingleOut {
+
+    private final BlockingQueue<FutureTask<?>> tasks;
+    private final CountDownLatch started;
+    private final Player player;
+
+    private volatile boolean running;
+    private Surface output;
+
+    GLHarness(int width, int height) throws Exception {
+        tasks = new LinkedBlockingQueue<>();
+        started = new CountDownLatch(1);
+        QueueContext queue = (time, unit) -> {
+        };
+        player = new PGLPlayerFactory.Default().getFactory().createPlayer(
+                new PlayerConfiguration(System::nanoTime, width, height, 60,
+                        InstanceLookup.create(queue)),
+                new ClientConfiguration[]{new ClientConfiguration(0, 1)});
+        player.getSink(0).addSource(this);
+        running = true;
+        Thread thread = new Thread(player::run, "GLHarness");
+        thread.setDaemon(true);
+        thread.start();
+        if (!started.await(10, TimeUnit.SECONDS)) {
+            stop();
+            throw new IllegalStateException("No OpenGL context available");
+        }
+    }
+
+    /**
+     * Run the task on the GL thread and wait for it to complete. The task is
+     * passed the player output surface, for creating other surfaces.
+     *
+     * @param task task
+     * @throws Exception if the task fails
+     */
+    void run(Consumer<Surface> task) throws Exception {
+        FutureTask<Void> future = new FutureTask<>(() -> task.accept(output), null);
+        tasks.add(future);
+        future.get();
+    }
+
+    /**
+     * Wait for the GPU to complete all rendering to the surface.
+     *
+     * @param surface PGL surface
+     */
+    static void finish(Surface surface) {
+        ((PGLSurface) surface).getGraphics().pgl.finish();
+    }
+
+    void stop() {
+        running = false;
+        player.terminate();
+    }
+
+    @Override
+    protected void process(Surface surface, boolean rendering) {
+        output = surface;
+        started.countDown();
+        try {
+            while (running) {
+                FutureTask<?> task = tasks.poll(100, TimeUnit.MILLISECONDS);
+                if (task != null) {
+                    task.run();
+                }
+            }
+        } catch (InterruptedException ex) {
+            running = false;
+        }
+    }
+
+}
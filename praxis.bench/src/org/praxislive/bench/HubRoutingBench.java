@@ -0,0 +1,166 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.bench;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.praxislive.base.AbstractRootContainer;
+import org.praxislive.core.Call;
+import org.praxislive.core.ComponentInfo;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.Info;
+import org.praxislive.core.PacketRouter;
+import org.praxislive.core.types.PNumber;
+import org.praxislive.hub.Hub;
+
+/**
+ * Round trip of a Call between two roots through a running Hub. Each root
+ * polls its queue on receipt, so this measures queue hand-off and dispatch
+ * rather than clock scheduling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HubRoutingBench {
+
+    private Hub hub;
+    private EchoRoot echo;
+    private ProbeRoot probe;
+
+    @Setup
+    public void setup() throws Exception {
+        echo = new EchoRoot();
+        probe = new ProbeRoot();
+        hub = Hub.builder()
+                .addExtension(echo)
+                .addExtension(probe)
+                .build();
+        hub.start();
+        probe.awaitActive();
+        echo.awaitActive();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        hub.shutdown();
+        hub.await(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public Call roundTrip() throws InterruptedException {
+        return probe.send(echo.echoAddress());
+    }
+
+    private static class EchoRoot extends AbstractRootContainer {
+
+        private final CountDownLatch active = new CountDownLatch(1);
+
+        private EchoRoot() {
+            registerControl("echo", (call, router) -> {
+                if (call.isRequest()) {
+                    router.route(call.reply(call.args()));
+                }
+            });
+        }
+
+        @Override
+        protected void activating() {
+            active.countDown();
+        }
+
+        private void awaitActive() throws InterruptedException {
+            if (!active.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Root not activated");
+            }
+        }
+
+        private ControlAddress echoAddress() {
+            return ControlAddress.of(getAddress(), "echo");
+        }
+
+        @Override
+        public ComponentInfo getInfo() {
+            return Info.component(cmp -> cmp);
+        }
+
+    }
+
+    private static class ProbeRoot extends AbstractRootContainer {
+
+        private final CountDownLatch active = new CountDownLatch(1);
+        private final SynchronousQueue<Call> replies = new SynchronousQueue<>();
+
+        @Override
+        protected void activating() {
+            active.countDown();
+        }
+
+        private void awaitActive() throws InterruptedException {
+            if (!active.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Root not activated");
+            }
+        }
+
+        private Call send(ControlAddress to) throws InterruptedException {
+            invokeLater(() -> getRouter().route(Call.create(to,
+                    ControlAddress.of(getAddress(), "probe"),
+                    getExecutionContext().getTime(),
+                    PNumber.ONE)));
+            return replies.take();
+        }
+
+        @Override
+        protected void processCall(Call call, PacketRouter router) {
+            if (call.isReply() || call.isError()) {
+                try {
+                    replies.put(call);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                super.processCall(call, router);
+            }
+        }
+
+        @Override
+        public ComponentInfo getInfo() {
+            return Info.component(cmp -> cmp);
+        }
+
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.praxislive.video.render.Surface;
+import org.praxislive.video.render.SurfaceOp;
+import org.praxislive.video.render.ops.Blur;
+import org.praxislive.video.render.ops.DifferenceOp;
+
+/**
+ * Frame time of Blur and DifferenceOp on the PGL renderer, using the shader
+ * ops or, with fallback, the software ops with a readback and upload. Each
+ * call copies a source image into the frame, applies the op and waits for the
+ * GPU to finish. Requires an OpenGL capable display.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=false")
+public class PGLFallbackBench {
+
+    @Param({"false", "true"})
+    public boolean fallback;
+
+    @Param({"1280"})
+    public int width;
+
+    private GLHarness gl;
+    private Surface source;
+    private Surface other;
+    private Surface frame;
+    private SurfaceOp blur;
+    private SurfaceOp difference;
+
+    @Setup
+    public void setup() throws Exception {
+        // read when the PGL context is created
+        System.setProperty("praxis.video.pgl.fallback", String.valueOf(fallback));
+        int height = width * 9 / 16;
+        gl = new GLHarness(width, height);
+        gl.run(output -> {
+            source = output.createSurface(width, height, false);
+            other = output.createSurface(width, height, false);
+            frame = output.createSurface(width, height, false);
+            source.process(fill(42));
+            other.process(fill(7));
+            GLHarness.finish(source);
+            GLHarness.finish(other);
+        });
+        blur = Blur.op(8);
+        difference = new DifferenceOp();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        gl.run(output -> {
+            source.release();
+            other.release();
+            frame.release();
+        });
+        gl.stop();
+    }
+
+    @Benchmark
+    public void blur() throws Exception {
+        gl.run(output -> {
+            frame.copy(source);
+            frame.process(blur);
+            GLHarness.finish(frame);
+        });
+    }
+
+    @Benchmark
+    public void difference() throws Exception {
+        gl.run(output -> {
+            frame.copy(source);
+            frame.process(difference, other);
+            GLHarness.finish(frame);
+        });
+    }
+
+    private static SurfaceOp fill(long seed) {
+        return (output, inputs) -> {
+            long s = seed;
+            int[] data = output.getData();
+            for (int y = 0; y < output.getHeight(); y++) {
+                int offset = output.getOffset() + y * output.getScanline();
+                for (int x = 0; x < output.getWidth(); x++) {
+                    s = s * 6364136223846793005L + 1442695040888963407L;
+                    data[offset + x] = (int) (s >>> 32) | 0xFF000000;
+                }
+            }
+        };
+    }
+
+}
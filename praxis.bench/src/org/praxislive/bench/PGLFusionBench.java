@@ -0,0 +1,115 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.bench;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.praxislive.video.render.Surface;
+import org.praxislive.video.render.ops.BlendMode;
+import org.praxislive.video.render.ops.Blit;
+
+/**
+ * Frame time of layering whole 4K surfaces with blend mode blits on the PGL
+ * renderer, with and without blit fusion. Each call clears the frame, blits
+ * every layer and waits for the GPU to finish. Requires an OpenGL capable
+ * display.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=false")
+public class PGLFusionBench {
+
+    private final static int WIDTH = 3840;
+    private final static int HEIGHT = 2160;
+    private final static BlendMode[] MODES = {
+        BlendMode.Normal, BlendMode.Add, BlendMode.Multiply, BlendMode.Screen,
+        BlendMode.Difference, BlendMode.Add, BlendMode.Screen
+    };
+
+    @Param({"false", "true"})
+    public boolean fusion;
+
+    @Param({"2", "4", "7"})
+    public int layers;
+
+    private GLHarness gl;
+    private Surface[] sources;
+    private Blit[] blits;
+    private Surface frame;
+
+    @Setup
+    public void setup() throws Exception {
+        // read when the PGL context is created
+        System.setProperty("praxis.video.pgl.fusion", String.valueOf(fusion));
+        gl = new GLHarness(WIDTH, HEIGHT);
+        sources = new Surface[layers];
+        blits = new Blit[layers];
+        gl.run(output -> {
+            frame = output.createSurface(WIDTH, HEIGHT, false);
+            for (int i = 0; i < layers; i++) {
+                sources[i] = output.createSurface(WIDTH, HEIGHT, false);
+                int shade = 0xFF000000 | ((i * 0x3F3F3F + 0x204060) & 0xFFFFFF);
+                sources[i].process((data, inputs) -> Arrays.fill(data.getData(), shade));
+                GLHarness.finish(sources[i]);
+                blits[i] = new Blit().setBlendMode(MODES[i]).setOpacity(0.75);
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        gl.run(output -> {
+            for (Surface source : sources) {
+                source.release();
+            }
+            frame.release();
+        });
+        gl.stop();
+    }
+
+    @Benchmark
+    public void layer() throws Exception {
+        gl.run(output -> {
+            frame.clear();
+            for (int i = 0; i < layers; i++) {
+                frame.process(blits[i], sources[i]);
+            }
+            GLHarness.finish(frame);
+        });
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.praxislive.video.render.PixelData;
+import org.praxislive.video.render.SurfaceOp;
+import org.praxislive.video.render.ops.BlendMode;
+import org.praxislive.video.render.ops.Blit;
+import org.praxislive.video.render.ops.Blur;
+import org.praxislive.video.render.ops.DifferenceOp;
+import org.praxislive.video.render.ops.Noise;
+
+/**
+ * Software renderer pixel kernels on 16:9 frames. Tiling of large frames
+ * across threads can be tuned with
+ * {@code -jvmArgs -Dpraxis.video.tile.threshold=...}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SurfaceOpBench {
+
+    @Param({"320", "1280"})
+    public int width;
+
+    private Pixels src;
+    private Pixels dst;
+    private int[] initial;
+    private SurfaceOp blur;
+    private SurfaceOp difference;
+    private SurfaceOp noise;
+
+    @Setup
+    public void setup() {
+        int height = width * 9 / 16;
+        src = new Pixels(width, height);
+        dst = new Pixels(width, height);
+        long seed = 42;
+        for (int i = 0; i < src.data.length; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            src.data[i] = (int) (seed >>> 32) | 0xFF000000;
+            dst.data[i] = (int) seed | 0xFF000000;
+        }
+        initial = dst.data.clone();
+        blur = Blur.op(8);
+        difference = new DifferenceOp();
+        noise = Noise.op();
+    }
+
+    @Benchmark
+    public PixelData blit(Blend blend) {
+        blend.blit.process(dst, src);
+        return dst;
+    }
+
+    @Benchmark
+    public PixelData blitWithOpacity(Blend blend) {
+        blend.blitOpacity.process(dst, src);
+        return dst;
+    }
+
+    @Benchmark
+    public PixelData blur() {
+        blur.process(dst);
+        return dst;
+    }
+
+    @Benchmark
+    public PixelData difference(Scratch scratch) {
+        difference.process(scratch.dst, src);
+        return scratch.dst;
+    }
+
+    @Benchmark
+    public PixelData noise() {
+        noise.process(dst);
+        return dst;
+    }
+
+    @State(Scope.Thread)
+    public static class Blend {
+
+        @Param({"Normal", "Add", "Difference", "Multiply", "Screen"})
+        public BlendMode blendMode;
+
+        private Blit blit;
+        private Blit blitOpacity;
+
+        @Setup
+        public void setup() {
+            blit = new Blit().setBlendMode(blendMode);
+            blitOpacity = new Blit().setBlendMode(blendMode).setOpacity(0.5);
+        }
+
+    }
+
+    /**
+     * Destination reset to the same pixels before every call, for ops whose
+     * output would otherwise converge when fed back into themselves.
+     */
+    @State(Scope.Thread)
+    public static class Scratch {
+
+        private Pixels dst;
+
+        @Setup(Level.Invocation)
+        public void reset(SurfaceOpBench bench) {
+            if (dst == null) {
+                dst = new Pixels(bench.dst.width, bench.dst.height);
+            }
+            System.arraycopy(bench.initial, 0, dst.data, 0, dst.data.length);
+        }
+
+    }
+
+    private static class Pixels implements PixelData {
+
+        private final int[] data;
+        private final int width;
+        private final int height;
+
+        private Pixels(int width, int height) {
+            this.width = width;
+            this.height = height;
+            this.data = new int[width * height];
+        }
+
+        @Override
+        public int[] getData() {
+            return data;
+        }
+
+        @Override
+        public int getOffset() {
+            return 0;
+        }
+
+        @Override
+        public int getScanline() {
+            return width;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public boolean hasAlpha() {
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.praxislive.core.ComponentAddress;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.ValueFormatException;
+import org.praxislive.core.types.PArray;
+import org.praxislive.core.types.PMap;
+import org.praxislive.core.types.PNumber;
+
+/**
+ * Parsing of the value and address types that cross root boundaries as text.
+ * Inputs are fresh strings each time so cached parsed values are not reused.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueParsingBench {
+
+    private static final String MAP
+            = "frequency 440 waveform sine level 0.8 "
+            + "position {1.0 2.0 3.0} name {An oscillator}";
+    private static final String ARRAY
+            = "1 2 3 4 5 6 7 8 {nested array value} /audio/osc.frequency";
+    private static final String CONTROL = "/audio/filter/osc.frequency";
+    private static final String COMPONENT = "/audio/filter/osc";
+
+    @Benchmark
+    public PMap parseMap() throws ValueFormatException {
+        return PMap.parse(new String(MAP));
+    }
+
+    @Benchmark
+    public PArray parseArray() throws ValueFormatException {
+        return PArray.parse(new String(ARRAY));
+    }
+
+    @Benchmark
+    public PNumber parseNumber() throws ValueFormatException {
+        return PNumber.parse(new String("0.12345"));
+    }
+
+    @Benchmark
+    public ControlAddress parseControlAddress() throws ValueFormatException {
+        return ControlAddress.parse(new String(CONTROL));
+    }
+
+    @Benchmark
+    public ComponentAddress parseComponentAddress() throws ValueFormatException {
+        return ComponentAddress.parse(new String(COMPONENT));
+    }
+
+}
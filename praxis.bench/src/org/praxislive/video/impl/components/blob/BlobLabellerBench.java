@@ -0,0 +1,126 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.impl.components.blob;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.praxislive.video.render.PixelData;
+
+/**
+ * Connected component labelling of a thresholded frame containing a grid of
+ * discs. Lives in the blob package as BlobLabeller is package private.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlobLabellerBench {
+
+    @Param({"320", "1280"})
+    public int width;
+
+    @Param({"4", "32"})
+    public int grid;
+
+    private Pixels frame;
+    private BlobLabeller labeller;
+
+    @Setup
+    public void setup() {
+        int height = width * 9 / 16;
+        frame = new Pixels(width, height);
+        int cell = Math.max(2, width / grid);
+        int radius = cell / 3;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int dx = x % cell - cell / 2;
+                int dy = y % cell - cell / 2;
+                int v = dx * dx + dy * dy <= radius * radius ? 0xFF : 0x10;
+                frame.data[y * width + x] = 0xFF000000 | v << 16 | v << 8 | v;
+            }
+        }
+        labeller = new BlobLabeller();
+    }
+
+    @Benchmark
+    public int label() {
+        labeller.label(frame, 128);
+        return labeller.getCount();
+    }
+
+    private static class Pixels implements PixelData {
+
+        private final int[] data;
+        private final int width;
+        private final int height;
+
+        private Pixels(int width, int height) {
+            this.width = width;
+            this.height = height;
+            this.data = new int[width * height];
+        }
+
+        @Override
+        public int[] getData() {
+            return data;
+        }
+
+        @Override
+        public int getOffset() {
+            return 0;
+        }
+
+        @Override
+        public int getScanline() {
+            return width;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public boolean hasAlpha() {
+            return false;
+        }
+
+    }
+
+}
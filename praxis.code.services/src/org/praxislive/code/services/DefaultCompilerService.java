@@ -32,6 +32,7 @@ import java.util.stream.Collectors;
 import javax.lang.model.SourceVersion;
 import javax.tools.JavaCompiler;
 import javax.tools.ToolProvider;
+import org.praxislive.base.FlightRecorder;
 import org.praxislive.code.CodeCompilerService;
 import org.praxislive.code.services.tools.ClassBodyCompiler;
 import org.praxislive.code.ClassBodyContext;
@@ -89,13 +90,22 @@ public class DefaultCompilerService extends AbstractRoot {
             String code = map.getString(CodeCompilerService.KEY_CODE, "");
             ClassBodyContext<?> cbc = getClassBodyContext(map);
             LogBuilder log = new LogBuilder(LogLevel.WARNING);
-            Map<String, byte[]> classFiles
-                    = ClassBodyCompiler.create(cbc)
-                            .setCompiler(compiler)
-                            .setRelease(release)
-                            .addMessageHandler(new LogMessageHandler(log))
-                            .extendClasspath(libJARs)
-                            .compile(code);
+            FlightRecorder.Compile event = FlightRecorder.beginCompile();
+            Map<String, byte[]> classFiles = null;
+            try {
+                classFiles = ClassBodyCompiler.create(cbc)
+                        .setCompiler(compiler)
+                        .setRelease(release)
+                        .addMessageHandler(new LogMessageHandler(log))
+                        .extendClasspath(libJARs)
+                        .compile(code);
+            } finally {
+                if (event != null && event.end()) {
+                    event.commit(cbc.getClass().getName(), code.length(),
+                            classFiles == null ? 0 : classFiles.size(),
+                            classFiles != null);
+                }
+            }
             PMap classes = convertClasses(classFiles);
             PMap response = PMap.of(CodeCompilerService.KEY_CLASSES, classes,
                     CodeCompilerService.KEY_LOG, log.toCallArguments().stream().collect(PArray.collector()),
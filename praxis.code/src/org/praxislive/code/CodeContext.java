@@ -27,6 +27,9 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.praxislive.core.Call;
@@ -43,7 +46,7 @@ import org.praxislive.core.services.Service;
 import org.praxislive.core.services.Services;
 import org.praxislive.logging.LogBuilder;
 import org.praxislive.logging.LogLevel;
-import org.praxislive.util.ArrayUtils;
+import org.praxislive.util.ListenerSet;
 
 /**
  *
@@ -65,7 +68,7 @@ public abstract class CodeContext<D extends CodeDelegate> {
     private ExecutionContext.State execState = ExecutionContext.State.NEW;
     private CodeComponent<D> cmp;
     private long time;
-    private ClockListener[] clockListeners;
+    private final ListenerSet<ClockListener> clockListeners;
 
     protected CodeContext(CodeConnector<D> connector) {
         this(connector, false);
@@ -73,7 +76,7 @@ public abstract class CodeContext<D extends CodeDelegate> {
 
     protected CodeContext(CodeConnector<D> connector, boolean requireClock) {
         this.driver = new Driver();
-        clockListeners = new ClockListener[0];
+        clockListeners = new ListenerSet<>();
         // @TODO what is maximum allowed amount a root can be behind system time?
         try {
             connector.process();
@@ -268,6 +271,10 @@ public abstract class CodeContext<D extends CodeDelegate> {
         return info;
     }
 
+    public ComponentAddress getAddress() {
+        return cmp == null ? null : cmp.getAddress();
+    }
+
     protected ControlAddress getAddress(Control control) {
         ComponentAddress ad = cmp == null ? null : cmp.getAddress();
         if (ad != null) {
@@ -293,11 +300,11 @@ public abstract class CodeContext<D extends CodeDelegate> {
     }
 
     public void addClockListener(ClockListener listener) {
-        clockListeners = ArrayUtils.add(clockListeners, listener);
+        clockListeners.add(listener);
     }
 
     public void removeClockListener(ClockListener listener) {
-        clockListeners = ArrayUtils.remove(clockListeners, listener);
+        clockListeners.remove(listener);
     }
 
     protected ExecutionContext getExecutionContext() {
@@ -320,9 +327,7 @@ public abstract class CodeContext<D extends CodeDelegate> {
     protected void update(long time) {
         if (time - this.time > 0) {
             this.time = time;
-            for (ClockListener l : clockListeners) {
-                l.tick();
-            }
+            clockListeners.forEach(ClockListener::tick);
         }
     }
     
@@ -348,23 +353,66 @@ public abstract class CodeContext<D extends CodeDelegate> {
                     Throwable t = ex.getCause();
                     ex = t instanceof Exception ? (Exception) t : ex;
                 }
-                StringBuilder sb = new StringBuilder("Exception thrown from ");
-                sb.append(method.getName());
-                sb.append('(');
-                Class<?>[] types = method.getParameterTypes();
-                for (int i = 0; i < types.length; i++) {
-                    sb.append(types[i].getSimpleName());
-                    if (i < (types.length - 1)) {
-                        sb.append(',');
-                    }
-                }
-                sb.append(')');
-                log.log(LogLevel.ERROR, ex, sb.toString());
+                logMethodException(method, ex);
+            }
+            flush();
+        }
+    }
+
+    // primitive and single argument variants avoid boxing and varargs arrays
+    // on the control rate path - the task should be a field, not a lambda
+    // capturing the value.
+    void invokeDouble(long time, DoubleConsumer task, double value) {
+        if (checkActive()) {
+            update(time);
+            try {
+                task.accept(value);
+            } catch (Exception ex) {
+                log.log(LogLevel.ERROR, ex);
+            }
+            flush();
+        }
+    }
+
+    void invokeInt(long time, IntConsumer task, int value) {
+        if (checkActive()) {
+            update(time);
+            try {
+                task.accept(value);
+            } catch (Exception ex) {
+                log.log(LogLevel.ERROR, ex);
             }
             flush();
         }
     }
 
+    <T> void invoke(long time, Consumer<T> task, T value) {
+        if (checkActive()) {
+            update(time);
+            try {
+                task.accept(value);
+            } catch (Exception ex) {
+                log.log(LogLevel.ERROR, ex);
+            }
+            flush();
+        }
+    }
+
+    void logMethodException(Method method, Exception ex) {
+        StringBuilder sb = new StringBuilder("Exception thrown from ");
+        sb.append(method.getName());
+        sb.append('(');
+        Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            sb.append(types[i].getSimpleName());
+            if (i < (types.length - 1)) {
+                sb.append(',');
+            }
+        }
+        sb.append(')');
+        log.log(LogLevel.ERROR, ex, sb.toString());
+    }
+
     protected void flush() {
         if (!log.isEmpty()) {
             log(log.toCallArguments());
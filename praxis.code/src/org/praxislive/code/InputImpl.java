@@ -22,6 +22,8 @@
 package org.praxislive.code;
 
 import java.lang.reflect.Field;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
 import org.praxislive.code.userapi.AuxIn;
 import org.praxislive.code.userapi.In;
 import org.praxislive.code.userapi.Input;
@@ -37,6 +39,9 @@ import org.praxislive.logging.LogLevel;
  */
 class InputImpl extends Input {
     
+    private final DoubleConsumer doubleLinks = this::updateLinks;
+    private final Consumer<Value> valueLinks = this::updateLinks;
+
     private CodeContext<?> context;
     
     @Override
@@ -46,11 +51,11 @@ class InputImpl extends Input {
     }
 
     private void update(long time, double value) {
-        context.invoke(time, () -> updateLinks(value));
+        context.invokeDouble(time, doubleLinks, value);
     }
     
     private void update(long time, Value value) {
-        context.invoke(time, () -> updateLinks(value));
+        context.invoke(time, valueLinks, value);
     }
     
     static Descriptor createDescriptor(CodeConnector<?> connector,
@@ -22,8 +22,14 @@
  */
 package org.praxislive.code;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Optional;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
 import org.praxislive.code.userapi.AuxIn;
 import org.praxislive.code.userapi.In;
 import org.praxislive.core.ValueFormatException;
@@ -46,7 +52,7 @@ abstract class MethodInput {
         this.method = method;
     }
 
-    private void attach(CodeContext<?> context) {
+    void attach(CodeContext<?> context) {
         this.context = context;
     }
 
@@ -58,6 +64,22 @@ abstract class MethodInput {
         context.invoke(time, method, value);
     }
 
+    MethodHandle bindHandle(Class<?> type) {
+        try {
+            return MethodHandles.lookup().unreflect(method)
+                    .bindTo(context.getDelegate())
+                    .asType(MethodType.methodType(void.class, type));
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    void handleException(Throwable t) {
+        Exception ex = t instanceof Exception ? (Exception) t
+                : new InvocationTargetException(t);
+        context.logMethodException(method, ex);
+    }
+
 //    static boolean isSuppportedType(Class<?> type) {
 //        return type == double.class ||
 //                type == String.class;
@@ -146,21 +168,43 @@ abstract class MethodInput {
 
     private static class DoubleInput extends MethodInput {
 
+        private final DoubleConsumer invoker = this::invokeHandle;
+
+        private MethodHandle handle;
+
         private DoubleInput(Method method) {
             super(method);
         }
 
+        @Override
+        void attach(CodeContext<?> context) {
+            super.attach(context);
+            handle = bindHandle(double.class);
+        }
+
         @Override
         public void receive(long time, double value) {
-            invoke(time, value);
+            if (handle != null) {
+                context.invokeDouble(time, invoker, value);
+            } else {
+                invoke(time, value);
+            }
+        }
+
+        private void invokeHandle(double value) {
+            try {
+                handle.invokeExact(value);
+            } catch (Throwable t) {
+                handleException(t);
+            }
         }
 
         @Override
         public void receive(long time, Value value) {
             try {
-                invoke(time, PNumber.coerce(value).value());
+                receive(time, PNumber.coerce(value).value());
             } catch (ValueFormatException ex) {
-                invoke(time, 0.0);
+                receive(time, 0.0);
             }
         }
 
@@ -168,21 +212,47 @@ abstract class MethodInput {
 
     private static class IntInput extends MethodInput {
 
+        private final IntConsumer invoker = this::invokeHandle;
+
+        private MethodHandle handle;
+
         private IntInput(Method method) {
             super(method);
         }
 
+        @Override
+        void attach(CodeContext<?> context) {
+            super.attach(context);
+            handle = bindHandle(int.class);
+        }
+
         @Override
         public void receive(long time, double value) {
-            invoke(time, (int) Math.round(value));
+            receive(time, (int) Math.round(value));
         }
 
         @Override
         public void receive(long time, Value value) {
             try {
-                invoke(time, PNumber.coerce(value).toIntValue());
+                receive(time, PNumber.coerce(value).toIntValue());
             } catch (ValueFormatException ex) {
-                invoke(time, 0.0);
+                receive(time, 0);
+            }
+        }
+
+        private void receive(long time, int value) {
+            if (handle != null) {
+                context.invokeInt(time, invoker, value);
+            } else {
+                invoke(time, value);
+            }
+        }
+
+        private void invokeHandle(int value) {
+            try {
+                handle.invokeExact(value);
+            } catch (Throwable t) {
+                handleException(t);
             }
         }
 
@@ -85,4 +85,13 @@ public abstract class Output {
         send((double) value);
     }
 
+    /**
+     * Send a long value. Values are sent as double, so are exact up to 2^53.
+     *
+     * @param value
+     */
+    public void send(long value) {
+        send((double) value);
+    }
+
 }
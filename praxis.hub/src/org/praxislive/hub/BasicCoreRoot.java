@@ -21,18 +21,21 @@
  */
 package org.praxislive.hub;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.praxislive.base.AbstractAsyncControl;
 import org.praxislive.base.AbstractRoot;
+import org.praxislive.base.RootMetrics;
 import org.praxislive.core.Call;
 import org.praxislive.core.Component;
 import org.praxislive.core.ComponentAddress;
@@ -48,6 +51,7 @@ import org.praxislive.core.services.RootManagerService;
 import org.praxislive.core.services.Service;
 import org.praxislive.core.types.PArray;
 import org.praxislive.core.types.PError;
+import org.praxislive.core.types.PMap;
 import org.praxislive.core.types.PReference;
 import org.praxislive.core.types.PString;
 
@@ -63,6 +67,7 @@ public class BasicCoreRoot extends AbstractRoot {
     private final Map<String, Control> controls;
 
     private Controller controller;
+    private MetricsControl metricsControl;
 
     protected BasicCoreRoot(Hub.Accessor hubAccess, List<Root> exts) {
         this.hubAccess = Objects.requireNonNull(hubAccess);
@@ -86,6 +91,13 @@ public class BasicCoreRoot extends AbstractRoot {
         installExtensions();
     }
 
+    @Override
+    protected void update() {
+        if (metricsControl != null) {
+            metricsControl.checkTimeout();
+        }
+    }
+
     @Override
     protected void terminating() {
         String[] ids = hubAccess.getRootIDs();
@@ -116,6 +128,10 @@ public class BasicCoreRoot extends AbstractRoot {
         ctrls.computeIfAbsent(RootManagerService.ADD_ROOT, k -> new AddRootControl());
         ctrls.computeIfAbsent(RootManagerService.REMOVE_ROOT, k -> new RemoveRootControl());
         ctrls.computeIfAbsent(RootManagerService.ROOTS, k -> new RootsControl());
+        if (getMetrics() != null) {
+            metricsControl = new MetricsControl();
+            ctrls.computeIfAbsent(RootMetrics.CONTROL_ID, k -> metricsControl);
+        }
 //        ctrls.computeIfAbsent(ComponentProtocol.INFO, k -> (call, router) -> 
 //            router.route(Call.createReturnCall(call, RootManagerService.API_INFO))
 //        );
@@ -261,6 +277,80 @@ public class BasicCoreRoot extends AbstractRoot {
         }
     }
 
+    private class MetricsControl implements Control {
+
+        private final long timeout = TimeUnit.SECONDS.toNanos(5);
+        private final List<Call> waiting;
+        private final Map<Integer, String> pending;
+
+        private PMap.Builder results;
+        private long startTime;
+
+        private MetricsControl() {
+            waiting = new ArrayList<>();
+            pending = new HashMap<>();
+        }
+
+        @Override
+        public void call(Call call, PacketRouter router) throws Exception {
+            if (call.isRequest()) {
+                waiting.add(call);
+                if (waiting.size() == 1) {
+                    start(call, router);
+                }
+            } else {
+                String id = pending.remove(call.matchID());
+                if (id == null) {
+                    return;
+                }
+                if (call.isReply() && !call.args().isEmpty()) {
+                    results.put(id, call.args().get(0));
+                }
+                if (pending.isEmpty()) {
+                    complete(router);
+                }
+            }
+        }
+
+        private void start(Call call, PacketRouter router) {
+            String self = getAddress().rootID();
+            startTime = getExecutionContext().getTime();
+            results = PMap.builder();
+            results.put(self, getMetrics().snapshot());
+            for (String id : hubAccess.getRootIDs()) {
+                if (id.equals(self)) {
+                    continue;
+                }
+                Call request = Call.create(
+                        ControlAddress.of(ComponentAddress.of("/" + id), RootMetrics.CONTROL_ID),
+                        call.to(), call.time());
+                pending.put(request.matchID(), id);
+                router.route(request);
+            }
+            if (pending.isEmpty()) {
+                complete(router);
+            }
+        }
+
+        // called on every root update, so a root that never replies cannot
+        // hold up the aggregate for longer than the timeout
+        private void checkTimeout() {
+            if (!waiting.isEmpty()
+                    && getExecutionContext().getTime() - startTime > timeout) {
+                LOG.log(Level.FINE, "Metrics timed out waiting for {0}", pending.values());
+                complete(getRouter());
+            }
+        }
+
+        private void complete(PacketRouter router) {
+            PMap result = results.build();
+            waiting.forEach(call -> router.route(call.reply(result)));
+            waiting.clear();
+            pending.clear();
+        }
+
+    }
+
     private static class Factory extends Hub.CoreRootFactory {
 
         @Override
@@ -24,25 +24,33 @@ package org.praxislive.impl.swing;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.Timer;
+import org.praxislive.base.PropertySubscriptions;
 import org.praxislive.core.Call;
 import org.praxislive.core.CallArguments;
 import org.praxislive.core.PacketRouter;
 import org.praxislive.core.ControlAddress;
 import org.praxislive.core.ValueFormatException;
+import org.praxislive.core.ComponentAddress;
 import org.praxislive.core.ComponentInfo;
 import org.praxislive.core.ControlInfo;
 import org.praxislive.core.ExecutionContext;
 import org.praxislive.core.protocols.ComponentProtocol;
+import org.praxislive.core.types.PNumber;
 import org.praxislive.impl.AbstractControl;
 
 /**
- * 
+ * Bound properties are subscribed to with the root of the bound control, which
+ * will push changed values. If the root does not support subscriptions, or the
+ * system property <code>praxis.bindings.poll</code> is set, property values
+ * are polled instead.
+ *
  * @author Neil C Smith
  */
 // @TODO sync on error?
@@ -54,6 +62,8 @@ public class DefaultBindingControl extends AbstractControl {
     private final static int LOW_SYNC_DELAY = 1000;
     private final static int MED_SYNC_DELAY = 200;
     private final static int HIGH_SYNC_DELAY = 50;
+    private final static int RENEW_DELAY = PropertySubscriptions.LEASE_TIME / 2;
+    private final static boolean POLL_ONLY = Boolean.getBoolean("praxis.bindings.poll");
     private ControlAddress boundAddress;
     private Binding binding;
     private PacketRouter router;
@@ -94,7 +104,14 @@ public class DefaultBindingControl extends AbstractControl {
                 binding.processError(call);
                 break;
             default:
-                throw new UnsupportedOperationException();
+                if (call.isReplyRequired()) {
+                    throw new UnsupportedOperationException();
+                }
+                if (boundAddress.equals(call.from())) {
+                    binding.processPush(call);
+                } else if (call.from().controlID().equals(PropertySubscriptions.ID)) {
+                    binding.processSubscriptionEnded(call);
+                }
         }
     }
 
@@ -138,6 +155,10 @@ public class DefaultBindingControl extends AbstractControl {
         private Call activeCall;
         private Adaptor activeAdaptor;
         private CallArguments arguments;
+        private int subscribeMatchID;
+        private boolean subscribePending;
+        private boolean subscribed;
+        private boolean subscribeFailed;
 
         private Binding() {
             adaptors = new ArrayList<ControlBinding.Adaptor>();
@@ -228,18 +249,25 @@ public class DefaultBindingControl extends AbstractControl {
                         LOG.log(Level.FINE, "Stopping sync timer on {0}", boundAddress);
                         syncTimer.stop();
                     }
+                    unsubscribe();
                 } else {
-                    syncTimer.setDelay(delayForRate(highRate));
+                    if (!POLL_ONLY && !subscribeFailed) {
+                        sendSubscription(delayForRate(highRate));
+                    }
+                    syncTimer.setDelay(subscribed ? RENEW_DELAY : delayForRate(highRate));
                     if (!syncTimer.isRunning()) {
                         LOG.log(Level.FINE, "Starting sync timer on {0}", boundAddress);
                         syncTimer.start();
                     }
-                    processSync();
+                    if (!subscribed) {
+                        processSync();
+                    }
                 }
             } else {
                 if (syncTimer.isRunning()) {
                     syncTimer.stop();
                 }
+                unsubscribe();
             }
 
         }
@@ -256,6 +284,72 @@ public class DefaultBindingControl extends AbstractControl {
             throw new IllegalArgumentException();
         }
 
+        private int highSyncDelay() {
+            SyncRate highRate = SyncRate.None;
+            for (Adaptor a : adaptors) {
+                if (a.isActive() && a.getSyncRate().compareTo(highRate) > 0) {
+                    highRate = a.getSyncRate();
+                }
+            }
+            return highRate == SyncRate.None ? 0 : delayForRate(highRate);
+        }
+
+        private void sendSubscription(int period) {
+            ControlAddress toAddress = ControlAddress.of(
+                    ComponentAddress.of("/" + boundAddress.component().rootID()),
+                    PropertySubscriptions.ID);
+            Call call = Call.create(toAddress, getReturnAddress(),
+                    context.getTime(), Arrays.asList(boundAddress, PNumber.of(period)));
+            subscribeMatchID = call.matchID();
+            subscribePending = period > 0;
+            router.route(call);
+        }
+
+        private void unsubscribe() {
+            if (subscribed || subscribePending) {
+                subscribed = false;
+                sendSubscription(0);
+            }
+        }
+
+        private void processSubscription(Call call) {
+            if (!subscribed && !subscribePending) {
+                return;
+            }
+            if (call.isReply()) {
+                if (!subscribed) {
+                    subscribed = true;
+                    syncTimer.setDelay(RENEW_DELAY);
+                    syncTimer.setInitialDelay(RENEW_DELAY);
+                    syncTimer.restart();
+                }
+            } else {
+                subscriptionFailed();
+            }
+        }
+
+        private void processSubscriptionEnded(Call call) {
+            if (subscribed && !call.args().isEmpty()
+                    && ControlAddress.from(call.args().get(0))
+                            .map(boundAddress::equals).orElse(false)) {
+                subscriptionFailed();
+            }
+        }
+
+        private void subscriptionFailed() {
+            LOG.log(Level.FINE, "Subscription unavailable for {0}, polling", boundAddress);
+            subscribed = false;
+            subscribePending = false;
+            subscribeFailed = true;
+            updateSyncConfiguration();
+        }
+
+        private void processPush(Call call) {
+            if (isProperty && activeAdaptor == null) {
+                updateArguments(call);
+            }
+        }
+
         private void sendInfoRequest() {
             ControlAddress returnAddress = getReturnAddress();
             ControlAddress toAddress = ControlAddress.of(boundAddress.component(), ComponentProtocol.INFO);
@@ -303,16 +397,15 @@ public class DefaultBindingControl extends AbstractControl {
         }
 
         private void processResponse(Call call) {
-            if (activeCall != null && call.matchID() == activeCall.matchID()) {
+            if (call.matchID() == subscribeMatchID) {
+                processSubscription(call);
+            } else if (activeCall != null && call.matchID() == activeCall.matchID()) {
                 if (activeAdaptor != null) {
                     activeAdaptor.onResponse(call.getArgs());
                     activeAdaptor = null;
                 }
                 if (isProperty) {
-                    arguments = call.getArgs();
-                    for (Adaptor a : adaptors) {
-                        a.update();
-                    }
+                    updateArguments(call);
                 }
                 activeCall = null;
             } else if (call.matchID() == infoMatchID) {
@@ -320,8 +413,17 @@ public class DefaultBindingControl extends AbstractControl {
             }
         }
 
+        private void updateArguments(Call call) {
+            arguments = call.getArgs();
+            for (Adaptor a : adaptors) {
+                a.update();
+            }
+        }
+
         private void processError(Call call) {
-            if (activeCall != null && call.matchID() == activeCall.matchID()) {
+            if (call.matchID() == subscribeMatchID) {
+                processSubscription(call);
+            } else if (activeCall != null && call.matchID() == activeCall.matchID()) {
                 if (activeAdaptor != null) {
                     activeAdaptor.onError(call.getArgs());
                     activeAdaptor = null;
@@ -336,6 +438,10 @@ public class DefaultBindingControl extends AbstractControl {
         }
 
         private void processSync() {
+            if (subscribed) {
+                sendSubscription(highSyncDelay());
+                return;
+            }
             long now = context.getTime();
             if (activeCall != null) {
                 if (activeCall.getType() == Call.Type.INVOKE) {
@@ -36,6 +36,7 @@ import org.praxislive.core.ExecutionContext;
 import org.praxislive.core.Container;
 import org.praxislive.core.Value;
 import org.praxislive.core.PacketRouter;
+import org.praxislive.core.ControlInfo;
 import java.util.EnumSet;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -43,14 +44,21 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.praxislive.base.BatchControl;
+import org.praxislive.base.FlightRecorder;
+import org.praxislive.base.PropertySubscriptions;
+import org.praxislive.base.RootMetrics;
 import org.praxislive.core.protocols.StartableProtocol;
 import org.praxislive.core.services.SystemManagerService;
 import org.praxislive.core.types.PBoolean;
 import org.praxislive.core.types.PReference;
 import org.praxislive.core.types.PString;
 import org.praxislive.util.ArrayUtils;
+import org.praxislive.util.ListenerSet;
 
 /**
  *
@@ -82,6 +90,9 @@ public abstract class AbstractRoot extends AbstractContainer implements Root {
     private ExitOnStopControl exitOnStop;
     private Runnable delegate;
     private boolean interrupted;
+    private long dispatchWindow;
+    private int packetCount;
+    private final RootMetrics metrics = RootMetrics.createIfEnabled();
 
     protected AbstractRoot() {
         this(EnumSet.allOf(Caps.class));
@@ -98,6 +109,29 @@ public abstract class AbstractRoot extends AbstractContainer implements Root {
         if (caps.contains(Caps.ExitableOnStop)) {
             createExitOnStopControl();
         }
+        registerControl(PropertySubscriptions.ID, new LazyControl(() ->
+                new PropertySubscriptions(
+                        ControlAddress.of(address, PropertySubscriptions.ID),
+                        context, router, this::getControl, this::getComponent)));
+        registerControl(BatchControl.ID, new LazyControl(() ->
+                new BatchControl(
+                        ControlAddress.of(address, BatchControl.ID),
+                        router, this::getControl, this::getComponent)));
+        if (metrics != null) {
+            registerControl(RootMetrics.CONTROL_ID, new ControlEx() {
+                @Override
+                public void call(Call call, PacketRouter router) throws Exception {
+                    if (call.isRequest()) {
+                        router.route(call.reply(metrics.snapshot()));
+                    }
+                }
+
+                @Override
+                public ControlInfo getInfo() {
+                    return null;
+                }
+            });
+        }
     }
 
     private void createStartableInterface() {
@@ -234,8 +268,31 @@ public abstract class AbstractRoot extends AbstractContainer implements Root {
     }
 
     protected final void update(long time, boolean poll) {
+        update(time, 0, poll);
+    }
+
+    /**
+     * Update the root time, additionally dispatching any pending packets with
+     * a timestamp less than <code>time + window</code> in this cycle. Roots
+     * that process time in fixed size blocks (eg. audio) can use this to
+     * dispatch packets at the block boundary nearest to their timestamp,
+     * rather than always at the following boundary.
+     *
+     * @param time new clock time
+     * @param window dispatch window in nanoseconds, must not be negative
+     * @param poll whether to poll the incoming queue before updating
+     */
+    protected final void update(long time, long window, boolean poll) {
+
+        if (window < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        FlightRecorder.RootUpdate event = FlightRecorder.beginRootUpdate();
 
         interrupted = false;
+        dispatchWindow = window;
+        packetCount = 0;
 
         RootState currentState = state.get();
         if (currentState != RootState.ACTIVE_IDLE && currentState != RootState.ACTIVE_RUNNING) {
@@ -260,12 +317,13 @@ public abstract class AbstractRoot extends AbstractContainer implements Root {
         }
 
         context.updateClock(time);
-        orderedQueue.setTime(time);
+        orderedQueue.setTime(time + window);
 
         update();
 
         Packet pkt = orderedQueue.poll();
         while (pkt != null) {
+            packetCount++;
             processPacket(pkt);
             if (interrupted) {
                 break;
@@ -273,6 +331,10 @@ public abstract class AbstractRoot extends AbstractContainer implements Root {
             pkt = orderedQueue.poll();
         }
 
+        if (event != null && event.end()) {
+            event.commit(ID, packetCount, interrupted);
+        }
+
     }
 
     protected final void poll(long timeout, TimeUnit unit) throws InterruptedException {
@@ -284,6 +346,10 @@ public abstract class AbstractRoot extends AbstractContainer implements Root {
             return;
         }
 
+        if (metrics != null) {
+            metrics.queueDepth(blockingQueue.size());
+        }
+
         Object obj;
         if (timeout <= 0) {
             obj = blockingQueue.poll();
@@ -291,14 +357,18 @@ public abstract class AbstractRoot extends AbstractContainer implements Root {
             obj = blockingQueue.poll(timeout, unit);
         }
 
-        long now = context.time;
+        long now = context.time + dispatchWindow;
         while (obj != null) {
 
             if (obj instanceof Packet) {
                 Packet pkt = (Packet) obj;
                 if ((pkt.time() - now) > 0) {
                     orderedQueue.add(pkt);
+                    if (metrics != null) {
+                        metrics.pendingDepth(orderedQueue.size());
+                    }
                 } else {
+                    packetCount++;
                     processPacket(pkt);
                 }
             } else if (obj instanceof Runnable) {
@@ -351,7 +421,11 @@ public abstract class AbstractRoot extends AbstractContainer implements Root {
 
     protected void processPacket(Packet packet) {
         if (packet instanceof Call) {
-            processCall((Call) packet);
+            if (metrics != null) {
+                processInstrumented((Call) packet);
+            } else {
+                processCall((Call) packet);
+            }
         } else {
             throw new UnsupportedOperationException();
             // have to check for interrupt in iterating CallPacket
@@ -359,6 +433,13 @@ public abstract class AbstractRoot extends AbstractContainer implements Root {
         }
     }
 
+    private void processInstrumented(Call call) {
+        long start = System.nanoTime();
+        metrics.dispatched(hub.getClock().getTime() - call.time());
+        processCall(call);
+        metrics.processed(call.to(), System.nanoTime() - start);
+    }
+
     protected void processCall(Call call) {
         org.praxislive.core.Control control = getControl(call.to());
         try {
@@ -369,6 +450,9 @@ public abstract class AbstractRoot extends AbstractContainer implements Root {
                 if (type == Call.Type.INVOKE || type == Call.Type.INVOKE_QUIET) {
                     router.route(Call.createErrorCall(call, PString.of("Unknown control address : " + call.to())));
                 }
+                if (metrics != null) {
+                    metrics.dropped();
+                }
             }
         } catch (Exception ex) {
             Call.Type type = call.getType();
@@ -433,7 +517,11 @@ public abstract class AbstractRoot extends AbstractContainer implements Root {
         }
 
         public boolean submitPacket(Packet packet) {
-            return blockingQueue.offer(packet);
+            boolean ok = blockingQueue.offer(packet);
+            if (!ok && metrics != null) {
+                metrics.dropped();
+            }
+            return ok;
         }
 
         @Override
@@ -538,6 +626,31 @@ public abstract class AbstractRoot extends AbstractContainer implements Root {
         }
     }
 
+    // hidden control created on first call, when the root is initialized
+    private static class LazyControl implements ControlEx {
+
+        private final Supplier<org.praxislive.core.Control> factory;
+        private org.praxislive.core.Control control;
+
+        private LazyControl(Supplier<org.praxislive.core.Control> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public void call(Call call, PacketRouter router) throws Exception {
+            if (control == null) {
+                control = factory.get();
+            }
+            control.call(call, router);
+        }
+
+        @Override
+        public ControlInfo getInfo() {
+            return null;
+        }
+
+    }
+
     private class Router implements PacketRouter {
 
         public void route(Packet packet) {
@@ -548,14 +661,16 @@ public abstract class AbstractRoot extends AbstractContainer implements Root {
     protected class Context implements ExecutionContext {
 
         private ExecutionContext.StateListener[] stateListeners;
-        private ExecutionContext.ClockListener[] clockListeners;
+        private final ListenerSet<ExecutionContext.ClockListener> clockListeners;
+        private final Consumer<ExecutionContext.ClockListener> clockDispatch;
         private ExecutionContext.State state;
         private long time;
         private long startTime;
 
         public Context() {
             this.stateListeners = new ExecutionContext.StateListener[0];
-            this.clockListeners = new ExecutionContext.ClockListener[0];
+            this.clockListeners = new ListenerSet<>();
+            this.clockDispatch = l -> l.tick(this);
             this.state = ExecutionContext.State.NEW;
             this.time = hub.getClock().getTime();
             this.startTime = this.time;
@@ -573,12 +688,12 @@ public abstract class AbstractRoot extends AbstractContainer implements Root {
 
         @Override
         public void addClockListener(ExecutionContext.ClockListener listener) {
-            clockListeners = ArrayUtils.add(clockListeners, listener);
+            clockListeners.add(listener);
         }
 
         @Override
         public void removeClockListener(ExecutionContext.ClockListener listener) {
-            clockListeners = ArrayUtils.remove(clockListeners, listener);
+            clockListeners.remove(listener);
         }
 
         @SuppressWarnings("fallthrough")
@@ -641,9 +756,7 @@ public abstract class AbstractRoot extends AbstractContainer implements Root {
         }
 
         private void fireClockListeners() {
-            for (ExecutionContext.ClockListener l : clockListeners) {
-                l.tick(this);
-            }
+            clockListeners.forEach(clockDispatch);
         }
     }
 }
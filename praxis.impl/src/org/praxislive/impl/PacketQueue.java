@@ -82,6 +82,10 @@ public class PacketQueue {
         }
     }
 
+    public int size() {
+        return primaryQueue.size() + secondaryQueue.size();
+    }
+
     public Packet poll() {
         if (inOverflowArea) {
             return checkedPoll();
@@ -0,0 +1,62 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.praxislive.base.FlightRecorder;
+
+/**
+ * Flight recorder event for {@link FlightRecorder.AudioBuffer}.
+ */
+@Label("Audio Buffer")
+@Description("Audio root block update and timing relative to the audio server")
+@Category({"PraxisLIVE", "Audio"})
+@StackTrace(false)
+class AudioBufferEvent extends jdk.jfr.Event {
+
+    @Label("Root")
+    String root;
+
+    @Label("Period")
+    @Description("Block period")
+    @Timespan
+    long period;
+
+    @Label("Interval")
+    @Description("Time since the previous block started, including its processing")
+    @Timespan
+    long interval;
+
+    @Label("Late")
+    @Description("How far the block started behind its nominal time")
+    @Timespan
+    long late;
+
+    @Label("Overrun")
+    @Description("Whether the block started more than one block period late")
+    boolean overrun;
+
+}
@@ -0,0 +1,54 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.praxislive.base.FlightRecorder;
+
+/**
+ * Flight recorder event for {@link FlightRecorder.Compile}.
+ */
+@Label("Code Compilation")
+@Description("Compilation of a class body by the compiler service")
+@Category({"PraxisLIVE", "Code"})
+@StackTrace(false)
+class CompileEvent extends jdk.jfr.Event {
+
+    @Label("Context")
+    @Description("Class body context type")
+    String context;
+
+    @Label("Source Length")
+    @Description("Length of the source code in characters")
+    int sourceLength;
+
+    @Label("Classes")
+    @Description("Number of classes generated, zero if compilation failed")
+    int classes;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+}
@@ -0,0 +1,168 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.jfr;
+
+import org.praxislive.base.FlightRecorder;
+
+/**
+ * {@link FlightRecorder.Provider} backed by JDK flight recorder events.
+ */
+public class JFRProvider implements FlightRecorder.Provider {
+
+    @Override
+    public boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JFRProvider.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public FlightRecorder.RootUpdate beginRootUpdate() {
+        return new RootUpdate();
+    }
+
+    @Override
+    public FlightRecorder.AudioBuffer beginAudioBuffer() {
+        return new AudioBuffer();
+    }
+
+    @Override
+    public FlightRecorder.VideoFrame beginVideoFrame() {
+        return new VideoFrame();
+    }
+
+    @Override
+    public FlightRecorder.Compile beginCompile() {
+        return new Compile();
+    }
+
+    private static class RootUpdate extends FlightRecorder.RootUpdate {
+
+        private final RootUpdateEvent event;
+
+        private RootUpdate() {
+            event = new RootUpdateEvent();
+            event.begin();
+        }
+
+        @Override
+        public boolean end() {
+            event.end();
+            return event.shouldCommit();
+        }
+
+        @Override
+        public void commit(String root, int packets, boolean interrupted) {
+            event.root = root;
+            event.packets = packets;
+            event.interrupted = interrupted;
+            event.commit();
+        }
+
+    }
+
+    private static class AudioBuffer extends FlightRecorder.AudioBuffer {
+
+        private final AudioBufferEvent event;
+
+        private AudioBuffer() {
+            event = new AudioBufferEvent();
+            event.begin();
+        }
+
+        @Override
+        public boolean end() {
+            event.end();
+            return event.shouldCommit();
+        }
+
+        @Override
+        public void commit(String root, long period, long interval,
+                long late, boolean overrun) {
+            event.root = root;
+            event.period = period;
+            event.interval = interval;
+            event.late = late;
+            event.overrun = overrun;
+            event.commit();
+        }
+
+    }
+
+    private static class VideoFrame extends FlightRecorder.VideoFrame {
+
+        private final VideoFrameEvent event;
+
+        private VideoFrame() {
+            event = new VideoFrameEvent();
+            event.begin();
+        }
+
+        @Override
+        public boolean end() {
+            event.end();
+            return event.shouldCommit();
+        }
+
+        @Override
+        public void commit(String root, long period, long interval,
+                boolean overrun) {
+            event.root = root;
+            event.period = period;
+            event.interval = interval;
+            event.overrun = overrun;
+            event.commit();
+        }
+
+    }
+
+    private static class Compile extends FlightRecorder.Compile {
+
+        private final CompileEvent event;
+
+        private Compile() {
+            event = new CompileEvent();
+            event.begin();
+        }
+
+        @Override
+        public boolean end() {
+            event.end();
+            return event.shouldCommit();
+        }
+
+        @Override
+        public void commit(String context, int sourceLength,
+                int classes, boolean succeeded) {
+            event.context = context;
+            event.sourceLength = sourceLength;
+            event.classes = classes;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+
+    }
+
+}
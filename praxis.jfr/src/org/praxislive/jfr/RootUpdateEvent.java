@@ -0,0 +1,52 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import org.praxislive.base.FlightRecorder;
+
+/**
+ * Flight recorder event for {@link FlightRecorder.RootUpdate}.
+ */
+@Label("Root Update")
+@Description("Root update cycle, including dispatch of due packets")
+@Category({"PraxisLIVE", "Root"})
+@StackTrace(false)
+@Threshold("1 ms")
+class RootUpdateEvent extends jdk.jfr.Event {
+
+    @Label("Root")
+    String root;
+
+    @Label("Packets")
+    @Description("Number of packets processed in this cycle")
+    int packets;
+
+    @Label("Interrupted")
+    @Description("Whether the cycle was interrupted before processing all due packets")
+    boolean interrupted;
+
+}
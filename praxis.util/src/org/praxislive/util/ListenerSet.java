@@ -0,0 +1,172 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * An identity set of listeners for single-threaded dispatch that can be safely
+ * added to or removed from while being iterated, without copying arrays on
+ * every change or allocating during dispatch.
+ * <p>
+ * A listener removed during dispatch will not be called again, including later
+ * in the current dispatch. A listener added during dispatch will not be called
+ * until the next dispatch. Structural changes made during dispatch are applied
+ * when the outermost dispatch completes.
+ * <p>
+ * To avoid allocation on each dispatch, the action passed to
+ * {@link #forEach(java.util.function.Consumer)} should be created once and
+ * reused.
+ *
+ * @param <T> listener type
+ */
+public final class ListenerSet<T> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private Object[] listeners;
+    private int size;
+    private Object[] pending;
+    private int pendingSize;
+    private int depth;
+    private boolean removed;
+
+    public ListenerSet() {
+        listeners = EMPTY;
+        pending = EMPTY;
+    }
+
+    /**
+     * Add a listener. Adding a listener that is already present has no
+     * effect.
+     *
+     * @param listener listener to add
+     * @throws NullPointerException if listener is null
+     */
+    public void add(T listener) {
+        Objects.requireNonNull(listener);
+        if (indexOf(listeners, size, listener) >= 0
+                || indexOf(pending, pendingSize, listener) >= 0) {
+            return;
+        }
+        if (depth > 0) {
+            pending = append(pending, pendingSize++, listener);
+        } else {
+            listeners = append(listeners, size++, listener);
+        }
+    }
+
+    /**
+     * Remove a listener. Removing a listener that is not present has no
+     * effect.
+     *
+     * @param listener listener to remove
+     * @throws NullPointerException if listener is null
+     */
+    public void remove(T listener) {
+        Objects.requireNonNull(listener);
+        int idx = indexOf(listeners, size, listener);
+        if (idx >= 0) {
+            if (depth > 0) {
+                listeners[idx] = null;
+                removed = true;
+            } else {
+                size = delete(listeners, size, idx);
+            }
+            return;
+        }
+        idx = indexOf(pending, pendingSize, listener);
+        if (idx >= 0) {
+            pendingSize = delete(pending, pendingSize, idx);
+        }
+    }
+
+    /**
+     * Call the provided action for each listener.
+     *
+     * @param action action to call for each listener
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        depth++;
+        try {
+            Object[] l = listeners;
+            int s = size;
+            for (int i = 0; i < s; i++) {
+                Object listener = l[i];
+                if (listener != null) {
+                    action.accept((T) listener);
+                }
+            }
+        } finally {
+            if (--depth == 0) {
+                applyPending();
+            }
+        }
+    }
+
+    private void applyPending() {
+        if (removed) {
+            int j = 0;
+            for (int i = 0; i < size; i++) {
+                Object listener = listeners[i];
+                if (listener != null) {
+                    listeners[j++] = listener;
+                }
+            }
+            Arrays.fill(listeners, j, size, null);
+            size = j;
+            removed = false;
+        }
+        for (int i = 0; i < pendingSize; i++) {
+            listeners = append(listeners, size++, pending[i]);
+            pending[i] = null;
+        }
+        pendingSize = 0;
+    }
+
+    private static int indexOf(Object[] array, int size, Object obj) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == obj) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Object[] append(Object[] array, int size, Object obj) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, Math.max(4, size * 2));
+        }
+        array[size] = obj;
+        return array;
+    }
+
+    private static int delete(Object[] array, int size, int idx) {
+        System.arraycopy(array, idx + 1, array, idx, size - idx - 1);
+        array[--size] = null;
+        return size;
+    }
+
+}
@@ -0,0 +1,234 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.code;
+
+import java.lang.reflect.Field;
+import org.praxislive.logging.LogLevel;
+import org.praxislive.video.code.userapi.OffScreen;
+import org.praxislive.video.code.userapi.PFrameHistory;
+import org.praxislive.video.code.userapi.PGraphics;
+import org.praxislive.video.code.userapi.PImage;
+import org.praxislive.video.render.Surface;
+
+/**
+ *
+ * @author Neil C Smith <http://neilcsmith.net>
+ */
+class FrameHistoryInfo {
+
+    private final int width;
+    private final int height;
+    private final double scaleWidth;
+    private final double scaleHeight;
+    private final OffScreen.Format format;
+    private final Field field;
+
+    private VideoCodeContext<?> context;
+    private History history;
+
+    private FrameHistoryInfo(Field field,
+            int width,
+            int height,
+            double scaleWidth,
+            double scaleHeight,
+            OffScreen.Format format) {
+        this.field = field;
+        this.width = width;
+        this.height = height;
+        this.scaleWidth = scaleWidth;
+        this.scaleHeight = scaleHeight;
+        this.format = format;
+    }
+
+    void attach(VideoCodeContext<?> context, FrameHistoryInfo previous) {
+        this.context = context;
+        if (previous != null && previous.history != null) {
+            history = previous.history;
+            previous.history = null;
+        } else {
+            history = new History();
+        }
+        try {
+            field.set(context.getDelegate(), history);
+        } catch (IllegalArgumentException | IllegalAccessException ex) {
+            context.getLog().log(LogLevel.ERROR, ex);
+        }
+    }
+
+    void validate(Surface output) {
+        history.validate(output,
+                OffScreenSizes.calculateWidth(width, scaleWidth, output),
+                OffScreenSizes.calculateHeight(height, scaleHeight, output),
+                OffScreenSizes.calculateAlpha(format, output));
+    }
+
+    void endFrame() {
+        history.output = null;
+    }
+
+    void release() {
+        if (history != null) {
+            history.clear();
+        }
+    }
+
+    static FrameHistoryInfo create(Field field) {
+        OffScreen ann = field.getAnnotation(OffScreen.class);
+        if (ann == null
+                || !PFrameHistory.class.isAssignableFrom(field.getType())) {
+            return null;
+        }
+        field.setAccessible(true);
+        return new FrameHistoryInfo(field,
+                ann.width(),
+                ann.height(),
+                ann.scaleWidth(),
+                ann.scaleHeight(),
+                ann.format());
+    }
+
+    private static class History extends PFrameHistory {
+
+        private Frame[] frames;
+        private int head;
+        private int size;
+        private Surface output;
+        private int frameWidth;
+        private int frameHeight;
+        private boolean frameAlpha;
+
+        private History() {
+            frames = new Frame[1];
+        }
+
+        @Override
+        public int depth() {
+            return frames.length;
+        }
+
+        @Override
+        public PFrameHistory depth(int depth) {
+            depth = Math.max(depth, 1);
+            if (depth == frames.length) {
+                return this;
+            }
+            Frame[] resized = new Frame[depth];
+            int keep = Math.min(size, depth);
+            for (int age = 0; age < size; age++) {
+                int idx = index(age);
+                if (age < keep) {
+                    resized[keep - 1 - age] = frames[idx];
+                } else {
+                    frames[idx].surface.release();
+                }
+                frames[idx] = null;
+            }
+            for (Frame frame : frames) {
+                if (frame != null) {
+                    frame.surface.release();
+                }
+            }
+            frames = resized;
+            head = Math.max(keep - 1, 0);
+            size = keep;
+            return this;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public PGraphics next() {
+            if (output == null) {
+                throw new IllegalStateException("Frame history can only be used during draw");
+            }
+            if (size > 0) {
+                head = (head + 1) % frames.length;
+            }
+            Frame frame = frames[head];
+            if (frame == null) {
+                frame = new Frame(output.createSurface(frameWidth, frameHeight, frameAlpha));
+                frames[head] = frame;
+            }
+            size = Math.min(size + 1, frames.length);
+            frame.beginDraw();
+            return frame;
+        }
+
+        @Override
+        public PImage get(int age) {
+            if (size == 0) {
+                return null;
+            }
+            return frames[index(Math.max(0, Math.min(age, size - 1)))];
+        }
+
+        @Override
+        public void clear() {
+            for (int i = 0; i < frames.length; i++) {
+                if (frames[i] != null) {
+                    frames[i].surface.release();
+                    frames[i] = null;
+                }
+            }
+            head = 0;
+            size = 0;
+        }
+
+        private int index(int age) {
+            int idx = head - age;
+            return idx < 0 ? idx + frames.length : idx;
+        }
+
+        private void validate(Surface output, int width, int height, boolean alpha) {
+            Frame newest = frames[head];
+            if (width != frameWidth || height != frameHeight || alpha != frameAlpha
+                    || (newest != null && !output.checkCompatible(newest.surface, false, false))) {
+                clear();
+                frameWidth = width;
+                frameHeight = height;
+                frameAlpha = alpha;
+            }
+            this.output = output;
+        }
+
+    }
+
+    private static class Frame extends PGraphics {
+
+        private final Surface surface;
+
+        private Frame(Surface surface) {
+            super(surface.getWidth(), surface.getHeight());
+            this.surface = surface;
+        }
+
+        @Override
+        protected Surface getSurface() {
+            return surface;
+        }
+
+    }
+
+}
@@ -34,7 +34,7 @@ import java.net.URI;
 import org.praxislive.code.ResourceProperty;
 import org.praxislive.video.code.userapi.PImage;
 import org.praxislive.video.render.Surface;
-import org.praxislive.video.render.utils.BufferedImageSurface;
+import org.praxislive.video.render.utils.ImageCache;
 
 /**
  *
@@ -50,7 +50,7 @@ class ImageLoader extends ResourceProperty.Loader<PImage> {
 
     @Override
     public PImage load(URI uri) throws IOException {
-        Surface s = BufferedImageSurface.load(uri);
+        Surface s = ImageCache.load(uri);
         return new PImageImpl(s);
     }
 
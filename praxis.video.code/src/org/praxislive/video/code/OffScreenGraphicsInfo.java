@@ -118,35 +118,17 @@ class OffScreenGraphicsInfo {
         if (!output.checkCompatible(offscreenSurface, false, false)) {
             return false;
         }
-        return offscreenSurface.hasAlpha() == calculateAlpha(output)
-                && offscreenSurface.getWidth() == calculateWidth(output)
-                && offscreenSurface.getHeight() == calculateHeight(output);
+        return offscreenSurface.hasAlpha() == OffScreenSizes.calculateAlpha(format, output)
+                && offscreenSurface.getWidth() == OffScreenSizes.calculateWidth(width, scaleWidth, output)
+                && offscreenSurface.getHeight() == OffScreenSizes.calculateHeight(height, scaleHeight, output);
 
     }
 
-    private boolean calculateAlpha(Surface output) {
-        if (format == OffScreen.Format.Default) {
-            return output.hasAlpha();
-        } else {
-            return format == OffScreen.Format.ARGB;
-        }
-    }
-
-    private int calculateWidth(Surface output) {
-        int w = width < 1 ? output.getWidth() : width;
-        w *= scaleWidth;
-        return Math.max(w, 1);
-    }
-
-    private int calculateHeight(Surface output) {
-        int h = height < 1 ? output.getHeight() : height;
-        h *= scaleHeight;
-        return Math.max(h, 1);
-    }
-
     private OffScreenGraphics createGraphics(Surface output) {
         return new OffScreenGraphics(output.createSurface(
-                calculateWidth(output), calculateHeight(output), calculateAlpha(output)));
+                OffScreenSizes.calculateWidth(width, scaleWidth, output),
+                OffScreenSizes.calculateHeight(height, scaleHeight, output),
+                OffScreenSizes.calculateAlpha(format, output)));
     }
 
     static OffScreenGraphicsInfo create(Field field) {
@@ -0,0 +1,56 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.code;
+
+import org.praxislive.video.code.userapi.OffScreen;
+import org.praxislive.video.render.Surface;
+
+/**
+ * Size and format calculations for {@link OffScreen} fields, shared by
+ * offscreen graphics and frame history.
+ */
+final class OffScreenSizes {
+
+    private OffScreenSizes() {
+    }
+
+    static boolean calculateAlpha(OffScreen.Format format, Surface output) {
+        if (format == OffScreen.Format.Default) {
+            return output.hasAlpha();
+        } else {
+            return format == OffScreen.Format.ARGB;
+        }
+    }
+
+    static int calculateWidth(int width, double scaleWidth, Surface output) {
+        int w = width < 1 ? output.getWidth() : width;
+        w *= scaleWidth;
+        return Math.max(w, 1);
+    }
+
+    static int calculateHeight(int height, double scaleHeight, Surface output) {
+        int h = height < 1 ? output.getHeight() : height;
+        h *= scaleHeight;
+        return Math.max(h, 1);
+    }
+
+}
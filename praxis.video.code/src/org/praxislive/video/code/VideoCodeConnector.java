@@ -47,6 +47,7 @@ public class VideoCodeConnector<T extends VideoCodeDelegate> extends CodeConnect
     private final static String UPDATE = "update";
     
     private final Map<String, OffScreenGraphicsInfo> offscreen;
+    private final Map<String, FrameHistoryInfo> history;
     
     private VideoOutputPort.Descriptor output;
     private boolean hasInit;
@@ -56,6 +57,7 @@ public class VideoCodeConnector<T extends VideoCodeDelegate> extends CodeConnect
             T delegate) {
         super(contextCreator, delegate);
         offscreen = new LinkedHashMap<>();
+        history = new LinkedHashMap<>();
     }
     
     VideoOutputPort.Descriptor extractOutput() {
@@ -63,7 +65,11 @@ public class VideoCodeConnector<T extends VideoCodeDelegate> extends CodeConnect
     }
 
     Map<String, OffScreenGraphicsInfo> extractOffScreenInfo() {
-        return offscreen.isEmpty() ? Collections.EMPTY_MAP : offscreen;
+        return offscreen.isEmpty() ? Collections.emptyMap() : offscreen;
+    }
+
+    Map<String, FrameHistoryInfo> extractFrameHistoryInfo() {
+        return history.isEmpty() ? Collections.emptyMap() : history;
     }
     
     boolean hasInit() {
@@ -125,6 +131,11 @@ public class VideoCodeConnector<T extends VideoCodeDelegate> extends CodeConnect
                 offscreen.put(field.getName(), osgi);
                 return;
             }
+            FrameHistoryInfo fhi = FrameHistoryInfo.create(field);
+            if (fhi != null) {
+                history.put(field.getName(), fhi);
+                return;
+            }
         }
         
         super.analyseField(field);
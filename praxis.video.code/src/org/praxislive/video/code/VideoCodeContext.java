@@ -49,6 +49,7 @@ public class VideoCodeContext<D extends VideoCodeDelegate> extends CodeContext<D
     private final VideoOutputPort.Descriptor output;
     private final VideoInputPort.Descriptor[] inputs;
     private final Map<String, OffScreenGraphicsInfo> offscreen;
+    private final Map<String, FrameHistoryInfo> history;
     private final Processor processor;
     private final boolean resetOnSetup;
 
@@ -73,6 +74,7 @@ public class VideoCodeContext<D extends VideoCodeDelegate> extends CodeContext<D
         inputs = ins.toArray(new VideoInputPort.Descriptor[ins.size()]);
         
         offscreen = connector.extractOffScreenInfo();
+        history = connector.extractFrameHistoryInfo();
         
         processor = new Processor(inputs.length);
     }
@@ -89,9 +91,13 @@ public class VideoCodeContext<D extends VideoCodeDelegate> extends CodeContext<D
     
     private void configureOffScreen(VideoCodeContext<D> oldCtxt) {
         Map<String, OffScreenGraphicsInfo> oldOffscreen = oldCtxt == null
-                ? Collections.EMPTY_MAP : oldCtxt.offscreen;
+                ? Collections.emptyMap() : oldCtxt.offscreen;
         offscreen.forEach( (id, osgi) -> osgi.attach(this, oldOffscreen.remove(id)));
         oldOffscreen.forEach( (id, osgi) -> osgi.release());
+        Map<String, FrameHistoryInfo> oldHistory = oldCtxt == null
+                ? Collections.emptyMap() : oldCtxt.history;
+        history.forEach( (id, fhi) -> fhi.attach(this, oldHistory.remove(id)));
+        oldHistory.forEach( (id, fhi) -> fhi.release());
     }
 
     @Override
@@ -116,6 +122,7 @@ public class VideoCodeContext<D extends VideoCodeDelegate> extends CodeContext<D
     protected void stopping(ExecutionContext source, boolean fullStop) {
         if (fullStop) {
             offscreen.forEach((id, osgi) -> osgi.release());
+            history.forEach((id, fhi) -> fhi.release());
         }
     }
 
@@ -234,10 +241,12 @@ public class VideoCodeContext<D extends VideoCodeDelegate> extends CodeContext<D
         
         private void validateOffscreen(Surface output) {
             offscreen.forEach((id, osgi) -> osgi.validate(output));
+            history.forEach((id, fhi) -> fhi.validate(output));
         }
         
         private void endOffscreen() {
             offscreen.forEach((id, osgi) -> osgi.endFrame());
+            history.forEach((id, fhi) -> fhi.endFrame());
         }
         
         private void invokeSetup(VideoCodeDelegate delegate) {
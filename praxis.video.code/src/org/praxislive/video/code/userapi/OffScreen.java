@@ -26,7 +26,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 
 /**
- * Annotate a PGraphics field as an additional offscreen buffer.
+ * Annotate a PGraphics field as an additional offscreen buffer, or a
+ * {@link PFrameHistory} field as a ring of offscreen buffers.
  * 
  */
 @Retention(RetentionPolicy.RUNTIME)
@@ -67,7 +68,7 @@ public @interface OffScreen {
     /**
      * Whether to persist the contents of the offscreen buffer between frames.
      * Default value is true. If false the surface will be released after each
-     * draw() call.
+     * draw() call. Frame history is always persisted.
      * 
      * @return persist contents between frames
      */
@@ -0,0 +1,93 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.code.userapi;
+
+/**
+ * A ring of recent frames, for delay, echo and time displacement effects.
+ * Declare a field annotated with {@link OffScreen} - the annotation controls
+ * the size and format of each frame. Frames are retained between draw calls,
+ * and adding a frame reuses the oldest buffer rather than moving any pixels.
+ * <p>
+ * The default depth is one frame.
+ * <p>
+ * Frame history is only available to components using this API, such as
+ * video:custom. The video:gl:p2d and video:gl:p3d APIs do not provide it - use
+ * {@code @OffScreen} graphics there.
+ */
+public abstract class PFrameHistory {
+
+    /**
+     * The maximum number of frames held.
+     *
+     * @return depth
+     */
+    public abstract int depth();
+
+    /**
+     * Set the maximum number of frames held. Reducing the depth discards the
+     * oldest frames.
+     *
+     * @param depth number of frames (minimum 1)
+     * @return this
+     */
+    public abstract PFrameHistory depth(int depth);
+
+    /**
+     * The number of frames currently held, up to {@link #depth()}.
+     *
+     * @return number of frames
+     */
+    public abstract int size();
+
+    /**
+     * Advance the ring and return graphics for the new frame. Once the ring
+     * is full, the buffer returned still contains the oldest frame, which is
+     * usually drawn over completely.
+     *
+     * @return graphics for newest frame
+     */
+    public abstract PGraphics next();
+
+    /**
+     * Advance the ring, copying the image into the new frame.
+     *
+     * @param image image to add
+     */
+    public void push(PImage image) {
+        next().copy(image);
+    }
+
+    /**
+     * Access a frame by age, where zero is the newest frame. Ages beyond the
+     * number of frames held return the oldest frame.
+     *
+     * @param age age in frames
+     * @return frame, or null if no frames are held
+     */
+    public abstract PImage get(int age);
+
+    /**
+     * Discard all frames.
+     */
+    public abstract void clear();
+
+}
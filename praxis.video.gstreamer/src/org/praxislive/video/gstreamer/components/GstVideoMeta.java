@@ -0,0 +1,159 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.gstreamer.components;
+
+import com.sun.jna.Library;
+import com.sun.jna.Pointer;
+import com.sun.jna.Structure;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.freedesktop.gstreamer.Buffer;
+import org.freedesktop.gstreamer.lowlevel.GType;
+import org.freedesktop.gstreamer.lowlevel.GstNative;
+
+/**
+ * Access to the GstVideoMeta of a buffer, which describes the plane offsets
+ * and strides of buffers with a non-default layout.
+ *
+ * @author Neil C Smith
+ */
+class GstVideoMeta {
+
+    private final static Logger LOG = Logger.getLogger(GstVideoMeta.class.getName());
+
+    private final static VideoAPI VIDEO_API;
+    private final static CoreAPI CORE_API;
+    private final static GType META_API_TYPE;
+
+    static {
+        VideoAPI videoAPI = null;
+        CoreAPI coreAPI = null;
+        GType type = null;
+        try {
+            videoAPI = GstNative.load("gstvideo", VideoAPI.class);
+            coreAPI = GstNative.load("gstreamer", CoreAPI.class);
+            type = videoAPI.gst_video_meta_api_get_type();
+        } catch (Throwable t) {
+            LOG.log(Level.FINE, "GstVideoMeta not available", t);
+            videoAPI = null;
+            coreAPI = null;
+            type = null;
+        }
+        VIDEO_API = videoAPI;
+        CORE_API = coreAPI;
+        META_API_TYPE = type;
+    }
+
+    private final int offset;
+    private final int stride;
+
+    private GstVideoMeta(int offset, int stride) {
+        this.offset = offset;
+        this.stride = stride;
+    }
+
+    /**
+     * Byte offset of the first plane.
+     *
+     * @return offset in bytes
+     */
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Row stride of the first plane.
+     *
+     * @return stride in bytes
+     */
+    int getStride() {
+        return stride;
+    }
+
+    /**
+     * Find the video meta of the buffer, if it has one.
+     *
+     * @param buffer buffer
+     * @return video meta or null
+     */
+    static GstVideoMeta find(Buffer buffer) {
+        if (CORE_API == null) {
+            return null;
+        }
+        try {
+            Pointer ptr = CORE_API.gst_buffer_get_meta(buffer, META_API_TYPE);
+            if (ptr == null) {
+                return null;
+            }
+            VideoMetaStruct meta = new VideoMetaStruct(ptr);
+            return new GstVideoMeta((int) Pointer.nativeValue(meta.offset[0]),
+                    meta.stride[0]);
+        } catch (Throwable t) {
+            LOG.log(Level.FINE, "Unable to read GstVideoMeta", t);
+            return null;
+        }
+    }
+
+    interface VideoAPI extends Library {
+
+        GType gst_video_meta_api_get_type();
+
+    }
+
+    interface CoreAPI extends Library {
+
+        Pointer gst_buffer_get_meta(Buffer buffer, GType api);
+
+    }
+
+    public static class VideoMetaStruct extends Structure {
+
+        public int meta_flags;
+        public Pointer meta_info;
+        public Pointer buffer;
+        public int flags;
+        public int format;
+        public int id;
+        public int width;
+        public int height;
+        public int n_planes;
+        // gsize - same size as a pointer on supported platforms
+        public Pointer[] offset = new Pointer[4];
+        public int[] stride = new int[4];
+
+        public VideoMetaStruct(Pointer ptr) {
+            super(ptr);
+            read();
+        }
+
+        @Override
+        protected List<String> getFieldOrder() {
+            return Arrays.asList("meta_flags", "meta_info", "buffer", "flags",
+                    "format", "id", "width", "height", "n_planes",
+                    "offset", "stride");
+        }
+
+    }
+
+}
@@ -123,6 +123,7 @@ class PImageSink {
             if (surface != null && surface.sample != null) {
                 Buffer b = surface.sample.getBuffer();
                 surface.nativeData = b.map(false);
+                surface.updateLayout(GstVideoMeta.find(b));
                 try {
                     renderer.accept(surface.image);
                 } catch(Exception ex) {
@@ -221,9 +222,12 @@ class PImageSink {
         private ByteBuffer nativeData;
         private int[] data;
         private int modCount;
+        private int offset;
+        private int scanline;
 
         private GStreamerSurface(int width, int height) {
             super(width, height, false);
+            scanline = width;
             image = new PImage(width, height) {
                 @Override
                 protected Surface getSurface() {
@@ -276,21 +280,40 @@ class PImageSink {
             throw new UnsupportedOperationException("Not supported yet.");
         }
 
-        public int[] getData() {
-            if (data == null) {
-                data = new int[width * height];
+        // use the layout of the buffer's video meta if it has one, otherwise
+        // the default layout of the negotiated packed format - rows of width
+        private void updateLayout(GstVideoMeta meta) {
+            offset = 0;
+            scanline = width;
+            if (meta != null) {
+                int metaOffset = meta.getOffset();
+                int metaStride = meta.getStride();
+                if (metaOffset >= 0 && metaOffset % 4 == 0
+                        && metaStride >= width * 4 && metaStride % 4 == 0
+                        && metaOffset + (long) metaStride * (height - 1) + width * 4
+                        <= nativeData.remaining()) {
+                    offset = metaOffset / 4;
+                    scanline = metaStride / 4;
+                }
             }
+        }
+
+        public int[] getData() {
             IntBuffer ib = getNativeData().asIntBuffer();
-            ib.get(data);
+            int size = Math.min(offset + scanline * height, ib.remaining());
+            if (data == null || data.length != size) {
+                data = new int[size];
+            }
+            ib.get(data, 0, size);
             return data;
         }
 
         public int getOffset() {
-            return 0;
+            return offset;
         }
 
         public int getScanline() {
-            return width;
+            return scanline;
         }
 
         public ByteBuffer getNativeData() {
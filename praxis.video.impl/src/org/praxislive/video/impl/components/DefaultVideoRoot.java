@@ -21,13 +21,20 @@
  */
 package org.praxislive.video.impl.components;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.praxislive.base.FlightRecorder;
+import org.praxislive.core.ArgumentInfo;
 import org.praxislive.core.Lookup;
+import org.praxislive.core.Value;
+import org.praxislive.core.types.PMap;
+import org.praxislive.core.types.PResource;
 import org.praxislive.impl.AbstractRoot;
+import org.praxislive.impl.ArgumentProperty;
 import org.praxislive.impl.BooleanProperty;
 import org.praxislive.impl.InstanceLookup;
 import org.praxislive.impl.IntProperty;
@@ -44,6 +51,8 @@ import org.praxislive.video.RenderingHints;
 import org.praxislive.video.VideoContext;
 import org.praxislive.video.pipes.FrameRateListener;
 import org.praxislive.video.pipes.FrameRateSource;
+import org.praxislive.video.render.utils.ImageCache;
+import org.praxislive.video.render.utils.PixelArrayCache;
 
 /**
  *
@@ -52,9 +61,11 @@ import org.praxislive.video.pipes.FrameRateSource;
 public class DefaultVideoRoot extends AbstractRoot implements FrameRateListener {
 
     private final static String SOFTWARE = "Software";
+    private final static String OFFLINE = "Offline";
     private final static List<String> RENDERERS = new ArrayList<>();
     static {
         RENDERERS.add(SOFTWARE);
+        RENDERERS.add(OFFLINE);
         Lookup.SYSTEM.findAll(PlayerFactory.Provider.class)
                 .forEach(r -> RENDERERS.add(r.getLibraryName()));
     }
@@ -65,11 +76,15 @@ public class DefaultVideoRoot extends AbstractRoot implements FrameRateListener
     private final static int HEIGHT_DEFAULT = 480;
     private final static double FPS_DEFAULT = 30;
     private int skipcount;
+    private long lastFrameStart;
     private int width = WIDTH_DEFAULT;
     private int height = HEIGHT_DEFAULT;
     private double fps = FPS_DEFAULT;
     private StringProperty renderer;
     private BooleanProperty smooth;
+    private StringProperty offlineOutput;
+    private IntProperty offlineFrames;
+    private ArgumentProperty imagePrewarm;
     private Player player;
     private VideoContext.OutputClient outputClient;
     private VideoContextImpl ctxt;
@@ -78,12 +93,24 @@ public class DefaultVideoRoot extends AbstractRoot implements FrameRateListener
     public DefaultVideoRoot() {
         renderer = StringProperty.builder().defaultValue(SOFTWARE).allowedValues(RENDERERS.toArray(new String[0])).build();
         smooth = BooleanProperty.create(true);
+        offlineOutput = StringProperty.create("");
+        offlineFrames = IntProperty.create(0, Integer.MAX_VALUE, 0);
+        imagePrewarm = ArgumentProperty.builder()
+                .type(PResource.class)
+                .allowEmpty()
+                .emptyIsDefault()
+                .build();
         
         registerControl("renderer", renderer);
         registerControl("width", IntProperty.create(new WidthBinding(), 1, 16384, width));
         registerControl("height", IntProperty.create(new HeightBinding(), 1, 16384, height));
         registerControl("fps", NumberProperty.create(new FpsBinding(), 1, 256, fps));
         registerControl("smooth", smooth);
+        registerControl("offline-output", offlineOutput);
+        registerControl("offline-frames", offlineFrames);
+        registerControl("image-prewarm", imagePrewarm);
+        registerControl("pixel-cache", ArgumentProperty.createReadOnly(
+                ArgumentInfo.of(PMap.class), this::pixelCacheStatistics));
         
         ctxt = new VideoContextImpl();
     }
@@ -97,6 +124,8 @@ public class DefaultVideoRoot extends AbstractRoot implements FrameRateListener
     }
 
     public void nextFrame(FrameRateSource source) {
+        FlightRecorder.VideoFrame event = FlightRecorder.beginVideoFrame();
+        long frameStart = getRootHub().getClock().getTime();
         try {
             if (!source.isRendering()) {
                 skipcount++;
@@ -106,10 +135,19 @@ public class DefaultVideoRoot extends AbstractRoot implements FrameRateListener
             // @TODO remove source
             player.terminate();
         }
+        if (event != null && event.end()) {
+            long period = (long) (1_000_000_000 / fps);
+            long interval = lastFrameStart == 0 ? 0 : frameStart - lastFrameStart;
+            event.commit(getAddress().rootID(), period, interval,
+                    interval > period + period / 2);
+        }
+        lastFrameStart = frameStart;
     }
 
     @Override
     protected void starting() {
+        lastFrameStart = 0;
+        prewarmImages();
         try {
             String lib = renderer.getValue();
             player = createPlayer(lib);
@@ -131,6 +169,29 @@ public class DefaultVideoRoot extends AbstractRoot implements FrameRateListener
         }
     }
 
+    private void prewarmImages() {
+        Value dir = imagePrewarm.getValue();
+        if (dir.isEmpty()) {
+            return;
+        }
+        try {
+            ImageCache.prewarm(Paths.get(PResource.coerce(dir).value()));
+        } catch (Exception ex) {
+            LOG.log(Level.WARNING, "Couldn't prewarm images from " + dir, ex);
+        }
+    }
+
+    private PMap pixelCacheStatistics() {
+        PixelArrayCache.Statistics stats = PixelArrayCache.getStatistics();
+        return PMap.builder(5)
+                .put("hits", (double) stats.getHits())
+                .put("misses", (double) stats.getMisses())
+                .put("discards", (double) stats.getDiscards())
+                .put("retained", (double) stats.getRetainedBytes())
+                .put("max-retained", (double) stats.getMaxRetainedBytes())
+                .build();
+    }
+
     private Player createPlayer(String library) throws Exception {
         Lookup clientLookup = Lookup.EMPTY;
         if (outputClient != null) {
@@ -139,7 +200,8 @@ public class DefaultVideoRoot extends AbstractRoot implements FrameRateListener
         PlayerFactory factory = findPlayerFactory(library);
         RenderingHints renderHints = new RenderingHints();
         renderHints.setSmooth(smooth.getValue());
-        Lookup plLkp = InstanceLookup.create(renderHints, new QueueContextImpl());
+        Lookup plLkp = InstanceLookup.create(renderHints, new QueueContextImpl(),
+                new OfflinePlayer.Output(offlineOutput.getValue(), offlineFrames.getValue()));
         return factory.createPlayer(new PlayerConfiguration(getRootHub().getClock(), width, height, fps, plLkp),
                 new ClientConfiguration[]{
                     new ClientConfiguration(0, 1, clientLookup)
@@ -150,6 +212,9 @@ public class DefaultVideoRoot extends AbstractRoot implements FrameRateListener
         if (lib == null || lib.isEmpty() || "Software".equals(lib)) {
             return SWPlayer.getFactory();
         }
+        if (OFFLINE.equals(lib)) {
+            return OfflinePlayer.getFactory();
+        }
         return Lookup.SYSTEM.findAll(PlayerFactory.Provider.class)
                 .filter(p -> lib.equals(p.getLibraryName()))
                 .map(PlayerFactory.Provider::getFactory)
@@ -0,0 +1,474 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.impl.components;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageIO;
+import org.praxislive.core.Clock;
+import org.praxislive.video.ClientConfiguration;
+import org.praxislive.video.Player;
+import org.praxislive.video.PlayerConfiguration;
+import org.praxislive.video.PlayerFactory;
+import org.praxislive.video.pipes.FrameRateListener;
+import org.praxislive.video.pipes.SinkIsFullException;
+import org.praxislive.video.pipes.VideoPipe;
+import org.praxislive.video.render.PixelData;
+import org.praxislive.video.render.Surface;
+import org.praxislive.video.render.utils.PixelArrayCache;
+
+/**
+ * Headless player that renders frames as fast as possible. Frame time is
+ * synthetic, advancing by exactly 1/fps per frame from the clock time at
+ * start. Frames are written on a background thread, either to an image
+ * sequence (output path containing a format specifier, eg.
+ * <code>/tmp/frame-%05d.png</code>) or as a raw big-endian ARGB stream (any
+ * other path, including a named pipe). An empty output path renders without
+ * writing.
+ *
+ * @author Neil C Smith
+ */
+class OfflinePlayer implements Player {
+
+    private final static Factory FACTORY = new Factory();
+    private final static Logger LOG = Logger.getLogger(OfflinePlayer.class.getName());
+    private final static int MAX_PENDING = 4;
+
+    private final int width, height;
+    private final double fps;
+    private final Output output;
+    private final Clock clock;
+    private final OutputSink sink;
+    private final List<FrameRateListener> listeners;
+
+    private volatile boolean running;
+    private long time;
+    private SWSurface surface;
+    private ExecutorService encoder;
+    private Semaphore pending;
+    private FrameWriter writer;
+
+    private OfflinePlayer(Clock clock,
+            int width,
+            int height,
+            double fps,
+            Output output) {
+        if (width <= 0 || height <= 0 || fps <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.clock = clock;
+        this.width = width;
+        this.height = height;
+        this.fps = fps;
+        this.output = output;
+        this.sink = new OutputSink();
+        this.listeners = new ArrayList<>();
+    }
+
+    @Override
+    public void run() {
+        LOG.info("Starting offline renderer.");
+        running = true;
+        try {
+            init();
+        } catch (Exception ex) {
+            LOG.log(Level.SEVERE, "Unable to start offline renderer", ex);
+            running = false;
+            dispose();
+            return;
+        }
+        long start = clock.getTime();
+        long frame = 0;
+        long limit = output.frames > 0 ? output.frames : Long.MAX_VALUE;
+        long wallStart = System.nanoTime();
+        while (running && frame < limit) {
+            time = start + (long) ((frame + 1) * 1000000000.0 / fps);
+            fireListeners();
+            try {
+                sink.process(surface, time);
+                if (writer != null) {
+                    submit(frame);
+                }
+            } catch (InterruptedException ex) {
+                break;
+            } catch (Exception ex) {
+                LOG.log(Level.WARNING, "Exception in render", ex);
+            }
+            frame++;
+        }
+        dispose();
+        if (LOG.isLoggable(Level.INFO)) {
+            double elapsed = (System.nanoTime() - wallStart) / 1000000000.0;
+            LOG.log(Level.INFO, "Offline render of {0} frames took {1} seconds ({2}x realtime)",
+                    new Object[]{frame, elapsed, elapsed > 0 ? (frame / fps) / elapsed : 0});
+        }
+    }
+
+    private void init() throws IOException {
+        surface = new SWSurface(width, height, false);
+        writer = createWriter(output.path, width, height);
+        if (writer != null) {
+            encoder = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "Offline Video Encoder");
+                t.setDaemon(true);
+                return t;
+            });
+            pending = new Semaphore(MAX_PENDING);
+        }
+    }
+
+    private void submit(long frame) throws InterruptedException {
+        // wait for space before acquiring pixels so nothing leaks if interrupted
+        pending.acquire();
+        PixelData data = surface.getPixelData();
+        int size = width * height;
+        int[] pixels = PixelArrayCache.acquire(size, false);
+        int[] src = data.getData();
+        int sl = data.getScanline();
+        for (int y = 0, idx = data.getOffset(); y < height; y++, idx += sl) {
+            System.arraycopy(src, idx, pixels, y * width, width);
+        }
+        try {
+            encoder.execute(() -> {
+                try {
+                    writer.write(frame, pixels);
+                } catch (Exception ex) {
+                    LOG.log(Level.WARNING, "Unable to write frame " + frame, ex);
+                    running = false;
+                } finally {
+                    PixelArrayCache.release(pixels);
+                    pending.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            PixelArrayCache.release(pixels);
+            pending.release();
+            throw ex;
+        }
+    }
+
+    private void dispose() {
+        if (encoder != null) {
+            encoder.shutdown();
+            try {
+                encoder.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException ex) {
+                LOG.log(Level.WARNING, "Interrupted waiting for encoder", ex);
+            }
+            encoder = null;
+        }
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ex) {
+                LOG.log(Level.WARNING, "Unable to close output", ex);
+            }
+            writer = null;
+        }
+        if (surface != null) {
+            surface.release();
+            surface = null;
+        }
+        if (sink.source != null) {
+            sink.removeSource(sink.source);
+        }
+    }
+
+    private void fireListeners() {
+        int count = listeners.size();
+        for (int i = 0; i < count; i++) {
+            listeners.get(i).nextFrame(this);
+        }
+    }
+
+    @Override
+    public VideoPipe getSource(int index) {
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Override
+    public int getSourceCount() {
+        return 0;
+    }
+
+    @Override
+    public VideoPipe getSink(int index) {
+        if (index == 0) {
+            return sink;
+        } else {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public int getSinkCount() {
+        return 1;
+    }
+
+    @Override
+    public void terminate() {
+        running = false;
+    }
+
+    @Override
+    public void addFrameRateListener(FrameRateListener listener) {
+        if (listener == null) {
+            throw new NullPointerException();
+        }
+        if (listeners.contains(listener)) {
+            return;
+        }
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeFrameRateListener(FrameRateListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public boolean isRendering() {
+        return true;
+    }
+
+    static PlayerFactory getFactory() {
+        return FACTORY;
+    }
+
+    static FrameWriter createWriter(String path, int width, int height)
+            throws IOException {
+        if (path == null || path.isEmpty()) {
+            return null;
+        } else if (path.contains("%")) {
+            return new ImageSequenceWriter(path, width, height);
+        } else {
+            return new RawWriter(new File(path), width, height);
+        }
+    }
+
+    /**
+     * Offline output settings, passed to the factory in the player
+     * configuration lookup.
+     */
+    static final class Output {
+
+        private final String path;
+        private final int frames;
+
+        Output(String path, int frames) {
+            this.path = path == null ? "" : path;
+            this.frames = frames;
+        }
+
+    }
+
+    static interface FrameWriter {
+
+        void write(long frame, int[] pixels) throws IOException;
+
+        void close() throws IOException;
+
+    }
+
+    private static class ImageSequenceWriter implements FrameWriter {
+
+        private final String pattern;
+        private final String format;
+        private final BufferedImage image;
+
+        private ImageSequenceWriter(String pattern, int width, int height)
+                throws IOException {
+            this.pattern = pattern;
+            int dot = pattern.lastIndexOf('.');
+            this.format = dot < 0 ? "png"
+                    : pattern.substring(dot + 1).toLowerCase(Locale.ROOT);
+            if (!ImageIO.getImageWritersByFormatName(format).hasNext()) {
+                throw new IOException("Unsupported image format : " + format);
+            }
+            this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+
+        @Override
+        public void write(long frame, int[] pixels) throws IOException {
+            int[] data = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            System.arraycopy(pixels, 0, data, 0, data.length);
+            File file = new File(String.format(Locale.ROOT, pattern, frame));
+            if (!ImageIO.write(image, format, file)) {
+                throw new IOException("No writer for " + file);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+    private static class RawWriter implements FrameWriter {
+
+        private final OutputStream out;
+        private final ByteBuffer buffer;
+
+        private RawWriter(File file, int width, int height) throws IOException {
+            this.out = new BufferedOutputStream(new FileOutputStream(file), 1 << 16);
+            this.buffer = ByteBuffer.allocate(width * height * 4);
+        }
+
+        @Override
+        public void write(long frame, int[] pixels) throws IOException {
+            buffer.clear();
+            buffer.asIntBuffer().put(pixels, 0, buffer.capacity() / 4);
+            out.write(buffer.array(), 0, buffer.capacity());
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+    }
+
+    private class OutputSink extends VideoPipe {
+
+        private VideoPipe source;
+        private long time;
+
+        @Override
+        public void registerSource(VideoPipe source) {
+            if (this.source == null) {
+                this.source = source;
+            } else {
+                throw new SinkIsFullException();
+            }
+        }
+
+        @Override
+        public void unregisterSource(VideoPipe source) {
+            if (this.source == source) {
+                this.source = null;
+            }
+        }
+
+        @Override
+        public boolean isRenderRequired(VideoPipe source, long time) {
+            return source == this.source && time == this.time;
+        }
+
+        private void process(Surface surface, long time) {
+            this.time = time;
+            if (this.source != null) {
+                callSource(source, surface, time);
+            } else {
+                surface.clear();
+            }
+        }
+
+        @Override
+        public int getSourceCount() {
+            return source == null ? 0 : 1;
+        }
+
+        @Override
+        public int getSourceCapacity() {
+            return 1;
+        }
+
+        @Override
+        public VideoPipe getSource(int idx) {
+            if (idx == 0 && source != null) {
+                return source;
+            } else {
+                throw new IndexOutOfBoundsException();
+            }
+        }
+
+        @Override
+        public int getSinkCount() {
+            return 0;
+        }
+
+        @Override
+        public int getSinkCapacity() {
+            return 0;
+        }
+
+        @Override
+        public VideoPipe getSink(int idx) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        protected void process(VideoPipe sink, Surface buffer, long time) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void registerSink(VideoPipe sink) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void unregisterSink(VideoPipe sink) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class Factory implements PlayerFactory {
+
+        @Override
+        public Player createPlayer(PlayerConfiguration config, ClientConfiguration[] clients)
+                throws Exception {
+            if (clients.length != 1 || clients[0].getSourceCount() != 0 || clients[0].getSinkCount() != 1) {
+                throw new IllegalArgumentException("Invalid client configuration");
+            }
+            Output output = config.getLookup().find(Output.class)
+                    .orElseGet(() -> new Output("", 0));
+            return new OfflinePlayer(
+                    config.getClock(),
+                    config.getWidth(),
+                    config.getHeight(),
+                    config.getFPS(),
+                    output);
+        }
+    }
+}
@@ -41,6 +41,8 @@ import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -72,6 +74,7 @@ class SWPlayer implements Player {
 
     private final int noSleepsPerYield = 0; // maximum number of frames without sleep before yielding
     private final int maxSkip = 2; // maximum number of frames that can be skipped before rendering
+    private final int presentDepth = 1; // maximum number of rendered frames waiting to be shown
     private final int width, height; // dimensions of surface
     private final int outputWidth, outputHeight, outputRotation, outputDevice;
     private final double fps; // frames per second
@@ -84,8 +87,13 @@ class SWPlayer implements Player {
 //    private long frameIndex; // index of current frame
     private long time; // time of currently computing frame in relation to clock
     private volatile boolean running = false; // flag to control animation
-    private SWSurface surface = null; // surface to be passed up tree
-    private SWSurface rotated = null; // rotated surface if required
+    private SWSurface rotated = null; // rotated surface if required (presenter only)
+    private BlockingQueue<SWSurface> presentQueue; // rendered surfaces waiting to be shown
+    private BlockingQueue<SWSurface> freeQueue; // surfaces available to render into
+    private SWSurface last; // most recently rendered surface
+    private Thread presenter;
+    private long presented;
+    private long dropped;
     private Frame frame = null;
     private Canvas canvas = null;
     private BufferStrategy bs = null;
@@ -243,7 +251,12 @@ class SWPlayer implements Player {
         canvas.createBufferStrategy(2);
         bs = canvas.getBufferStrategy();
 
-        surface = new SWSurface(width, height, false);
+        // one surface rendering, one presenting, and presentDepth queued
+        presentQueue = new ArrayBlockingQueue<>(presentDepth);
+        freeQueue = new ArrayBlockingQueue<>(presentDepth + 2);
+        for (int i = 0; i < presentDepth + 2; i++) {
+            freeQueue.add(new SWSurface(width, height, false));
+        }
 
         switch (outputRotation) {
             case 90:
@@ -256,6 +269,11 @@ class SWPlayer implements Player {
 
         }
 
+        presented = dropped = 0;
+        presenter = new Thread(this::present, "SWPlayer Presenter");
+        presenter.setDaemon(true);
+        presenter.start();
+
     }
 
     private GraphicsDevice findScreenDevice() {
@@ -277,6 +295,16 @@ class SWPlayer implements Player {
     }
 
     private void dispose() {
+        if (presenter != null) {
+            presenter.interrupt();
+            try {
+                presenter.join(1000);
+            } catch (InterruptedException ex) {
+            }
+            presenter = null;
+            LOG.log(Level.INFO, "Presented {0} frames, dropped {1}",
+                    new Object[]{presented, dropped});
+        }
         try {
             EventQueue.invokeAndWait(new Runnable() {
                 public void run() {
@@ -290,7 +318,14 @@ class SWPlayer implements Player {
         } catch (Exception ex) {
         }
         bs = null;
-        surface = null;
+        if (freeQueue != null) {
+            freeQueue.forEach(SWSurface::release);
+            presentQueue.forEach(SWSurface::release);
+            freeQueue = null;
+            presentQueue = null;
+        }
+        rotated = null;
+        last = null;
 //        Pipe[] sources = sink.getSources();
 //        for (Pipe src : sources) {
 //            sink.removeSource(src);
@@ -301,35 +336,96 @@ class SWPlayer implements Player {
 
     private void updateOnly() {
         rendering = false;
-//        fireListeners();
-        sink.process(surface, time, rendering);
+        SWSurface surface = acquireSurface();
+        try {
+            sink.process(surface, time, rendering);
+        } finally {
+            freeQueue.offer(surface);
+        }
     }
 
     private void updateAndRender() {
         rendering = true;
-//        fireListeners();
-        Graphics2D g2d = (Graphics2D) bs.getDrawGraphics();
+        SWSurface surface = acquireSurface();
         try {
             sink.process(surface, time, rendering);
+        } catch (Exception exception) {
+            LOG.log(Level.WARNING, "Exception in render", exception);
+            freeQueue.offer(surface);
+            return;
+        }
+        while (!presentQueue.offer(surface)) {
+            SWSurface stale = presentQueue.poll();
+            if (stale != null) {
+                dropped++;
+                freeQueue.offer(stale);
+            }
+        }
+    }
+
+    // Find a surface to render into, dropping the oldest unpresented frame if
+    // the presenter has fallen behind. The surface shares the contents of the
+    // last rendered frame (copy on write) so the graph sees the same output
+    // surface contents as with a single buffer.
+    private SWSurface acquireSurface() {
+        SWSurface surface = freeQueue.poll();
+        while (surface == null) {
+            surface = presentQueue.poll();
+            if (surface != null) {
+                dropped++;
+            } else {
+                try {
+                    surface = freeQueue.poll(1, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException ex) {
+                }
+            }
+        }
+        if (last != null && last != surface) {
+            surface.copy(last);
+        }
+        last = surface;
+        return surface;
+    }
+
+    private void present() {
+        while (true) {
+            SWSurface surface;
+            try {
+                surface = presentQueue.take();
+            } catch (InterruptedException ex) {
+                return;
+            }
+            try {
+                show(surface);
+                presented++;
+            } finally {
+                freeQueue.offer(surface);
+            }
+        }
+    }
+
+    private void show(SWSurface surface) {
+        Graphics2D g2d = (Graphics2D) bs.getDrawGraphics();
+        try {
             switch (outputRotation) {
                 case 0:
                     surface.draw(g2d, 0, 0, outputWidth, outputHeight);
                     break;
                 case 90:
-                    rotated.process(SWTransform.ROTATE_90, surface);
+                    rotate(SWTransform.ROTATE_90, surface);
                     rotated.draw(g2d, 0, 0, outputHeight, outputWidth);
                     break;
                 case 180:
-                    rotated.process(SWTransform.ROTATE_180, surface);
+                    rotate(SWTransform.ROTATE_180, surface);
                     rotated.draw(g2d, 0, 0, outputWidth, outputHeight);
                     break;
                 case 270:
-                    rotated.process(SWTransform.ROTATE_270, surface);
+                    rotate(SWTransform.ROTATE_270, surface);
                     rotated.draw(g2d, 0, 0, outputHeight, outputWidth);
                     break;
             }
         } catch (Exception exception) {
-            LOG.log(Level.WARNING, "Exception in render", exception);
+            LOG.log(Level.WARNING, "Exception in presenter", exception);
             g2d.dispose();
             return;
         }
@@ -340,6 +436,16 @@ class SWPlayer implements Player {
         g2d.dispose();
     }
 
+    // never read a clear surface here, as that would allocate its data
+    // outside of the render thread
+    private void rotate(SWTransform op, SWSurface surface) {
+        if (surface.isClear()) {
+            rotated.clear();
+        } else {
+            rotated.process(op, surface);
+        }
+    }
+
     private void fireListeners() {
         int count = listeners.size();
         for (int i = 0; i < count; i++) {
@@ -26,6 +26,7 @@ import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.util.logging.Logger;
 import org.praxislive.video.render.PixelData;
+import org.praxislive.video.render.ReadOnlyOp;
 import org.praxislive.video.render.Surface;
 import org.praxislive.video.render.SurfaceOp;
 import org.praxislive.video.render.ops.Blit;
@@ -50,6 +51,10 @@ class SWSurface extends Surface {
 
     @Override
     public void process(SurfaceOp op, Surface... inputs) {
+        if (inputs.length == 0 && op instanceof ReadOnlyOp) {
+            op.process(getReadableData(), EMPTY_DATA);
+            return;
+        }
         modCount++;
         switch (inputs.length) {
             case 0:
@@ -71,6 +76,10 @@ class SWSurface extends Surface {
         return sd;
     }
 
+    PixelData getPixelData() {
+        return getReadableData();
+    }
+
     private SWSurfaceData getWritableData() {
         if (sd == null) {
             sd = SWSurfaceData.createSurfaceData(this, getWidth(), getHeight(), hasAlpha(), clear);
@@ -0,0 +1,257 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.impl.components.blob;
+
+import java.util.Arrays;
+import org.praxislive.video.render.PixelData;
+import org.praxislive.video.render.utils.Tiles;
+
+/**
+ * Two-pass connected component labeller (4-connected) using union-find.
+ * Thresholding and provisional labelling run on horizontal bands in parallel,
+ * with labels merged across band edges afterwards. Labels are pixel indices,
+ * and every pixel links to a lower index, so the root of each component is
+ * its first pixel in raster order - components are numbered in the same
+ * order as a raster scan flood fill would find them.
+ *
+ * @author Neil C Smith
+ */
+class BlobLabeller {
+
+    private int width;
+    private int height;
+    private int wordsPerRow;
+    private long[] bits;
+    private int[] parent;
+    private boolean[] bandStart;
+
+    private int count;
+    private int[] pixelCount;
+    private int[] minX, maxX, minY, maxY;
+
+    BlobLabeller() {
+        bits = new long[0];
+        parent = new int[0];
+        bandStart = new boolean[0];
+        pixelCount = new int[16];
+        minX = new int[16];
+        maxX = new int[16];
+        minY = new int[16];
+        maxY = new int[16];
+    }
+
+    void label(PixelData pd, int threshold) {
+        resize(pd.getWidth(), pd.getHeight());
+        int[] pixels = pd.getData();
+        int offset = pd.getOffset();
+        int scanline = pd.getScanline();
+        Arrays.fill(bandStart, false);
+        Tiles.process(width, height, (start, end) -> {
+            bandStart[start] = true;
+            labelRows(pixels, offset, scanline, threshold, start, end);
+        });
+        for (int y = 1; y < height; y++) {
+            if (bandStart[y]) {
+                mergeRow(y);
+            }
+        }
+        collect();
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    int getPixelCount(int component) {
+        return pixelCount[component];
+    }
+
+    int getMinX(int component) {
+        return minX[component];
+    }
+
+    int getMaxX(int component) {
+        return maxX[component];
+    }
+
+    int getMinY(int component) {
+        return minY[component];
+    }
+
+    int getMaxY(int component) {
+        return maxY[component];
+    }
+
+    long[] getBits() {
+        return bits;
+    }
+
+    int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    boolean isSet(int x, int y) {
+        return (bits[y * wordsPerRow + (x >> 6)] & (1L << x)) != 0;
+    }
+
+    private void resize(int w, int h) {
+        if (w == width && h == height) {
+            return;
+        }
+        width = w;
+        height = h;
+        wordsPerRow = (w + 63) >> 6;
+        bits = new long[wordsPerRow * h];
+        parent = new int[w * h];
+        bandStart = new boolean[h];
+    }
+
+    private void labelRows(int[] pixels, int offset, int scanline,
+            int threshold, int start, int end) {
+        int[] parent = this.parent;
+        long[] bits = this.bits;
+        int w = width;
+        for (int y = start; y < end; y++) {
+            int srcRow = y * scanline + offset;
+            int row = y * w;
+            int wordRow = y * wordsPerRow;
+            boolean up = y > start;
+            long word = 0;
+            boolean left = false;
+            for (int x = 0; x < w; x++) {
+                boolean set = (pixels[srcRow + x] & 0xFF) > threshold;
+                if (set) {
+                    word |= 1L << x;
+                    int i = row + x;
+                    boolean above = up
+                            && (bits[wordRow - wordsPerRow + (x >> 6)] & (1L << x)) != 0;
+                    if (left) {
+                        parent[i] = i - 1;
+                        if (above) {
+                            union(parent, i - 1, i - w);
+                        }
+                    } else if (above) {
+                        parent[i] = i - w;
+                    } else {
+                        parent[i] = i;
+                    }
+                }
+                left = set;
+                if ((x & 63) == 63) {
+                    bits[wordRow + (x >> 6)] = word;
+                    word = 0;
+                }
+            }
+            if ((w & 63) != 0) {
+                bits[wordRow + wordsPerRow - 1] = word;
+            }
+        }
+    }
+
+    private void mergeRow(int y) {
+        int wordRow = y * wordsPerRow;
+        int row = y * width;
+        for (int word = 0; word < wordsPerRow; word++) {
+            long both = bits[wordRow + word] & bits[wordRow - wordsPerRow + word];
+            while (both != 0) {
+                int x = (word << 6) + Long.numberOfTrailingZeros(both);
+                union(parent, row + x, row + x - width);
+                both &= both - 1;
+            }
+        }
+    }
+
+    private void collect() {
+        // roots are visited before the rest of their component, so each root
+        // is marked with its encoded component number and every other pixel
+        // is pointed directly at its root
+        count = 0;
+        int[] parent = this.parent;
+        for (int y = 0; y < height; y++) {
+            int wordRow = y * wordsPerRow;
+            int row = y * width;
+            for (int word = 0; word < wordsPerRow; word++) {
+                long b = bits[wordRow + word];
+                while (b != 0) {
+                    int x = (word << 6) + Long.numberOfTrailingZeros(b);
+                    b &= b - 1;
+                    int i = row + x;
+                    int p = parent[i];
+                    int c;
+                    if (p == i) {
+                        c = addComponent(x, y);
+                        parent[i] = -c - 1;
+                        continue;
+                    }
+                    int root = parent[p] < 0 ? p : parent[p];
+                    parent[i] = root;
+                    c = -parent[root] - 1;
+                    pixelCount[c]++;
+                    if (x < minX[c]) {
+                        minX[c] = x;
+                    } else if (x > maxX[c]) {
+                        maxX[c] = x;
+                    }
+                    if (y > maxY[c]) {
+                        maxY[c] = y;
+                    }
+                }
+            }
+        }
+    }
+
+    private int addComponent(int x, int y) {
+        if (count == pixelCount.length) {
+            int size = count * 2;
+            pixelCount = Arrays.copyOf(pixelCount, size);
+            minX = Arrays.copyOf(minX, size);
+            maxX = Arrays.copyOf(maxX, size);
+            minY = Arrays.copyOf(minY, size);
+            maxY = Arrays.copyOf(maxY, size);
+        }
+        int c = count++;
+        pixelCount[c] = 1;
+        minX[c] = maxX[c] = x;
+        minY[c] = maxY[c] = y;
+        return c;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            int p = parent[parent[i]];
+            parent[i] = p;
+            i = p;
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a);
+        int rb = find(parent, b);
+        if (ra < rb) {
+            parent[rb] = ra;
+        } else if (rb < ra) {
+            parent[ra] = rb;
+        }
+    }
+
+}
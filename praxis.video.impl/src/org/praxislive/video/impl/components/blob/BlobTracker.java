@@ -35,7 +35,7 @@ import org.praxislive.video.impl.VideoOutputPortEx;
 import org.praxislive.video.pipes.impl.SingleInOut;
 import org.praxislive.video.render.PixelData;
 import org.praxislive.video.render.Surface;
-import org.praxislive.video.render.SurfaceOp;
+import org.praxislive.video.render.ReadOnlyOp;
 import org.praxislive.video.render.ops.GraphicsOp;
 import org.praxislive.video.render.ops.RectFill;
 
@@ -82,7 +82,7 @@ public class BlobTracker extends AbstractClockComponent {
         height.send(time, heightd);
     }
 
-    private class BlobPipe extends SingleInOut implements SurfaceOp {
+    private class BlobPipe extends SingleInOut implements ReadOnlyOp {
 
         public void process(Surface surface, boolean rendering) {
 
@@ -121,9 +121,16 @@ public class BlobTracker extends AbstractClockComponent {
             }
         }
 
+        @Override
         public void process(PixelData output, PixelData... inputs) {
             imageBlobs.calc(output);
         }
 
+        @Override
+        public boolean requiresCurrentFrame() {
+            // tracking can lag a frame, unless drawing debug over the image
+            return debug.getValue();
+        }
+
     }
 }
@@ -25,6 +25,7 @@
 package org.praxislive.video.impl.components.blob;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import org.praxislive.video.render.PixelData;
 
@@ -41,7 +42,11 @@ class ImageBlobs {
     public int lifetime = 100;// 1000;
     public int ninpix = 100;
     public int maxpix = Integer.MAX_VALUE;// 250*250;//10000;
-    public boolean[] imagemap = null;
+    private final BlobLabeller labeller = new BlobLabeller();
+    private float gridcell;
+    private int gridcols, gridrows;
+    private int[] gridhead = new int[0];
+    private int[] gridnext = new int[0];
     public boolean imagemaplit = false;
     public int w, h;// , w2, h2;
     public float wr, hr;
@@ -157,105 +162,34 @@ class ImageBlobs {
     void calc(PixelData pd) {
         int width = pd.getWidth();
         int height = pd.getHeight();
-        int offset = pd.getOffset();
-        int scanline = pd.getScanline();
         int threshold = 127;
         if (width != this.w || height != this.h) {
             calcdims(width, height, width, height);
         }
-        int min0 = 10000;
-        int max0 = -100;
-        Pt2 p = new Pt2();
-        Pt2 p2 = new Pt2();
-        int pixelcount = 0;
-        ABlob b = new ABlob();
         copy_blobs_to_previousblobs();
-        thecoords.clear();
-
-        imagemap = new boolean[numpix];
-        int[] pixels = pd.getData();
-        for (int j = 0; j < height; j++) {
-            int rowLoc = (j * scanline) + offset;
-            for (int i = 0; i < width; i++) {
-                if (((pixels[rowLoc + i]) & 0xFF) > threshold) {
-                    if (i < min0) {
-                        min0 = i;
-                    } else if (i > max0) {
-                        max0 = i;
-                    }
-                    if (imagemap[(j * width) + i] == false) {
-                        p.x = i;
-                        p.y = j;
-                        thecoords.add(p);
-                        pixelcount = 0;
-                        b.boxminx = i;
-                        b.boxmaxx = i;
-                        b.boxminy = j;
-                        b.boxmaxy = j;
-                        while (!thecoords.isEmpty()) {
-                            p2 = thecoords.remove(0);
-                            if ((p2.x >= 0) && (p2.x < width)
-                                    && (p2.y >= 0) && (p2.y < height)) {
-                                if (imagemap[(p2.y * width) + p2.x] == false) {
-                                    int pixval2 = (pixels[(p2.y
-                                            * scanline) + p2.x + offset]) & 0xFF;
-                                    if (pixval2 > threshold) {
-                                        imagemap[p2.y * width + p2.x] = true;
-                                        pixelcount++;
-                                        p = new Pt2(p2.x, p2.y + 1);
-                                        thecoords.add(p);
-                                        p = new Pt2(p2.x, p2.y - 1);
-                                        thecoords.add(p);
-                                        p = new Pt2(p2.x + 1, p2.y);
-                                        thecoords.add(p);
-                                        p = new Pt2(p2.x - 1, p2.y);
-                                        thecoords.add(p);
-                                        if (p2.x < b.boxminx) {
-                                            b.boxminx = p2.x;
-                                        }
-                                        if (p2.x > b.boxmaxx) {
-                                            b.boxmaxx = p2.x;
-                                        }
-                                        if (p2.y < b.boxminy) {
-                                            b.boxminy = p2.y;
-                                        }
-                                        if (p2.y > b.boxmaxy) {
-                                            b.boxmaxy = p2.y;
-                                        }
-                                    }
-                                }
-                            }
-                        }
-
-                        if (pixelcount >= ninpix && pixelcount <= maxpix) {
-                            b.id = numblobs;
-                            b.pixelcount = pixelcount;
-                            b.boxcenterx = (int) ((b.boxminx + b.boxmaxx) * 0.5);
-                            b.boxcentery = (int) ((b.boxminy + b.boxmaxy) * 0.5);
-                            b.boxdimx = b.boxmaxx - b.boxminx;
-                            b.boxdimy = b.boxmaxy - b.boxminy;
-                            b.cx = b.boxcenterx * wcoordsx;
-                            b.cy = b.boxcentery * wcoordsy;
-                            b.dimx = ((b.boxmaxx - b.boxminx) * wcoordsx);
-                            b.dimy = ((b.boxmaxy - b.boxminy) * wcoordsy);
-//							if (tflob.getAnyFeatureActive()) {
-//								if (tflob.trackfeatures[0])
-//									b = calc_feature_head(b);
-//								if (tflob.trackfeatures[1]) {
-//									b = calc_feature_arms(b);
-//								}
-//								if (tflob.trackfeatures[2])
-//									b = calc_feature_feet(b);
-//								if (tflob.trackfeatures[3])
-//									b = calc_feature_bottom(b);
-//							}
 
-                            ABlob blob = new ABlob(b);
-                            theblobs.add(blob);
-                            numblobs++;
-                        }
-                    }
-                }
+        labeller.label(pd, threshold);
+        ABlob b = new ABlob();
+        for (int c = 0, count = labeller.getCount(); c < count; c++) {
+            int pixelcount = labeller.getPixelCount(c);
+            if (pixelcount >= ninpix && pixelcount <= maxpix) {
+                b.boxminx = labeller.getMinX(c);
+                b.boxmaxx = labeller.getMaxX(c);
+                b.boxminy = labeller.getMinY(c);
+                b.boxmaxy = labeller.getMaxY(c);
+                b.id = numblobs;
+                b.pixelcount = pixelcount;
+                b.boxcenterx = (int) ((b.boxminx + b.boxmaxx) * 0.5);
+                b.boxcentery = (int) ((b.boxminy + b.boxmaxy) * 0.5);
+                b.boxdimx = b.boxmaxx - b.boxminx;
+                b.boxdimy = b.boxmaxy - b.boxminy;
+                b.cx = b.boxcenterx * wcoordsx;
+                b.cy = b.boxcentery * wcoordsy;
+                b.dimx = ((b.boxmaxx - b.boxminx) * wcoordsx);
+                b.dimy = ((b.boxmaxy - b.boxminy) * wcoordsy);
+                ABlob blob = new ABlob(b);
+                theblobs.add(blob);
+                numblobs++;
             }
         }
     }
@@ -346,7 +280,7 @@ class ImageBlobs {
         // System.out.print("error testimagemap " + x + " " + y + "\n" + e
         // + "\n");
         // }
-        return imagemap[y * w + x];
+        return labeller.isSet(x, y);
 
     }
 
@@ -968,37 +902,67 @@ class ImageBlobs {
 
     }
 
-    boolean matchblobprevtrackedblobs(ABlob ab) {
+    // previous tracked blobs are bucketed into a grid with cells at least as
+    // large as the match distance, so only neighbouring cells are searched.
+    // Ties go to the highest index, as in the original reverse linear search.
+    void buildtrackinggrid() {
+        float range = Math.min(trackingmindist, 10000);
+        gridcell = range > 1 ? (float) Math.sqrt(range) : 1;
+        gridcols = (int) (worldw / gridcell) + 1;
+        gridrows = (int) (worldh / gridcell) + 1;
+        int cells = gridcols * gridrows;
+        if (gridhead.length < cells) {
+            gridhead = new int[cells];
+        }
+        Arrays.fill(gridhead, 0, cells, -1);
+        int count = prevtrackedblobs.size();
+        if (gridnext.length < count) {
+            gridnext = new int[count];
+        }
+        for (int i = 0; i < count; i++) {
+            TrackedBlob prev = prevtrackedblobs.get(i);
+            int cell = gridy(prev.cy) * gridcols + gridx(prev.cx);
+            gridnext[i] = gridhead[cell];
+            gridhead[cell] = i;
+        }
+    }
 
-        boolean matched = false;
-        float mintrackeddist = 10000;
-        int who = -1;
-        float mindist = trackingmindist;// 1000;///2500;//1000; //
-        // float vx0=0f;
-        // float vy=0f;
+    private int gridx(float x) {
+        return Math.max(0, Math.min(gridcols - 1, (int) Math.floor(x / gridcell)));
+    }
 
-        for (int i = prevtrackedblobs.size() - 1; i >= 0; i--) {
+    private int gridy(float y) {
+        return Math.max(0, Math.min(gridrows - 1, (int) Math.floor(y / gridcell)));
+    }
 
-            TrackedBlob prev = prevtrackedblobs.get(i);
-            if (prev.linked) {
-                continue;
-            }
+    boolean matchblobprevtrackedblobs(ABlob ab) {
 
-            float dx = ab.cx - prev.cx;
-            float dy = ab.cy - prev.cy;
-            float d2 = dx * dx + dy * dy;
-            if (d2 < mindist && d2 < mintrackeddist) {
-                mintrackeddist = d2;
-                who = i;
-                matched = true;
-                // vx0=dx;
-                // vy=dy;
+        float mintrackeddist = Math.min(trackingmindist, 10000);
+        int who = -1;
+        int gx = gridx(ab.cx);
+        int gy = gridy(ab.cy);
+
+        for (int cy = Math.max(0, gy - 1); cy <= Math.min(gridrows - 1, gy + 1); cy++) {
+            for (int cx = Math.max(0, gx - 1); cx <= Math.min(gridcols - 1, gx + 1); cx++) {
+                for (int i = gridhead[cy * gridcols + cx]; i >= 0; i = gridnext[i]) {
+                    TrackedBlob prev = prevtrackedblobs.get(i);
+                    if (prev.linked) {
+                        continue;
+                    }
+                    float dx = ab.cx - prev.cx;
+                    float dy = ab.cy - prev.cy;
+                    float d2 = dx * dx + dy * dy;
+                    if (d2 < mintrackeddist || (d2 == mintrackeddist && i > who && who >= 0)) {
+                        mintrackeddist = d2;
+                        who = i;
+                    }
+                }
             }
         }
 
+        boolean matched = who >= 0;
         if (matched) {
-            // System.out.print("matched blob "+who+ "\n");
-            TrackedBlob b = prevtrackedblobs.remove(who);
+            TrackedBlob b = prevtrackedblobs.get(who);
             b.linked = true;
             b.newblob = false;
             b.presencetime++;
@@ -1052,6 +1016,8 @@ class ImageBlobs {
 
     void compareblobsprevblobs() {
 
+        buildtrackinggrid();
+
         for (int i = 0; i < theblobs.size(); i++) {
 
             ABlob ab = (theblobs.get(i));
@@ -1063,6 +1029,9 @@ class ImageBlobs {
 
         }
 
+        // matched blobs are removed once all indices in the grid are done with
+        prevtrackedblobs.removeIf(tb -> tb.linked);
+
     }
 
     void doremoveprevblobs() {
@@ -1136,7 +1105,7 @@ class ImageBlobs {
                         && y < b.boxmaxy) {
                     // inside a box; if is true, return, else keep searching
                     // blobs
-                    if (imagemap[y * w + x]) {
+                    if (testimagemap(x, y)) {
                         return true;
                     }
                 }
@@ -1175,7 +1144,7 @@ class ImageBlobs {
                 float d0 = dx0 * dx0 + dy0 * dy0;
                 float minsdist = rad * rad + b.rad2;
 
-                if (d0 < minsdist && imagemap[((int) y * w + (int) x)]) {
+                if (d0 < minsdist && testimagemap((int) x, (int) y)) {
                     // compute normalized vector from close to center
                     float nvx = b.boxcenterx - closex;
                     float nvy = b.boxcentery - closey;
@@ -1235,7 +1204,7 @@ class ImageBlobs {
                 float dy0 = closey - y;
                 float d0 = dx0 * dx0 + dy0 * dy0;
                 float minsdist = rad * rad + b.rad2;
-                if (d0 < minsdist && imagemap[(int) (y * w + x)]) {
+                if (d0 < minsdist && testimagemap((int) x, (int) y)) {
                     // compute normalized vector from close to center
                     float nvx = b.boxcenterx - closex;
                     float nvy = b.boxcentery - closey;
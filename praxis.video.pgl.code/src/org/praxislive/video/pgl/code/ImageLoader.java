@@ -35,7 +35,7 @@ import org.praxislive.code.ResourceProperty;
 import org.praxislive.video.pgl.PGLContext;
 import org.praxislive.video.pgl.code.userapi.PImage;
 import org.praxislive.video.render.Surface;
-import org.praxislive.video.render.utils.BufferedImageSurface;
+import org.praxislive.video.render.utils.ImageCache;
 
 /**
  *
@@ -51,7 +51,7 @@ class ImageLoader extends ResourceProperty.Loader<PImage> {
 
     @Override
     public PImage load(URI uri) throws IOException {
-        Surface s = BufferedImageSurface.load(uri);
+        Surface s = ImageCache.load(uri);
         return new PImageImpl(s);
     }
 
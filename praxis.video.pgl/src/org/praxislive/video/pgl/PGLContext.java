@@ -21,6 +21,8 @@
  */
 package org.praxislive.video.pgl;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -65,12 +67,17 @@ public final class PGLContext {
     private final int width;
     private final int height;
     private final int cacheMax = 8;
+    private final int readbackBuffers
+            = Math.max(2, Integer.getInteger("praxis.video.pgl.readbackbuffers", 3));
     private final PGLOpCache opCache;
     private final FontCache fontCache;
-    private final List<PGLGraphics> cache;
+    private final PGLGraphicsPool graphicsPool;
     private final List<AlienImageReference> aliens;
+    private final List<PGLTexture> alienTextures;
     private final WeakHashMap<PGLSurface, Boolean> surfaces;
     private final WeakHashMap<PShape, PShapeOpenGL> shapes;
+    private final List<ReadbackReference> readbacks;
+    private final ReferenceQueue<PGLSurface> readbackQueue;
     private final ReadPixelsOp readOp;
     private final PImage CLEAR_RGB;
     private final PImage CLEAR_ARGB;
@@ -82,10 +89,13 @@ public final class PGLContext {
         this.profile = profile;
         this.width = width;
         this.height = height;
-        cache = new ArrayList<>(cacheMax);
+        graphicsPool = new PGLGraphicsPool(this, width, height);
         aliens = new ArrayList<>(cacheMax);
+        alienTextures = new ArrayList<>(cacheMax);
         surfaces = new WeakHashMap<>();
         shapes = new WeakHashMap<>();
+        readbacks = new ArrayList<>();
+        readbackQueue = new ReferenceQueue<>();
         readOp = new ReadPixelsOp();
         CLEAR_RGB = new PImage(width, height, PImage.RGB);
         CLEAR_ARGB = new PImage(width, height, PImage.ARGB);
@@ -157,35 +167,53 @@ public final class PGLContext {
         return (PGLJOGL) primary().pgl;
     }
 
-    PGLGraphics acquireGraphics(int width, int height) {
-        PGLGraphics pgl = null;
-        for (int i = 0; i < cache.size(); i++) {
-            PGLGraphics g = cache.get(i);
-            if (g.width == width && g.height == height) {
-                pgl = g;
-                cache.remove(i);
+    PGLReadback createReadback(PGLSurface owner, int width, int height) {
+        expungeReadbacks();
+        PGLJOGL pgl = getPGL();
+        if (!pgl.isAsyncReadbackSupported()) {
+            return null;
+        }
+        PGLReadback readback = new PGLReadback(pgl, width, height, readbackBuffers);
+        readbacks.add(new ReadbackReference(owner, readback, readbackQueue));
+        return readback;
+    }
+
+    void releaseReadback(PGLReadback readback) {
+        for (int i = 0; i < readbacks.size(); i++) {
+            if (readbacks.get(i).readback == readback) {
+                readbacks.remove(i);
+                readback.dispose();
                 break;
             }
         }
-        if (pgl != null) {
-            return pgl;
-        }
-        while (cache.size() >= cacheMax) {
-            LOG.log(Level.FINE, "Trimming graphics cache");
-            cache.remove(cache.size() - 1).dispose();
+        expungeReadbacks();
+    }
+
+    // dispose readbacks of surfaces that have been garbage collected
+    private void expungeReadbacks() {
+        Reference<? extends PGLSurface> ref;
+        while ((ref = readbackQueue.poll()) != null) {
+            if (readbacks.remove(ref)) {
+                ((ReadbackReference) ref).readback.dispose();
+            }
         }
-        LOG.log(Level.FINE, "Creating new graphics of size {0}x{1}", new Object[]{width, height});
-        pgl = createGraphics(width, height);
-        return pgl;
+    }
+
+    PGLGraphics acquireGraphics(int width, int height) {
+        return graphicsPool.acquire(width, height);
     }
 
     void releaseGraphics(PGLGraphics pgl) {
-        pgl.endDraw();
-        while (cache.size() >= cacheMax) {
-            LOG.log(Level.FINE, "Trimming graphics cache");
-            cache.remove(cache.size() - 1).dispose();
-        }
-        cache.add(0, pgl);
+        graphicsPool.release(pgl);
+    }
+
+    /**
+     * Access the pool of offscreen graphics used by surfaces, for statistics.
+     *
+     * @return graphics pool
+     */
+    public PGLGraphicsPool getGraphicsPool() {
+        return graphicsPool;
     }
 
     void writePixels(int[] data, boolean alpha, Texture tex) {
@@ -216,12 +244,19 @@ public final class PGLContext {
     }
 
     private void writePixelsARGB(IntBuffer data, Texture tex) {
+        writePixelsARGB(data, tex.width, tex);
+    }
+
+    private void writePixelsARGB(IntBuffer data, int scanline, Texture tex) {
         PGL pgl = ((PGLGraphics) primary()).pgl;
         boolean enabledTex = false;
         if (!pgl.isEnabled(tex.glTarget)) {
             pgl.enable(tex.glTarget);
             enabledTex = true;
         }
+        if (scanline != tex.width) {
+            pgl.pixelStorei(GL2.GL_UNPACK_ROW_LENGTH, scanline);
+        }
         pgl.bindTexture(tex.glTarget, tex.glName);
         pgl.texSubImage2D(tex.glTarget,
                 0,
@@ -232,6 +267,9 @@ public final class PGLContext {
                 GL2.GL_BGRA,
                 GL2.GL_UNSIGNED_INT_8_8_8_8_REV,
                 data);
+        if (scanline != tex.width) {
+            pgl.pixelStorei(GL2.GL_UNPACK_ROW_LENGTH, 0);
+        }
         if (tex.usingMipmaps() && PGraphicsOpenGL.autoMipmapGenSupported) {
             pgl.generateMipmap(tex.glTarget);
         }
@@ -269,6 +307,27 @@ public final class PGLContext {
         tex.updateTexels();
     }
 
+    // convert native ARGB straight into the scratch buffer for GLES2, avoiding
+    // an intermediate int[]
+    private void writeNativePixelsRGBA(IntBuffer nativeData, PixelData output, Texture tex) {
+        int w = output.getWidth();
+        int h = output.getHeight();
+        int sl = output.getScanline();
+        int offset = output.getOffset();
+        int alphaMask = output.hasAlpha() ? 0 : 0xFF000000;
+        IntBuffer buffer = getScratchBuffer(w * h);
+        for (int y = 0; y < h; y++) {
+            int idx = offset + y * sl;
+            for (int x = 0; x < w; x++) {
+                int color = nativeData.get(idx + x) | alphaMask;
+                int rb = color & 0x00FF00FF;
+                buffer.put((color & 0xFF00FF00) | (rb << 16) | (rb >> 16));
+            }
+        }
+        buffer.rewind();
+        writePixelsRGBA(buffer, tex);
+    }
+
     IntBuffer getScratchBuffer(int size) {
         if (scratchBuffer == null || scratchBuffer.capacity() < size) {
             scratchBuffer = ByteBuffer.allocateDirect(size * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
@@ -284,7 +343,7 @@ public final class PGLContext {
             Surface s = r.alien.get();
             if (s == null) {
                 LOG.fine("Releasing alien image");
-//                release(r.region.texture);
+                releaseAlienTexture(r.image);
                 aliens.remove(i);
             } else if (s == alien) {
                 LOG.fine("Found cached alien image");
@@ -322,17 +381,37 @@ public final class PGLContext {
     }
 
     private PGLTexture createAlienTexture(int width, int height, boolean alpha) {
+        int format = !alpha && profile != PGLProfile.GLES2 ? PConstants.RGB : PConstants.ARGB;
+        for (int i = 0; i < alienTextures.size(); i++) {
+            PGLTexture tex = alienTextures.get(i);
+            if (tex.width == width && tex.height == height
+                    && tex.getParameters().format == format) {
+                LOG.fine("Reusing pooled alien texture");
+                alienTextures.remove(i);
+                return tex;
+            }
+        }
         Texture.Parameters params = new Texture.Parameters();
         params.mipmaps = false;
-        if (!alpha && profile != PGLProfile.GLES2) {
-            params.format = PConstants.RGB;
-        }
+        params.format = format;
         PGLTexture texture = new PGLTexture(primary(), width, height, params);
 //        texture.invertedY(true);
 //        texture.colorBuffer(true);
         return texture;
     }
 
+    private void releaseAlienTexture(PImage image) {
+        Object cached = primary().getCache(image);
+        primary().removeCache(image);
+        if (cached instanceof PGLTexture && !((PGLTexture) cached).contextIsOutdated()) {
+            while (alienTextures.size() >= cacheMax) {
+                LOG.fine("Disposing evicted alien texture");
+                alienTextures.remove(alienTextures.size() - 1).dispose();
+            }
+            alienTextures.add(0, (PGLTexture) cached);
+        }
+    }
+
     private PImage wrapAlienTexture(Texture tex) {
         PImage img = new PImage();
         //img.parent = parent;
@@ -351,8 +430,24 @@ public final class PGLContext {
 //            graphics.dispose();
 //        }
         opCache.dispose();
-        cache.clear();
+        readbacks.forEach(ref -> ref.readback.dispose());
+        readbacks.clear();
+        LOG.log(Level.FINE, "Disposing context : {0}", graphicsPool);
+        graphicsPool.clear();
         aliens.clear();
+        alienTextures.clear();
+    }
+
+    private static class ReadbackReference extends WeakReference<PGLSurface> {
+
+        private final PGLReadback readback;
+
+        private ReadbackReference(PGLSurface owner, PGLReadback readback,
+                ReferenceQueue<PGLSurface> queue) {
+            super(owner, queue);
+            this.readback = readback;
+        }
+
     }
 
     private static class AlienImageReference {
@@ -388,13 +483,15 @@ public final class PGLContext {
         @Override
         public void process(PixelData output, PixelData... inputs) {
             LOG.fine("Reading Pixel Data");
-            if (output instanceof NativePixelData && output.getScanline() == output.getWidth()) {
+            if (output instanceof NativePixelData) {
                 LOG.fine("PixelData is native");
                 NativePixelData nOut = (NativePixelData) output;
+                IntBuffer nativeData = nOut.getNativeData().asIntBuffer();
+                nativeData.position(output.getOffset());
                 if (profile != PGLProfile.GLES2) {
-                    writePixelsARGB(nOut.getNativeData().asIntBuffer(), texture);
+                    writePixelsARGB(nativeData.slice(), output.getScanline(), texture);
                 } else {
-                    writePixels(output.getData(), output.hasAlpha(), texture);
+                    writeNativePixelsRGBA(nativeData, output, texture);
                 }
 
             } else if (output.getScanline() == output.getWidth() && output.getOffset() == 0) {
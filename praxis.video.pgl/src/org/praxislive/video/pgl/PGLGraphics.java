@@ -91,6 +91,18 @@ public class PGLGraphics extends PGraphics2D {
 
     }
 
+    void readPixelsARGB(PGLReadback readback, int[] pixels) {
+        if (drawing) {
+            flush();
+        }
+        beginPixelsOp(OP_READ);
+        try {
+            readback.read(pixels);
+        } finally {
+            endPixelsOp();
+        }
+    }
+
     @Override
     protected void blendModeImpl() {
         if (blendMode != lastBlendMode
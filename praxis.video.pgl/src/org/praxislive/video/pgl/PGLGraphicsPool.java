@@ -0,0 +1,159 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.pgl;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pool of offscreen graphics (FBO and texture) for reuse by surfaces, keyed
+ * by size. All graphics share the same RGBA texture format. Released graphics
+ * are retained up to a limit on texture memory, evicting the least recently
+ * released first. The limit in megabytes can be set using the system
+ * property <code>praxis.video.pgl.poolsize</code> - by default it is enough
+ * for eight buffers at output size.
+ * <p>
+ * Pools are only accessed on the GL thread.
+ *
+ * @author Neil C Smith
+ */
+public final class PGLGraphicsPool {
+
+    private final static Logger LOG = Logger.getLogger(PGLGraphicsPool.class.getName());
+
+    private final PGLContext context;
+    private final long maxRetainedBytes;
+    private final Map<Long, ArrayDeque<PGLGraphics>> free;
+    private final LinkedHashSet<PGLGraphics> released;
+
+    private long retainedBytes;
+    private long allocations;
+    private long reuses;
+    private long evictions;
+
+    PGLGraphicsPool(PGLContext context, int width, int height) {
+        this.context = context;
+        long size = Integer.getInteger("praxis.video.pgl.poolsize", 0) * 1024L * 1024L;
+        this.maxRetainedBytes = size > 0 ? size : 8 * bytes(width, height);
+        free = new HashMap<>();
+        released = new LinkedHashSet<>();
+    }
+
+    PGLGraphics acquire(int width, int height) {
+        ArrayDeque<PGLGraphics> queue = free.get(key(width, height));
+        PGLGraphics pgl = queue == null ? null : queue.pollLast();
+        if (pgl != null) {
+            released.remove(pgl);
+            retainedBytes -= bytes(width, height);
+            reuses++;
+            return pgl;
+        }
+        LOG.log(Level.FINE, "Creating new graphics of size {0}x{1}", new Object[]{width, height});
+        allocations++;
+        return context.createGraphics(width, height);
+    }
+
+    void release(PGLGraphics pgl) {
+        pgl.endDraw();
+        long bytes = bytes(pgl.width, pgl.height);
+        if (bytes > maxRetainedBytes) {
+            evictions++;
+            pgl.dispose();
+            return;
+        }
+        free.computeIfAbsent(key(pgl.width, pgl.height), k -> new ArrayDeque<>()).add(pgl);
+        released.add(pgl);
+        retainedBytes += bytes;
+        Iterator<PGLGraphics> itr = released.iterator();
+        while (retainedBytes > maxRetainedBytes && itr.hasNext()) {
+            PGLGraphics eldest = itr.next();
+            itr.remove();
+            free.get(key(eldest.width, eldest.height)).remove(eldest);
+            retainedBytes -= bytes(eldest.width, eldest.height);
+            evictions++;
+            LOG.log(Level.FINE, "Evicting graphics of size {0}x{1}",
+                    new Object[]{eldest.width, eldest.height});
+            eldest.dispose();
+        }
+    }
+
+    void clear() {
+        free.clear();
+        released.clear();
+        retainedBytes = 0;
+    }
+
+    /**
+     * @return number of graphics created because none were free
+     */
+    public long getAllocations() {
+        return allocations;
+    }
+
+    /**
+     * @return number of graphics reused from the pool
+     */
+    public long getReuses() {
+        return reuses;
+    }
+
+    /**
+     * @return number of graphics disposed due to the size limit
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return texture bytes currently held by the pool
+     */
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    /**
+     * @return maximum texture bytes the pool will hold
+     */
+    public long getMaxRetainedBytes() {
+        return maxRetainedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "PGLGraphicsPool{allocations=" + allocations + ", reuses=" + reuses
+                + ", evictions=" + evictions + ", retainedBytes=" + retainedBytes + "}";
+    }
+
+    private static long key(int width, int height) {
+        return ((long) width << 32) | (height & 0xFFFFFFFFL);
+    }
+
+    private static long bytes(int width, int height) {
+        return 4L * width * height;
+    }
+
+}
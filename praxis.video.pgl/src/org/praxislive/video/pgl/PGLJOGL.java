@@ -59,6 +59,14 @@ class PGLJOGL extends PJOGL {
         return preprocessVertexSource(vertex, getGLSLVersion(), getGLSLVersionSuffix());
     }
 
+    boolean isAsyncReadbackSupported() {
+        return hasPBOs() && hasSynchronization();
+    }
+
+    static void toJavaARGB(int[] pixels, int width, int height) {
+        nativeToJavaARGB(pixels, width, height);
+    }
+
     private void disposeResources() {
         try {
             Field refListField = PGraphicsOpenGL.class.getDeclaredField("reachableWeakReferences");
@@ -0,0 +1,155 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.pgl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.concurrent.TimeUnit;
+import processing.opengl.PGL;
+
+/**
+ * Asynchronous pixel readback using a ring of pixel buffer objects. Each read
+ * queues a copy of the currently bound read framebuffer, which is left in
+ * flight, and returns the most recent earlier copy - usually the previous
+ * frame. Only the first read, when no earlier copy exists, waits for the
+ * current frame; its copy is then also returned by the following read.
+ *
+ * @author Neil C Smith
+ */
+class PGLReadback {
+
+    private final static long WAIT_TIMEOUT = TimeUnit.SECONDS.toNanos(1);
+
+    private final PGLJOGL pgl;
+    private final int width;
+    private final int height;
+    private final int count;
+    private final long[] fences;
+
+    private IntBuffer buffers;
+    private int head;
+    private int pending;
+
+    PGLReadback(PGLJOGL pgl, int width, int height, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.pgl = pgl;
+        this.width = width;
+        this.height = height;
+        this.count = count;
+        this.fences = new long[count];
+    }
+
+    /**
+     * Queue a read of the current read framebuffer, and copy the most recent
+     * earlier read into pixels as Java ARGB.
+     *
+     * @param pixels destination
+     */
+    void read(int[] pixels) {
+        int bytes = width * height * 4;
+        if (buffers == null) {
+            buffers = IntBuffer.allocate(count);
+            pgl.genBuffers(count, buffers);
+            for (int i = 0; i < count; i++) {
+                pgl.bindBuffer(PGL.PIXEL_PACK_BUFFER, buffers.get(i));
+                pgl.bufferData(PGL.PIXEL_PACK_BUFFER, bytes, null, PGL.STREAM_READ);
+            }
+        }
+
+        if (pending == count) {
+            // GPU is a full ring behind - drop the oldest read
+            release(oldest());
+        }
+        int current = head;
+        pgl.bindBuffer(PGL.PIXEL_PACK_BUFFER, buffers.get(current));
+        pgl.readPixels(0, 0, width, height, PGL.RGBA, PGL.UNSIGNED_BYTE, 0L);
+        fences[current] = pgl.fenceSync(PGL.SYNC_GPU_COMMANDS_COMPLETE, 0);
+        pgl.bindBuffer(PGL.PIXEL_PACK_BUFFER, 0);
+        head = (head + 1) % count;
+        pending++;
+
+        // find newest completed earlier read, leaving the current read pending
+        int ready = -1;
+        int earlier = pending - 1;
+        for (int i = 0, s = oldest(); i < earlier; i++, s = (s + 1) % count) {
+            if (isComplete(s)) {
+                ready = s;
+            }
+        }
+        if (ready < 0) {
+            // wait for the previous frame, or the current read if there is
+            // no earlier one (first read)
+            ready = earlier > 0 ? (current - 1 + count) % count : current;
+            pgl.flush();
+            pgl.clientWaitSync(fences[ready], 0, WAIT_TIMEOUT);
+        }
+        while (oldest() != ready) {
+            release(oldest());
+        }
+
+        pgl.bindBuffer(PGL.PIXEL_PACK_BUFFER, buffers.get(ready));
+        ByteBuffer data = pgl.mapBuffer(PGL.PIXEL_PACK_BUFFER, PGL.READ_ONLY);
+        if (data != null) {
+            data.order(ByteOrder.nativeOrder()).asIntBuffer().get(pixels, 0, width * height);
+            pgl.unmapBuffer(PGL.PIXEL_PACK_BUFFER);
+        }
+        pgl.bindBuffer(PGL.PIXEL_PACK_BUFFER, 0);
+        if (ready != current) {
+            release(ready);
+        }
+        // the current read is always left in flight for the next call
+        assert pending >= 1;
+        PGLJOGL.toJavaARGB(pixels, width, height);
+    }
+
+    void dispose() {
+        while (pending > 0) {
+            release(oldest());
+        }
+        if (buffers != null) {
+            buffers.rewind();
+            pgl.deleteBuffers(count, buffers);
+            buffers = null;
+        }
+    }
+
+    private int oldest() {
+        return (head - pending + count) % count;
+    }
+
+    private boolean isComplete(int slot) {
+        int status = pgl.clientWaitSync(fences[slot], 0, 0);
+        return status == PGL.ALREADY_SIGNALED || status == PGL.CONDITION_SATISFIED;
+    }
+
+    // release the fence of the oldest pending slot
+    private void release(int slot) {
+        assert slot == oldest();
+        pgl.deleteSync(fences[slot]);
+        fences[slot] = 0;
+        pending--;
+    }
+
+}
@@ -23,8 +23,10 @@ package org.praxislive.video.pgl;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.praxislive.video.pgl.ops.PGLBlendFusion;
 import org.praxislive.video.pgl.ops.PGLOp;
 import org.praxislive.video.render.PixelData;
+import org.praxislive.video.render.ReadOnlyOp;
 import org.praxislive.video.render.Surface;
 import org.praxislive.video.render.SurfaceOp;
 import org.praxislive.video.render.ops.Blit;
@@ -48,6 +50,8 @@ public final class PGLSurface extends Surface {
     private Data data;
     private boolean clear = true;
     private int modCount;
+    private PGLReadback readback;
+    private PGLBlendFusion.Chain pending;
 
     PGLSurface(PGLContext context, int width, int height, boolean alpha) {
         super(width, height, alpha);
@@ -57,7 +61,20 @@ public final class PGLSurface extends Surface {
 
     @Override
     public void process(SurfaceOp op, Surface... inputs) {
+        if (inputs.length == 0 && op instanceof ReadOnlyOp) {
+            processReadOnly((ReadOnlyOp) op);
+            return;
+        }
         modCount++;
+        PGLBlendFusion fusion = context.getOpCache().getFusion();
+        if (fusion != null && fusion.canFuse(op, this, inputs)) {
+            pending = fusion.record(pending, op, inputs[0]);
+            if (pending.isFull()) {
+                flushPending();
+            }
+            return;
+        }
+        flushPending();
         PGLOp glop = context.getOpCache().find(op);
         if (glop != null) {
             try {
@@ -72,6 +89,7 @@ public final class PGLSurface extends Surface {
     }
 
     public PGLGraphics getGraphics() {
+        flushPending();
         if (data == null) {
             LOG.fine("Data null - clearing graphics");
             data = new Data(width, height, alpha);
@@ -107,6 +125,7 @@ public final class PGLSurface extends Surface {
     }
 
     protected PImage asImage() {
+        flushPending();
         if (data != null && data.graphics != null) {
             return data.graphics;
         } else {
@@ -119,7 +138,16 @@ public final class PGLSurface extends Surface {
         return context;
     }
 
+    private void flushPending() {
+        if (pending != null) {
+            PGLBlendFusion.Chain chain = pending;
+            pending = null;
+            context.getOpCache().getFusion().render(chain, this);
+        }
+    }
+
     private void makeSWReadable() {
+        flushPending();
         if (data == null) {
             data = new Data(width, height, alpha);
             data.pixels = PixelArrayCache.acquire(width * height, true);
@@ -129,6 +157,34 @@ public final class PGLSurface extends Surface {
         }
     }
 
+    private void processReadOnly(ReadOnlyOp op) {
+        flushPending();
+        if (data == null || data.pixels != null || op.requiresCurrentFrame()) {
+            makeSWReadable();
+            op.process(data, EMPTY_DATA);
+            return;
+        }
+        // read the previous frame's pixels asynchronously into a copy,
+        // leaving the texture valid
+        if (readback == null) {
+            readback = context.createReadback(this, width, height);
+            if (readback == null) {
+                makeSWReadable();
+                op.process(data, EMPTY_DATA);
+                return;
+            }
+        }
+        Data copy = new Data(width, height, alpha);
+        copy.pixels = PixelArrayCache.acquire(width * height, false);
+        try {
+            data.graphics.readPixelsARGB(readback, copy.pixels);
+            op.process(copy, EMPTY_DATA);
+        } finally {
+            PixelArrayCache.release(copy.pixels);
+            copy.pixels = null;
+        }
+    }
+
     private void makeSWWritable() {
         makeSWReadable();
         if (data.usage > 1) {
@@ -148,18 +204,30 @@ public final class PGLSurface extends Surface {
 
     @Override
     public void clear() {
-        release();
+        releaseData();
         clear = true;
     }
 
     @Override
     public boolean isClear() {
-        return clear;
+        return clear && pending == null;
     }
 
     @Override
     public void release() {
+        releaseData();
+        if (readback != null) {
+            context.releaseReadback(readback);
+            readback = null;
+        }
+    }
+
+    private void releaseData() {
         modCount++;
+        if (pending != null) {
+            pending.release();
+            pending = null;
+        }
         if (data != null) {
             data.usage--;
             if (data.usage <= 0) {
@@ -185,8 +253,9 @@ public final class PGLSurface extends Surface {
         assert source != this;
         modCount++;
         if (checkCompatible(source, true, true)) {
-            release();
+            releaseData();
             PGLSurface src = (PGLSurface) source;
+            src.flushPending();
             if (src.data != null) {
                 data = src.data;
                 data.usage++;
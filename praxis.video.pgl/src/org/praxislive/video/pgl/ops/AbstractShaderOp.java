@@ -0,0 +1,80 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.pgl.ops;
+
+import org.praxislive.video.pgl.PGLContext;
+import org.praxislive.video.pgl.PGLGraphics;
+import org.praxislive.video.pgl.PGLShader;
+import org.praxislive.video.render.SurfaceOp;
+
+/**
+ * Base for ops rendered as a single full surface quad through a fragment
+ * shader. Fragment shaders receive <code>srcTexCoord</code> and
+ * <code>dstTexCoord</code>, for the <code>src</code> and <code>dst</code>
+ * samplers.
+ *
+ * @author Neil C Smith <http://neilcsmith.net>
+ */
+abstract class AbstractShaderOp extends PGLOp {
+
+    final PGLContext context;
+
+    protected AbstractShaderOp(Class<? extends SurfaceOp> opClass, PGLContext context) {
+        super(opClass);
+        this.context = context;
+    }
+
+    PGLShader createShader(String fragment) {
+        return new PGLShader(context, VERTEX_SHADER, fragment);
+    }
+
+    void drawQuad(PGLGraphics g, PGLShader shader, int width, int height) {
+        g.beginDraw();
+        g.blendMode(PGLGraphics.REPLACE);
+        g.shader(shader);
+        g.noStroke();
+        g.beginShape(PGLGraphics.QUADS);
+        g.vertex(0, 0, 0, 0);
+        g.vertex(width, 0, 1, 0);
+        g.vertex(width, height, 1, 1);
+        g.vertex(0, height, 0, 1);
+        g.endShape();
+        g.resetShader();
+    }
+
+    final static String VERTEX_SHADER
+            = "uniform mat4 transformMatrix;\n"
+            + "uniform mat4 srcMatrix;\n"
+            + "uniform mat4 dstMatrix;\n"
+            + "attribute vec4 position;\n"
+            + "attribute vec2 texCoord;\n"
+            + "varying vec4 srcTexCoord;\n"
+            + "varying vec4 dstTexCoord;\n"
+            + "\n"
+            + "void main()\n"
+            + "{\n"
+            + "  srcTexCoord = srcMatrix * vec4(texCoord, 1.0, 1.0);\n"
+            + "  dstTexCoord = dstMatrix * vec4(texCoord, 1.0, 1.0);\n"
+            + "  gl_Position = transformMatrix * position;\n"
+            + "}";
+
+}
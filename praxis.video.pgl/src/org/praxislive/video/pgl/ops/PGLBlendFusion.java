@@ -0,0 +1,305 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.pgl.ops;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.praxislive.video.pgl.PGLContext;
+import org.praxislive.video.pgl.PGLGraphics;
+import org.praxislive.video.pgl.PGLShader;
+import org.praxislive.video.pgl.PGLSurface;
+import org.praxislive.video.render.Surface;
+import org.praxislive.video.render.SurfaceOp;
+import org.praxislive.video.render.ops.BlendMode;
+import org.praxislive.video.render.ops.Blit;
+
+/**
+ * Deferred blending of whole surface blits. A surface records consecutive
+ * blits in a {@link Chain} and renders them in a single pass of a generated
+ * shader when its contents are next needed. Sources are held as shared copies,
+ * so later changes to the source surfaces do not affect the result. Colour is
+ * rounded to 8 bits between steps, matching separate passes.
+ * <p>
+ * Fusion is enabled with the system property
+ * <code>praxis.video.pgl.fusion</code>. It is off by default because each
+ * recorded blit copies its source, so fusion only pays off where the saved
+ * passes over the destination outweigh those copies. That depends on the GPU
+ * fill rate and frame size, and only whole surface blits can be fused. Compare
+ * on the target hardware with PGLFusionBench in praxis.bench.
+ *
+ * @author Neil C Smith <http://neilcsmith.net>
+ */
+public class PGLBlendFusion {
+
+    private final static int MAX_STEPS = 7;
+    private final static int MAX_SHADERS = 32;
+
+    private final PGLContext context;
+    private final Map<String, PGLShader> shaders;
+
+    PGLBlendFusion(PGLContext context) {
+        this.context = context;
+        shaders = new LinkedHashMap<String, PGLShader>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PGLShader> eldest) {
+                if (size() > MAX_SHADERS) {
+                    eldest.getValue().dispose();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Dispose all cached shaders.
+     */
+    public void dispose() {
+        shaders.values().forEach(PGLShader::dispose);
+        shaders.clear();
+    }
+
+    /**
+     * Check whether the op can be added to a chain on the given surface.
+     * Blits reading from the destination itself are never fused.
+     *
+     * @param op op
+     * @param dst destination surface
+     * @param inputs op inputs
+     * @return true if op can be deferred
+     */
+    public boolean canFuse(SurfaceOp op, PGLSurface dst, Surface... inputs) {
+        if (op.getClass() != Blit.class || inputs.length != 1) {
+            return false;
+        }
+        Surface src = inputs[0];
+        if (src == dst || !dst.checkCompatible(src, true, false)) {
+            return false;
+        }
+        Blit blit = (Blit) op;
+        return blit.getX() == 0 && blit.getY() == 0 && !blit.hasSourceRegion();
+    }
+
+    /**
+     * Add an op to a chain, creating the chain if required. The op must have
+     * been checked with {@link #canFuse(org.praxislive.video.render.SurfaceOp,
+     * org.praxislive.video.pgl.PGLSurface, org.praxislive.video.render.Surface...)}.
+     *
+     * @param chain existing chain or null
+     * @param op op
+     * @param src source surface
+     * @return chain
+     */
+    public Chain record(Chain chain, SurfaceOp op, Surface src) {
+        if (chain == null) {
+            chain = new Chain();
+        }
+        Blit blit = (Blit) op;
+        PGLSurface snapshot = (PGLSurface) src.createSurface();
+        snapshot.copy(src);
+        chain.steps.add(new Step(blit.getBlendMode(), (float) blit.getOpacity(), snapshot));
+        return chain;
+    }
+
+    /**
+     * Render the chain onto the destination and release it. The destination
+     * must no longer reference the chain.
+     *
+     * @param chain chain
+     * @param dst destination surface
+     */
+    public void render(Chain chain, PGLSurface dst) {
+        if (chain.steps.isEmpty()) {
+            return;
+        }
+        PGLShader shader = getShader(chain);
+        shader.set("dst", context.asImage(dst));
+        for (int i = 0; i < chain.steps.size(); i++) {
+            Step step = chain.steps.get(i);
+            shader.set("src" + i, context.asImage(step.source));
+            shader.set("alpha" + i, step.opacity);
+        }
+        PGLSurface tmp = dst.createSurface();
+        int w = tmp.getWidth();
+        int h = tmp.getHeight();
+        PGLGraphics g = tmp.getGraphics();
+        g.beginDraw();
+        g.blendMode(PGLGraphics.REPLACE);
+        g.shader(shader);
+        g.noStroke();
+        g.beginShape(PGLGraphics.QUADS);
+        g.vertex(0, 0, 0, 0);
+        g.vertex(w, 0, 1, 0);
+        g.vertex(w, h, 1, 1);
+        g.vertex(0, h, 0, 1);
+        g.endShape();
+        g.resetShader();
+        dst.copy(tmp);
+        tmp.release();
+        chain.release();
+    }
+
+    private PGLShader getShader(Chain chain) {
+        StringBuilder key = new StringBuilder();
+        for (Step step : chain.steps) {
+            key.append(step.mode.ordinal()).append(',');
+        }
+        return shaders.computeIfAbsent(key.toString(),
+                k -> new PGLShader(context, vertex(chain), fragment(chain)));
+    }
+
+    private static String vertex(Chain chain) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("uniform mat4 transformMatrix;\n")
+                .append("uniform mat4 dstMatrix;\n");
+        for (int i = 0; i < chain.steps.size(); i++) {
+            sb.append("uniform mat4 src").append(i).append("Matrix;\n");
+        }
+        sb.append("attribute vec4 position;\n")
+                .append("attribute vec2 texCoord;\n")
+                .append("varying vec4 dstTexCoord;\n");
+        for (int i = 0; i < chain.steps.size(); i++) {
+            sb.append("varying vec4 src").append(i).append("TexCoord;\n");
+        }
+        sb.append("\nvoid main()\n{\n")
+                .append("  dstTexCoord = dstMatrix * vec4(texCoord, 1.0, 1.0);\n");
+        for (int i = 0; i < chain.steps.size(); i++) {
+            sb.append("  src").append(i).append("TexCoord = src").append(i)
+                    .append("Matrix * vec4(texCoord, 1.0, 1.0);\n");
+        }
+        sb.append("  gl_Position = transformMatrix * position;\n}");
+        return sb.toString();
+    }
+
+    private static String fragment(Chain chain) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("uniform sampler2D dst;\n")
+                .append("varying vec4 dstTexCoord;\n");
+        for (int i = 0; i < chain.steps.size(); i++) {
+            sb.append("uniform sampler2D src").append(i).append(";\n")
+                    .append("uniform float alpha").append(i).append(";\n")
+                    .append("varying vec4 src").append(i).append("TexCoord;\n");
+        }
+        sb.append("\nvoid main() {\n")
+                .append("  vec4 dstColor = texture2D(dst, dstTexCoord.st);\n")
+                .append("  vec4 srcColor;\n")
+                .append("  float alpha;\n");
+        for (int i = 0; i < chain.steps.size(); i++) {
+            sb.append("  srcColor = texture2D(src").append(i)
+                    .append(", src").append(i).append("TexCoord.st);\n")
+                    .append("  alpha = alpha").append(i).append(";\n")
+                    .append(blend(chain.steps.get(i).mode))
+                    .append("  dstColor = floor(dstColor * 255.0 + 0.5) / 255.0;\n");
+        }
+        sb.append("  gl_FragColor = dstColor;\n}");
+        return sb.toString();
+    }
+
+    // Normal, Add, Sub and Multiply follow the GL blend functions used by
+    // direct blits with tinted opacity; the others follow the PGLBlitOp shaders
+    private static String blend(BlendMode mode) {
+        switch (mode) {
+            case Normal:
+                return "  srcColor.a *= alpha;\n"
+                        + "  dstColor = vec4(srcColor.rgb * srcColor.a + dstColor.rgb * (1.0 - srcColor.a),\n"
+                        + "      min(srcColor.a + dstColor.a, 1.0));\n";
+            case Add:
+                return "  srcColor.a *= alpha;\n"
+                        + "  dstColor = min(vec4(dstColor.rgb + srcColor.rgb * srcColor.a,\n"
+                        + "      srcColor.a + dstColor.a), 1.0);\n";
+            case Sub:
+                return "  srcColor.a *= alpha;\n"
+                        + "  dstColor = vec4(max(dstColor.rgb - srcColor.rgb * srcColor.a, 0.0),\n"
+                        + "      min(srcColor.a + dstColor.a, 1.0));\n";
+            case Multiply:
+                return "  srcColor.a *= alpha;\n"
+                        + "  dstColor = vec4(dstColor.rgb * srcColor.rgb,\n"
+                        + "      min(srcColor.a + dstColor.a, 1.0));\n";
+            case Difference:
+                return "  srcColor *= alpha;\n"
+                        + "  dstColor.rgb = abs(dstColor.rgb - srcColor.rgb);\n"
+                        + "  dstColor.a = srcColor.a + ((1.0 - srcColor.a) * dstColor.a);\n";
+            case Screen:
+                return "  srcColor *= alpha;\n"
+                        + "  dstColor.rgb = vec3(1.0) - ((vec3(1.0) - srcColor.rgb) * (vec3(1.0) - dstColor.rgb));\n"
+                        + "  dstColor.a = srcColor.a + ((1.0 - srcColor.a) * dstColor.a);\n";
+            case BitXor:
+                return "  srcColor *= alpha;\n"
+                        + "  dstColor.rgb = vec3((ivec3(srcColor.rgb * 255.0) ^ ivec3(dstColor.rgb * 255.0))) / 255.0;\n"
+                        + "  dstColor.a = srcColor.a + ((1.0 - srcColor.a) * dstColor.a);\n";
+            case Mask:
+                return "  srcColor *= alpha;\n"
+                        + "  dstColor = (srcColor * dstColor) + (dstColor * (1.0 - alpha));\n";
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * A recorded sequence of blits.
+     */
+    public static final class Chain {
+
+        private final List<Step> steps = new ArrayList<>(MAX_STEPS);
+
+        private Chain() {
+        }
+
+        /**
+         * Whether the chain has reached the maximum number of steps for a
+         * single pass.
+         *
+         * @return chain is full
+         */
+        public boolean isFull() {
+            return steps.size() >= MAX_STEPS;
+        }
+
+        /**
+         * Discard the chain, releasing all source copies.
+         */
+        public void release() {
+            for (Step step : steps) {
+                step.source.release();
+            }
+            steps.clear();
+        }
+
+    }
+
+    private static class Step {
+
+        private final BlendMode mode;
+        private final float opacity;
+        private final PGLSurface source;
+
+        private Step(BlendMode mode, float opacity, PGLSurface source) {
+            this.mode = mode;
+            this.opacity = opacity;
+            this.source = source;
+        }
+
+    }
+
+}
@@ -94,34 +94,61 @@ public class PGLBlitOp extends AbstractBlitOp {
                 && dst.getWidth() == src.getWidth()
                 && dst.getHeight() == src.getHeight()) {
             // identity blit
-            PImage dstImage = context.asImage(dst);
-            PImage srcImage = context.asImage(src);
-            PGLSurface tmp = dst.createSurface();
-            int w = tmp.getWidth();
-            int h = tmp.getHeight();
-            PGLGraphics g = tmp.getGraphics();
+            blend(shader, (float) blit.getOpacity(), dst, src);
+            return true;
+        } else if (blit.getBlendMode() != BlendMode.Mask) {
+            // place the source on an empty surface the size of the destination
+            // and blend that - empty pixels leave the destination unchanged
+            // for all modes except Mask
+            PGLSurface placed = dst.createSurface();
+            PGLGraphics g = placed.getGraphics();
             g.beginDraw();
             g.blendMode(PGLGraphics.REPLACE);
-            g.shader(shader);
-            shader.set("src", srcImage);
-            shader.set("dst", dstImage);
-            shader.set("alpha", (float) blit.getOpacity());
-            g.noStroke();
-            g.beginShape(PGLGraphics.QUADS);
-            g.vertex(0, 0, 0, 0);
-            g.vertex(w, 0, 1, 0);
-            g.vertex(w, h, 1, 1);
-            g.vertex(0, h, 0, 1);
-            g.endShape();
-            g.resetShader();
-            dst.copy(tmp);
-            tmp.release();
+            g.tint(255, 255, 255, 255);
+            PImage img = context.asImage(src);
+            Rectangle bounds = blit.getSourceRegion(rect);
+            if (bounds == null) {
+                g.image(img, blit.getX(), blit.getY());
+            } else {
+                int x = blit.getX();
+                int y = blit.getY();
+                int w = bounds.width;
+                int h = bounds.height;
+                g.image(img, x, y, w, h, bounds.x, bounds.y, bounds.x + w, bounds.y + h);
+            }
+            blend(shader, (float) blit.getOpacity(), dst, placed);
+            placed.release();
             return true;
         } else {
             return false;
         }
     }
 
+    private void blend(PGLShader shader, float opacity, PGLSurface dst, Surface src) {
+        PImage dstImage = context.asImage(dst);
+        PImage srcImage = context.asImage(src);
+        PGLSurface tmp = dst.createSurface();
+        int w = tmp.getWidth();
+        int h = tmp.getHeight();
+        PGLGraphics g = tmp.getGraphics();
+        g.beginDraw();
+        g.blendMode(PGLGraphics.REPLACE);
+        g.shader(shader);
+        shader.set("src", srcImage);
+        shader.set("dst", dstImage);
+        shader.set("alpha", opacity);
+        g.noStroke();
+        g.beginShape(PGLGraphics.QUADS);
+        g.vertex(0, 0, 0, 0);
+        g.vertex(w, 0, 1, 0);
+        g.vertex(w, h, 1, 1);
+        g.vertex(0, h, 0, 1);
+        g.endShape();
+        g.resetShader();
+        dst.copy(tmp);
+        tmp.release();
+    }
+
     // shaders
     private PGLShader differenceShader;
     private PGLShader screenShader;
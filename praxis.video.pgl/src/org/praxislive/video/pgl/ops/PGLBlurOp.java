@@ -0,0 +1,106 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.pgl.ops;
+
+import org.praxislive.video.pgl.PGLContext;
+import org.praxislive.video.pgl.PGLShader;
+import org.praxislive.video.pgl.PGLSurface;
+import org.praxislive.video.render.Surface;
+import org.praxislive.video.render.SurfaceOp;
+import org.praxislive.video.render.ops.Blur;
+
+/**
+ * Separable box blur matching the software Blur - edge pixels are repeated and
+ * each pass truncates the channel average. Radii above the largest shader
+ * loop size use the software fallback.
+ *
+ * @author Neil C Smith <http://neilcsmith.net>
+ */
+public class PGLBlurOp extends AbstractShaderOp {
+
+    private final static int[] LOOP_SIZES = {4, 8, 16, 32, 64};
+
+    private final PGLShader[] shaders;
+
+    PGLBlurOp(PGLContext context) {
+        super(Blur.class, context);
+        shaders = new PGLShader[LOOP_SIZES.length];
+    }
+
+    @Override
+    public void process(SurfaceOp op, PGLSurface output, Bypass bypass, Surface... inputs) {
+        int radius = ((Blur) op).getRadius();
+        if (radius == 0 || output.isClear()) {
+            return;
+        }
+        PGLShader shader = getShader(radius);
+        if (shader == null) {
+            bypass.process(op, inputs);
+            return;
+        }
+        int w = output.getWidth();
+        int h = output.getHeight();
+        PGLSurface tmp = output.createSurface();
+        shader.set("src", context.asImage(output));
+        shader.set("radius", radius);
+        shader.set("direction", 1f, 0f);
+        drawQuad(tmp.getGraphics(), shader, w, h);
+        shader.set("src", context.asImage(tmp));
+        shader.set("direction", 0f, 1f);
+        drawQuad(output.getGraphics(), shader, w, h);
+        tmp.release();
+    }
+
+    private PGLShader getShader(int radius) {
+        for (int i = 0; i < LOOP_SIZES.length; i++) {
+            if (radius <= LOOP_SIZES[i]) {
+                if (shaders[i] == null) {
+                    shaders[i] = createShader(fragment(LOOP_SIZES[i]));
+                }
+                return shaders[i];
+            }
+        }
+        return null;
+    }
+
+    private static String fragment(int loopSize) {
+        return "uniform sampler2D src;\n"
+                + "uniform vec2 srcOffset;\n"
+                + "uniform vec2 direction;\n"
+                + "uniform int radius;\n"
+                + "varying vec4 srcTexCoord;\n"
+                + "\n"
+                + "void main() {\n"
+                + "  vec2 step = direction * srcOffset;\n"
+                + "  vec4 sum = vec4(0.0);\n"
+                + "  for (int i = -" + loopSize + "; i <= " + loopSize + "; i++) {\n"
+                + "    if (i >= -radius && i <= radius) {\n"
+                + "      sum += texture2D(src, srcTexCoord.st + step * float(i));\n"
+                + "    }\n"
+                + "  }\n"
+                + "  vec4 total = floor(sum * 255.0 + 0.5);\n"
+                + "  float window = float(radius * 2 + 1);\n"
+                + "  gl_FragColor = floor((total + 0.5) / window) / 255.0;\n"
+                + "}";
+    }
+
+}
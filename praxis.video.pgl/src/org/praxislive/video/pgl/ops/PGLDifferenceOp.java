@@ -0,0 +1,126 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.pgl.ops;
+
+import org.praxislive.video.pgl.PGLContext;
+import org.praxislive.video.pgl.PGLShader;
+import org.praxislive.video.pgl.PGLSurface;
+import org.praxislive.video.render.Surface;
+import org.praxislive.video.render.SurfaceOp;
+import org.praxislive.video.render.ops.DifferenceOp;
+
+/**
+ *
+ * @author Neil C Smith <http://neilcsmith.net>
+ */
+public class PGLDifferenceOp extends AbstractShaderOp {
+
+    private PGLShader colorShader;
+    private PGLShader monoShader;
+    private PGLShader thresholdShader;
+
+    PGLDifferenceOp(PGLContext context) {
+        super(DifferenceOp.class, context);
+    }
+
+    @Override
+    public void process(SurfaceOp op, PGLSurface output, Bypass bypass, Surface... inputs) {
+        if (inputs.length < 1) {
+            return;
+        }
+        Surface input = inputs[0];
+        if (input.getWidth() != output.getWidth()
+                || input.getHeight() != output.getHeight()) {
+            bypass.process(op, inputs);
+            return;
+        }
+        DifferenceOp diff = (DifferenceOp) op;
+        PGLShader shader = getShader(diff.getMode());
+        PGLSurface tmp = output.createSurface();
+        shader.set("src", context.asImage(input));
+        shader.set("dst", context.asImage(output));
+        shader.set("threshold", (float) Math.round(diff.getThreshold() * 256));
+        shader.set("opaque", output.hasAlpha() ? 0f : 1f);
+        drawQuad(tmp.getGraphics(), shader, output.getWidth(), output.getHeight());
+        output.copy(tmp);
+        tmp.release();
+    }
+
+    private PGLShader getShader(DifferenceOp.Mode mode) {
+        switch (mode) {
+            case Mono:
+                if (monoShader == null) {
+                    monoShader = createShader(MONO_FRAGMENT);
+                }
+                return monoShader;
+            case Threshold:
+                if (thresholdShader == null) {
+                    thresholdShader = createShader(THRESHOLD_FRAGMENT);
+                }
+                return thresholdShader;
+            default:
+                if (colorShader == null) {
+                    colorShader = createShader(COLOR_FRAGMENT);
+                }
+                return colorShader;
+        }
+    }
+
+    private final static String FRAGMENT_HEADER
+            = "uniform sampler2D src;\n"
+            + "uniform sampler2D dst;\n"
+            + "uniform float threshold;\n"
+            + "uniform float opaque;\n"
+            + "varying vec4 srcTexCoord;\n"
+            + "varying vec4 dstTexCoord;\n"
+            + "\n"
+            + "void main() {\n"
+            + "  vec4 fg = texture2D(dst, dstTexCoord.st);\n"
+            + "  vec3 delta = abs(floor(fg.rgb * 255.0 + 0.5)\n"
+            + "      - floor(texture2D(src, srcTexCoord.st).rgb * 255.0 + 0.5));\n"
+            + "  float maxDelta = max(delta.r, max(delta.g, delta.b));\n"
+            + "  vec4 color;\n"
+            + "  if (maxDelta < threshold) {\n"
+            + "    color = vec4(0.0);\n"
+            + "  } else {\n";
+
+    private final static String FRAGMENT_FOOTER
+            = "  }\n"
+            + "  gl_FragColor = vec4(color.rgb, max(color.a, opaque));\n"
+            + "}";
+
+    private final static String COLOR_FRAGMENT
+            = FRAGMENT_HEADER
+            + "    color = vec4(delta / 255.0, fg.a);\n"
+            + FRAGMENT_FOOTER;
+
+    private final static String MONO_FRAGMENT
+            = FRAGMENT_HEADER
+            + "    color = vec4(vec3(maxDelta / 255.0), fg.a);\n"
+            + FRAGMENT_FOOTER;
+
+    private final static String THRESHOLD_FRAGMENT
+            = FRAGMENT_HEADER
+            + "    color = vec4(1.0);\n"
+            + FRAGMENT_FOOTER;
+
+}
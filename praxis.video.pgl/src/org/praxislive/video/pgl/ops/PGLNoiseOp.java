@@ -0,0 +1,68 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.pgl.ops;
+
+import org.praxislive.video.pgl.PGLContext;
+import org.praxislive.video.pgl.PGLShader;
+import org.praxislive.video.pgl.PGLSurface;
+import org.praxislive.video.render.Surface;
+import org.praxislive.video.render.SurfaceOp;
+import org.praxislive.video.render.ops.Noise;
+import org.praxislive.video.render.utils.RGBMath;
+
+/**
+ * Grey noise from a hash of fragment position and a per frame seed. The values
+ * follow the same distribution as the software Noise but cannot match it pixel
+ * for pixel.
+ *
+ * @author Neil C Smith <http://neilcsmith.net>
+ */
+public class PGLNoiseOp extends AbstractShaderOp {
+
+    private PGLShader shader;
+
+    PGLNoiseOp(PGLContext context) {
+        super(Noise.class, context);
+    }
+
+    @Override
+    public void process(SurfaceOp op, PGLSurface output, Bypass bypass, Surface... inputs) {
+        if (shader == null) {
+            shader = createShader(NOISE_FRAGMENT);
+        }
+        shader.set("seed", RGBMath.random() / 255f, RGBMath.random() / 255f);
+        shader.set("opaque", output.hasAlpha() ? 0f : 1f);
+        drawQuad(output.getGraphics(), shader, output.getWidth(), output.getHeight());
+    }
+
+    private final static String NOISE_FRAGMENT
+            = "uniform vec2 seed;\n"
+            + "uniform float opaque;\n"
+            + "\n"
+            + "void main() {\n"
+            + "  vec2 co = gl_FragCoord.xy + seed * 1024.0;\n"
+            + "  float r = fract(sin(dot(co, vec2(12.9898, 78.233))) * 43758.5453);\n"
+            + "  float value = floor(r * 256.0) / 255.0;\n"
+            + "  gl_FragColor = vec4(vec3(value), max(value, opaque));\n"
+            + "}";
+
+}
@@ -26,9 +26,13 @@ import java.util.Map;
 import org.praxislive.video.pgl.PGLContext;
 import org.praxislive.video.render.SurfaceOp;
 import org.praxislive.video.render.ops.Blit;
+import org.praxislive.video.render.ops.Blur;
+import org.praxislive.video.render.ops.DifferenceOp;
+import org.praxislive.video.render.ops.Noise;
 import org.praxislive.video.render.ops.RectFill;
 import org.praxislive.video.render.ops.ScaledBlit;
 import org.praxislive.video.render.ops.ShapeRender;
+import org.praxislive.video.render.ops.Sub;
 import org.praxislive.video.render.ops.TextRender;
 import org.praxislive.video.render.ops.TransformBlit;
 
@@ -40,6 +44,7 @@ public class PGLOpCache {
       
     private final PGLContext context;
     private final Map<Class<? extends SurfaceOp>, PGLOp> cache;
+    private final PGLBlendFusion fusion;
     
     public PGLOpCache(PGLContext context) {
         this.context = context;
@@ -50,14 +55,29 @@ public class PGLOpCache {
         cache.put(RectFill.class, new PGLRectFillOp());
         cache.put(ShapeRender.class, new PGLShapeRenderOp());
         cache.put(TextRender.class, new PGLTextRenderOp());
+        // shader ops can be disabled to compare with the software fallback
+        if (!Boolean.getBoolean("praxis.video.pgl.fallback")) {
+            cache.put(Blur.class, new PGLBlurOp(context));
+            cache.put(DifferenceOp.class, new PGLDifferenceOp(context));
+            cache.put(Noise.class, new PGLNoiseOp(context));
+            cache.put(Sub.class, new PGLSubOp(context));
+        }
+        fusion = Boolean.getBoolean("praxis.video.pgl.fusion")
+                ? new PGLBlendFusion(context) : null;
     }
         
     public PGLOp find(SurfaceOp op) {
         return cache.get(op.getClass());
     }
     
+    public PGLBlendFusion getFusion() {
+        return fusion;
+    }
+
     public void dispose() {
-        
+        if (fusion != null) {
+            fusion.dispose();
+        }
     }
     
 }
@@ -0,0 +1,72 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.pgl.ops;
+
+import java.awt.Rectangle;
+import org.praxislive.video.pgl.PGLContext;
+import org.praxislive.video.pgl.PGLGraphics;
+import org.praxislive.video.pgl.PGLSurface;
+import org.praxislive.video.render.Surface;
+import org.praxislive.video.render.SurfaceOp;
+import org.praxislive.video.render.ops.Sub;
+
+/**
+ * Process the wrapped op on a temporary surface the size of the sub region,
+ * so that it can use its own GL implementation, then write the region back.
+ *
+ * @author Neil C Smith <http://neilcsmith.net>
+ */
+public class PGLSubOp extends PGLOp {
+
+    private final PGLContext context;
+
+    PGLSubOp(PGLContext context) {
+        super(Sub.class);
+        this.context = context;
+    }
+
+    @Override
+    public void process(SurfaceOp op, PGLSurface output, Bypass bypass, Surface... inputs) {
+        Sub sub = (Sub) op;
+        Rectangle bnds = sub.getBounds().asRectangle().intersection(
+                new Rectangle(output.getWidth(), output.getHeight()));
+        if (bnds.isEmpty()) {
+            return;
+        }
+        PGLSurface tmp = output.createSurface(bnds.width, bnds.height, output.hasAlpha());
+        if (!output.isClear()) {
+            PGLGraphics tg = tmp.getGraphics();
+            tg.beginDraw();
+            tg.blendMode(PGLGraphics.REPLACE);
+            tg.tint(255, 255, 255, 255);
+            tg.image(context.asImage(output), -bnds.x, -bnds.y);
+        }
+        tmp.process(sub.getOp(), inputs);
+        PGLGraphics g = output.getGraphics();
+        g.beginDraw();
+        g.blendMode(PGLGraphics.REPLACE);
+        g.tint(255, 255, 255, 255);
+        g.image(context.asImage(tmp), bnds.x, bnds.y);
+        tmp.release();
+    }
+
+}
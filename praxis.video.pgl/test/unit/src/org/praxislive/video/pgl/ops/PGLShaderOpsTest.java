@@ -0,0 +1,281 @@
+package org.praxislive.video.pgl.ops;
+
+import java.awt.GraphicsEnvironment;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.praxislive.impl.InstanceLookup;
+import org.praxislive.video.ClientConfiguration;
+import org.praxislive.video.Player;
+import org.praxislive.video.PlayerConfiguration;
+import org.praxislive.video.QueueContext;
+import org.praxislive.video.pgl.PGLPlayerFactory;
+import org.praxislive.video.pgl.PGLSurface;
+import org.praxislive.video.pipes.impl.SingleOut;
+import org.praxislive.video.render.PixelData;
+import org.praxislive.video.render.ReadOnlyOp;
+import org.praxislive.video.render.Surface;
+import org.praxislive.video.render.SurfaceOp;
+import org.praxislive.video.render.ops.Blur;
+import org.praxislive.video.render.ops.DifferenceOp;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Compares the shader ops with the software ops they replace. Requires an
+ * OpenGL capable display, and is skipped if none is available.
+ */
+public class PGLShaderOpsTest {
+
+    private final static Logger LOG = Logger.getLogger(PGLShaderOpsTest.class.getName());
+    private final static int WIDTH = 64;
+    private final static int HEIGHT = 48;
+    // allow for float rounding in the shaders
+    private final static int TOLERANCE = 1;
+
+    private static GLRunner gl;
+
+    public PGLShaderOpsTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        gl = GLRunner.start();
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        if (gl != null) {
+            gl.stop();
+            gl = null;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue("No OpenGL context available", gl != null);
+    }
+
+    @Test
+    public void testBlur() throws Exception {
+        for (int radius : new int[]{1, 3, 8, 20, 64}) {
+            SurfaceOp op = Blur.op(radius);
+            int[] src = pixels(radius);
+            assertPixels("Blur radius " + radius,
+                    software(op, src, null), gl.render(op, src, null));
+        }
+    }
+
+    @Test
+    public void testDifference() throws Exception {
+        int[] src = pixels(1);
+        int[] input = pixels(2);
+        for (DifferenceOp.Mode mode : DifferenceOp.Mode.values()) {
+            DifferenceOp op = new DifferenceOp();
+            op.setMode(mode);
+            op.setThreshold(0.25);
+            assertPixels("Difference " + mode,
+                    software(op, src, input), gl.render(op, src, input));
+        }
+    }
+
+    private static int[] pixels(long seed) {
+        int[] data = new int[WIDTH * HEIGHT];
+        for (int i = 0; i < data.length; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            data[i] = (int) (seed >>> 32) | 0xFF000000;
+        }
+        return data;
+    }
+
+    private static int[] software(SurfaceOp op, int[] src, int[] input) {
+        Pixels output = new Pixels(src.clone());
+        if (input == null) {
+            op.process(output);
+        } else {
+            op.process(output, new Pixels(input.clone()));
+        }
+        return output.data;
+    }
+
+    private static void assertPixels(String message, int[] expected, int[] actual) {
+        for (int i = 0; i < expected.length; i++) {
+            for (int shift = 0; shift < 32; shift += 8) {
+                int e = (expected[i] >>> shift) & 0xFF;
+                int a = (actual[i] >>> shift) & 0xFF;
+                if (Math.abs(e - a) > TOLERANCE) {
+                    fail(message + " : pixel " + (i % WIDTH) + "," + (i / WIDTH)
+                            + " expected " + Integer.toHexString(expected[i])
+                            + " but was " + Integer.toHexString(actual[i]));
+                }
+            }
+        }
+    }
+
+    private static class Pixels implements PixelData {
+
+        private final int[] data;
+
+        private Pixels(int[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public int[] getData() {
+            return data;
+        }
+
+        @Override
+        public int getOffset() {
+            return 0;
+        }
+
+        @Override
+        public int getScanline() {
+            return WIDTH;
+        }
+
+        @Override
+        public int getWidth() {
+            return WIDTH;
+        }
+
+        @Override
+        public int getHeight() {
+            return HEIGHT;
+        }
+
+        @Override
+        public boolean hasAlpha() {
+            return false;
+        }
+
+    }
+
+    private static class WriteOp implements SurfaceOp {
+
+        private final int[] src;
+
+        private WriteOp(int[] src) {
+            this.src = src;
+        }
+
+        @Override
+        public void process(PixelData output, PixelData... inputs) {
+            for (int y = 0; y < HEIGHT; y++) {
+                System.arraycopy(src, y * WIDTH, output.getData(),
+                        output.getOffset() + y * output.getScanline(), WIDTH);
+            }
+        }
+
+    }
+
+    private static class ReadOp implements ReadOnlyOp {
+
+        private final int[] dst = new int[WIDTH * HEIGHT];
+
+        @Override
+        public void process(PixelData output, PixelData... inputs) {
+            for (int y = 0; y < HEIGHT; y++) {
+                System.arraycopy(output.getData(),
+                        output.getOffset() + y * output.getScanline(),
+                        dst, y * WIDTH, WIDTH);
+            }
+        }
+
+    }
+
+    /**
+     * Runs tasks on the GL thread of a PGL player, once per frame.
+     */
+    private static class GLRunner extends SingleOut {
+
+        private final BlockingQueue<FutureTask<?>> tasks;
+        private final CountDownLatch started;
+
+        private Player player;
+        private Surface surface;
+
+        private GLRunner() {
+            tasks = new LinkedBlockingQueue<>();
+            started = new CountDownLatch(1);
+        }
+
+        private static GLRunner start() {
+            if (GraphicsEnvironment.isHeadless()) {
+                return null;
+            }
+            GLRunner runner = new GLRunner();
+            try {
+                QueueContext queue = (time, unit) -> {
+                };
+                runner.player = new PGLPlayerFactory.Default().getFactory().createPlayer(
+                        new PlayerConfiguration(System::nanoTime, WIDTH, HEIGHT, 60,
+                                InstanceLookup.create(queue)),
+                        new ClientConfiguration[]{new ClientConfiguration(0, 1)});
+                runner.player.getSink(0).addSource(runner);
+                Thread thread = new Thread(runner.player::run, "PGLShaderOpsTest");
+                thread.setDaemon(true);
+                thread.start();
+                if (runner.started.await(10, TimeUnit.SECONDS)) {
+                    return runner;
+                }
+            } catch (Throwable ex) {
+                LOG.log(Level.INFO, "Unable to start OpenGL player", ex);
+            }
+            runner.stop();
+            return null;
+        }
+
+        private int[] render(SurfaceOp op, int[] src, int[] input) throws Exception {
+            FutureTask<int[]> task = new FutureTask<>(() -> {
+                Surface out = surface.createSurface(WIDTH, HEIGHT, false);
+                Surface in = null;
+                out.process(new WriteOp(src));
+                assertTrue(out instanceof PGLSurface);
+                if (input == null) {
+                    out.process(op);
+                } else {
+                    in = surface.createSurface(WIDTH, HEIGHT, false);
+                    in.process(new WriteOp(input));
+                    out.process(op, in);
+                }
+                ReadOp read = new ReadOp();
+                out.process(read);
+                out.release();
+                if (in != null) {
+                    in.release();
+                }
+                return read.dst;
+            });
+            tasks.add(task);
+            return task.get(10, TimeUnit.SECONDS);
+        }
+
+        private void stop() {
+            if (player != null) {
+                player.terminate();
+            }
+        }
+
+        @Override
+        protected void process(Surface surface, boolean rendering) {
+            this.surface = surface;
+            started.countDown();
+            FutureTask<?> task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+    }
+
+}
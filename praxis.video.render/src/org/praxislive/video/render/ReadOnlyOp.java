@@ -0,0 +1,46 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.render;
+
+/**
+ * A SurfaceOp that only reads the pixels of the surface it is processed on,
+ * with no inputs, and never writes to them - eg. analysis such as blob
+ * tracking. A surface may pass such an op a read-only copy of its pixels, and
+ * may avoid copying its content back from other storage such as a GPU texture.
+ *
+ * @author Neil C Smith
+ */
+public interface ReadOnlyOp extends SurfaceOp {
+
+    /**
+     * Whether the op needs the pixels of the current frame. If false, a
+     * surface may pass the pixels of an earlier frame (usually the previous
+     * one) to avoid stalling the pipeline while they are read. Defaults to
+     * true.
+     *
+     * @return current frame required
+     */
+    public default boolean requiresCurrentFrame() {
+        return true;
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.render;
+
+import org.praxislive.video.render.utils.Tiles;
+
+/**
+ * A SurfaceOp that can process its output in independent horizontal bands.
+ * The default implementation of {@link #process(PixelData, PixelData...)}
+ * passes the op to {@link Tiles}, which will split large outputs into bands
+ * processed in parallel.
+ *
+ * @author Neil C Smith
+ */
+public interface TileableOp extends SurfaceOp {
+
+    /**
+     * Process the output rows from startRow (inclusive) to endRow (exclusive).
+     * Implementations must only write to output pixels within these rows, and
+     * must be safe to call concurrently for non-overlapping bands. Processing
+     * all bands must give the same result as processing the whole output.
+     *
+     * @param startRow first output row
+     * @param endRow last output row (exclusive)
+     * @param output output data
+     * @param inputs input data
+     */
+    public void process(int startRow, int endRow,
+            PixelData output, PixelData... inputs);
+
+    @Override
+    public default void process(PixelData output, PixelData... inputs) {
+        Tiles.process(this, output, inputs);
+    }
+
+}
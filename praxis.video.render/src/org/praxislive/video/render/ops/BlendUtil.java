@@ -23,6 +23,7 @@ package org.praxislive.video.render.ops;
 
 import org.praxislive.video.render.PixelData;
 import org.praxislive.video.render.utils.RGBMath;
+import org.praxislive.video.render.utils.Tiles;
 
 /**
  *
@@ -31,6 +32,16 @@ import org.praxislive.video.render.utils.RGBMath;
 class BlendUtil {
     
     static void process(PixelData src, PixelData dst, BlendMode mode, double opacity) {
+        process(src, dst, mode, opacity, true);
+    }
+
+    // for use by TileableOps already processing a band
+    static void processSerial(PixelData src, PixelData dst, BlendMode mode, double opacity) {
+        process(src, dst, mode, opacity, false);
+    }
+
+    private static void process(PixelData src, PixelData dst, BlendMode mode,
+            double opacity, boolean parallel) {
         RGBComposite cmp = getComposite(mode);
         int alpha = getExtraAlpha(opacity);
         int width = Math.min(src.getWidth(), dst.getWidth());
@@ -41,17 +52,29 @@ class BlendUtil {
         int dstOffset = dst.getOffset();
         int dstSL = dst.getScanline();
         boolean dstAlpha = dst.hasAlpha();
+        int[] srcData = src.getData();
+        int[] dstData = dst.getData();
+        Tiles.RowTask task;
         if (srcAlpha == dstAlpha) {
             if (dstAlpha) {
-                composeARGB(cmp, alpha, width, height, src.getData(), srcSL, srcOffset,
-                        dst.getData(), dstSL, dstOffset);
+                task = (start, end) -> composeARGB(cmp, alpha, width, end - start,
+                        srcData, srcSL, srcOffset + start * srcSL,
+                        dstData, dstSL, dstOffset + start * dstSL);
             } else {
-                composeRGB(cmp, alpha, width, height, src.getData(), srcSL, srcOffset,
-                        dst.getData(), dstSL, dstOffset);
+                task = (start, end) -> composeRGB(cmp, alpha, width, end - start,
+                        srcData, srcSL, srcOffset + start * srcSL,
+                        dstData, dstSL, dstOffset + start * dstSL);
             }
         } else {
-            composeMixed(cmp, alpha, width, height, src.getData(), srcSL, srcOffset, srcAlpha,
-                    dst.getData(), dstSL, dstOffset, dstAlpha);
+            task = (start, end) -> composeMixed(cmp, alpha, width, end - start,
+                    srcData, srcSL, srcOffset + start * srcSL, srcAlpha,
+                    dstData, dstSL, dstOffset + start * dstSL, dstAlpha);
+        }
+        if (!parallel || srcData == dstData) {
+            // overlapping regions of the same array must be composed in order
+            task.process(0, height);
+        } else {
+            Tiles.process(width, height, task);
         }
     }
     
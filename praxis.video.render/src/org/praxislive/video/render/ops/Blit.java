@@ -24,12 +24,14 @@ package org.praxislive.video.render.ops;
 import java.awt.Rectangle;
 import org.praxislive.video.render.PixelData;
 import org.praxislive.video.render.SurfaceOp;
+import org.praxislive.video.render.TileableOp;
+import org.praxislive.video.render.utils.Tiles;
 
 /**
  *
  * @author Neil C Smith (http://neilcsmith.net)
  */
-public final class Blit implements SurfaceOp {
+public final class Blit implements TileableOp {
     
     private final Rectangle srcRegion = new Rectangle();
 
@@ -120,40 +122,65 @@ public final class Blit implements SurfaceOp {
         if (inputs.length < 1) {
             return;
         }
-        if (!hasRegion && x == 0 && y == 0) {
-//            blend.process(inputs[0], output);
-            BlendUtil.process(inputs[0], output, blendMode, opacity);
-        } else {
-//            PixelData dst = SubPixels.create(output, x, y, output.getWidth() - x, output.getHeight() - y);
-//            blend.process(inputs[0], dst);
-            processComplex(inputs[0], output);
+        Rectangle sRct = new Rectangle();
+        Rectangle dRct = new Rectangle();
+        if (calculateBounds(inputs[0], output, sRct, dRct)) {
+            Tiles.process(this, dRct.y, dRct.y + dRct.height, dRct.width,
+                    output, inputs);
+        }
+    }
+
+    @Override
+    public void process(int startRow, int endRow,
+            PixelData output, PixelData... inputs) {
+        if (inputs.length < 1) {
+            return;
         }
+        PixelData src = inputs[0];
+        if (!hasRegion && x == 0 && y == 0 && startRow <= 0
+                && endRow >= Math.min(src.getHeight(), output.getHeight())) {
+            BlendUtil.processSerial(src, output, blendMode, opacity);
+            return;
+        }
+        Rectangle sRct = new Rectangle();
+        Rectangle dRct = new Rectangle();
+        if (!calculateBounds(src, output, sRct, dRct)) {
+            return;
+        }
+        int start = Math.max(startRow, dRct.y);
+        int end = Math.min(endRow, dRct.y + dRct.height);
+        if (start >= end) {
+            return;
+        }
+        SubPixels srcPD = SubPixels.create(src,
+                sRct.x, sRct.y + start - dRct.y, sRct.width, end - start);
+        SubPixels dstPD = SubPixels.create(output,
+                dRct.x, start, dRct.width, end - start);
+        BlendUtil.processSerial(srcPD, dstPD, blendMode, opacity);
     }
 
-    private void processComplex(PixelData src, PixelData dst) {
-        Rectangle sRct = new Rectangle(0, 0, src.getWidth(), src.getHeight());
+    private boolean calculateBounds(PixelData src, PixelData dst,
+            Rectangle sRct, Rectangle dRct) {
+        sRct.setBounds(0, 0, src.getWidth(), src.getHeight());
         int srcX = 0, srcY = 0;
         if (hasRegion) {
-            sRct = sRct.intersection(srcRegion);
+            sRct.setBounds(sRct.intersection(srcRegion));
             if (sRct.isEmpty()) {
-                return;
+                return false;
             }
             srcX = sRct.x;
             srcY = sRct.y;
         }
-        Rectangle dRct = new Rectangle(0, 0, dst.getWidth(), dst.getHeight());
+        dRct.setBounds(0, 0, dst.getWidth(), dst.getHeight());
         sRct.translate(x - srcX, y - srcY);
         Rectangle intersection = dRct.intersection(sRct);
         if (intersection.isEmpty()) {
-            return;
+            return false;
         }
         sRct.setBounds(intersection);
         dRct.setBounds(intersection);
         sRct.translate(srcX - x, srcY - y);
-        SubPixels srcPD = SubPixels.create(src, sRct.x, sRct.y, sRct.width, sRct.height);
-        SubPixels dstPD = SubPixels.create(dst, dRct.x, dRct.y, dRct.width, dRct.height);
-//        blend.process(srcPD, dstPD);
-        BlendUtil.process(srcPD, dstPD, blendMode, opacity);
+        return true;
     }
     
     @Deprecated
@@ -63,6 +63,7 @@ import java.util.logging.Logger;
 import org.praxislive.video.render.PixelData;
 import org.praxislive.video.render.SurfaceOp;
 import org.praxislive.video.render.utils.PixelArrayCache;
+import org.praxislive.video.render.utils.Tiles;
 
 
 /**
@@ -98,17 +99,6 @@ public class Blur implements SurfaceOp {
 	    final int windowSize = radius * 2 + 1;
 	    final int radiusPlusOne = radius + 1;
 
-	    int sumAlpha;
-	    int sumRed;
-	    int sumGreen;
-	    int sumBlue;
-
-	    int srcIndex = src.getOffset();
-            int srcSL = src.getScanline();
-            int dstSL = dst.getScanline();
-	    int dstIndex;
-	    int pixel;
-
 //	    int[] sumLookupTable = new int[256 * windowSize];
 //	    for (int i = 0; i < sumLookupTable.length; i++) {
 //	        sumLookupTable[i] = i / windowSize;
@@ -134,12 +124,37 @@ public class Blur implements SurfaceOp {
 	        }
 	    }
 
-            int height = src.getHeight();
-//            int dstSL = dst.getScanline();
+            // each source row writes a single destination column, so rows can
+            // be processed in independent bands sharing the read-only lookups
+            Tiles.process(width, src.getHeight(), (start, end)
+                    -> blurRows(src, dst, radius, sumLookupTable, indexLookupTable,
+                            start, end));
+
+            PixelArrayCache.release(sumLookupTable);
+	}
+
+    private static void blurRows(PixelData src, PixelData dst, int radius,
+            int[] sumLookupTable, int[] indexLookupTable,
+            int startRow, int endRow) {
+
+	    final int radiusPlusOne = radius + 1;
+
+	    int sumAlpha;
+	    int sumRed;
+	    int sumGreen;
+	    int sumBlue;
+
+            int srcSL = src.getScanline();
+            int dstSL = dst.getScanline();
+	    int srcIndex = src.getOffset() + startRow * srcSL;
+	    int dstIndex;
+	    int pixel;
+
+            int width = src.getWidth();
             int[] srcPixels = src.getData();
             int[] dstPixels = dst.getData();
 
-	    for (int y = 0; y < height; y++) {
+	    for (int y = startRow; y < endRow; y++) {
 	        sumAlpha = sumRed = sumGreen = sumBlue = 0;
 	        dstIndex = y + dst.getOffset();
 
@@ -192,10 +207,12 @@ public class Blur implements SurfaceOp {
 
 	        srcIndex += srcSL;
 	    }
-
-            PixelArrayCache.release(sumLookupTable);
 	}
 
+    public int getRadius() {
+        return xRadius;
+    }
+
     public static SurfaceOp op(int radius) {
         if (radius < 0) {
             throw new IllegalArgumentException();
@@ -23,14 +23,15 @@ package org.praxislive.video.render.ops;
 
 
 import org.praxislive.video.render.PixelData;
-import org.praxislive.video.render.SurfaceOp;
+import org.praxislive.video.render.TileableOp;
+import org.praxislive.video.render.utils.Tiles;
 import static org.praxislive.video.render.utils.RGBMath.*;
 
 /**
  *
  * @author Neil C Smith
  */
-public class DifferenceOp implements SurfaceOp {
+public class DifferenceOp implements TileableOp {
     
     public static enum Mode {Color, Mono, Threshold};
 
@@ -42,19 +43,36 @@ public class DifferenceOp implements SurfaceOp {
         this.mode = Mode.Color;
     }
 
+    @Override
     public void process(PixelData output, PixelData... inputs) {
         if (inputs.length < 1) {
             return;
         }
+        PixelData input = inputs[0];
+        Tiles.process(this, 0, Math.min(input.getHeight(), output.getHeight()),
+                Math.min(input.getWidth(), output.getWidth()), output, inputs);
+    }
+
+    @Override
+    public void process(int startRow, int endRow,
+            PixelData output, PixelData... inputs) {
+        if (inputs.length < 1) {
+            return;
+        }
+        PixelData input = inputs[0];
+        endRow = Math.min(endRow, Math.min(input.getHeight(), output.getHeight()));
+        if (startRow >= endRow) {
+            return;
+        }
         switch (mode) {
             case Color :
-                processColor(output, inputs[0]);
+                processColor(output, input, startRow, endRow);
                 break;
             case Mono :
-                processMono(output, inputs[0]);
+                processMono(output, input, startRow, endRow);
                 break;
             case Threshold :
-                processThreshold(output, inputs[0]);
+                processThreshold(output, input, startRow, endRow);
                 break;
         }
 
@@ -83,22 +101,22 @@ public class DifferenceOp implements SurfaceOp {
         return mode;
     }
 
-    private void processColor(PixelData output, PixelData input) {
+    private void processColor(PixelData output, PixelData input,
+            int startRow, int endRow) {
         int thres = (int) Math.round(threshold * 256);
         int width = Math.min(input.getWidth(), output.getWidth());
-        int height = Math.min(input.getHeight(), output.getHeight());
         int bgDelta = input.getScanline() - width;
         int fgDelta = output.getScanline() - width;
         int[] bgData = input.getData();
         int[] fgData = output.getData();
-        int bgIdx = 0;
-        int fgIdx = 0;
+        int bgIdx = startRow * input.getScanline();
+        int fgIdx = startRow * output.getScanline();
 
         int fg, fgR, fgG, fgB;
         int bg, bgR, bgG, bgB;
         int maxDelta;
         
-        for (int y = 0; y < height; y++) {
+        for (int y = startRow; y < endRow; y++) {
                 for (int x = 0; x < width; x++) {
                     fg = fgData[fgIdx];
                     fgR = (fg & RED_MASK) >>> 16;
@@ -131,22 +149,22 @@ public class DifferenceOp implements SurfaceOp {
         
     }
 
-    private void processMono(PixelData output, PixelData input) {
+    private void processMono(PixelData output, PixelData input,
+            int startRow, int endRow) {
         int thres = (int) Math.round(threshold * 256);
         int width = Math.min(input.getWidth(), output.getWidth());
-        int height = Math.min(input.getHeight(), output.getHeight());
         int bgDelta = input.getScanline() - width;
         int fgDelta = output.getScanline() - width;
         int[] bgData = input.getData();
         int[] fgData = output.getData();
-        int bgIdx = 0;
-        int fgIdx = 0;
+        int bgIdx = startRow * input.getScanline();
+        int fgIdx = startRow * output.getScanline();
 
         int fg, fgR, fgG, fgB;
         int bg, bgR, bgG, bgB;
         int maxDelta;
         
-        for (int y = 0; y < height; y++) {
+        for (int y = startRow; y < endRow; y++) {
                 for (int x = 0; x < width; x++) {
                     fg = fgData[fgIdx];
                     fgR = (fg & RED_MASK) >>> 16;
@@ -179,16 +197,16 @@ public class DifferenceOp implements SurfaceOp {
         
     }
 
-    private void processThreshold(PixelData output, PixelData input) {
+    private void processThreshold(PixelData output, PixelData input,
+            int startRow, int endRow) {
         int thres = (int) Math.round(threshold * 256);
         int width = Math.min(input.getWidth(), output.getWidth());
-        int height = Math.min(input.getHeight(), output.getHeight());
         int bgDelta = input.getScanline() - width;
         int fgDelta = output.getScanline() - width;
         int[] bgData = input.getData();
         int[] fgData = output.getData();
-        int bgIdx = 0;
-        int fgIdx = 0;
+        int bgIdx = startRow * input.getScanline();
+        int fgIdx = startRow * output.getScanline();
 
         int fg, fgR, fgG, fgB;
         int bg, bgR, bgG, bgB;
@@ -196,7 +214,7 @@ public class DifferenceOp implements SurfaceOp {
         
         boolean alpha = output.hasAlpha();
         
-        for (int y = 0; y < height; y++) {
+        for (int y = startRow; y < endRow; y++) {
                 for (int x = 0; x < width; x++) {
                     fg = fgData[fgIdx];
                     fgR = (fg & RED_MASK) >>> 16;
@@ -31,7 +31,12 @@ abstract class RGBComposite {
     final static RGBComposite SCREEN = new RGBComposite.Screen();
     final static RGBComposite SUB = new RGBComposite.Sub();
     
-    
+    // Kernels work on two 8-bit channels per int operation where possible
+    // (red + blue, alpha + green), with each channel in its own 16-bit lane
+    // so that products cannot spill into the neighbouring channel. Results
+    // match per-channel mult() / blend() exactly for premultiplied data.
+    private final static int RB_MASK = 0x00FF00FF;
+    private final static int AG_MASK = 0xFF00FF00;
 
     private RGBComposite() {
     }
@@ -40,6 +45,28 @@ abstract class RGBComposite {
 
     abstract void argb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha);
 
+    /**
+     * Multiply all four channels of px by (alpha + 1) / 256, as per
+     * RGBMath.mult().
+     */
+    static int scale(int px, int alpha) {
+        if (alpha == 255) {
+            return px;
+        }
+        int m = alpha + 1;
+        return (((px & RB_MASK) * m) >>> 8) & RB_MASK
+                | (((px >>> 8) & RB_MASK) * m) & AG_MASK;
+    }
+
+    /**
+     * Multiply all four channels of px by multiplier / 256, two channels per
+     * multiply.
+     */
+    static int lerpDest(int px, int multiplier) {
+        return (((px & RB_MASK) * multiplier) >>> 8) & RB_MASK
+                | (((px >>> 8) & RB_MASK) * multiplier) & AG_MASK;
+    }
+
     static class Add extends RGBComposite {
 
         private Add() {
@@ -47,26 +74,17 @@ abstract class RGBComposite {
 
         @Override
         void rgb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
-            int srcPx, destPx, srcR, srcG, srcB, destR, destG, destB;
             for (int i = 0; i < length; i++) {
-                srcPx = src[srcPos];
-                destPx = dest[destPos];
-                if (alpha == 255) {
-                    srcR = (srcPx & RED_MASK) >>> 16;
-                    srcG = (srcPx & GREEN_MASK) >>> 8;
-                    srcB = srcPx & BLUE_MASK;
-                } else {
-                    srcR = mult((srcPx & RED_MASK) >>> 16, alpha);
-                    srcG = mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                    srcB = mult(srcPx & BLUE_MASK, alpha);
-                }
-                destR = (destPx & RED_MASK) >>> 16;
-                destG = (destPx & GREEN_MASK) >>> 8;
-                destB = (destPx & BLUE_MASK);
-
-                dest[destPos] = min(srcR + destR, 0xFF) << 16
-                        | min(srcG + destG, 0xFF) << 8
-                        | min(srcB + destB, 0xFF);
+                int srcPx = scale(src[srcPos], alpha);
+                int destPx = dest[destPos];
+
+                // saturating add, overflow bit of each lane becomes 0xFF
+                int rb = (srcPx & RB_MASK) + (destPx & RB_MASK);
+                int g = (srcPx & GREEN_MASK) + (destPx & GREEN_MASK);
+                rb |= 0x1000100 - ((rb >>> 8) & 0x10001);
+                g |= 0x10000 - ((g >>> 8) & 0x100);
+
+                dest[destPos] = (rb & RB_MASK) | (g & GREEN_MASK);
 
                 srcPos++;
                 destPos++;
@@ -77,26 +95,17 @@ abstract class RGBComposite {
         @Override
         void argb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
             for (int i = 0; i < length; i++) {
-                int srcPx = src[srcPos];
+                int srcPx = scale(src[srcPos], alpha);
                 int destPx = dest[destPos];
-                int srcA = (alpha == 255) ? (srcPx & ALPHA_MASK) >>> 24
-                        : mult((srcPx & ALPHA_MASK) >>> 24, alpha);
-                int srcR = (alpha == 255) ? (srcPx & RED_MASK) >>> 16
-                        : mult((srcPx & RED_MASK) >>> 16, alpha);
-                int srcG = (alpha == 255) ? (srcPx & GREEN_MASK) >>> 8
-                        : mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                int srcB = (alpha == 255) ? (srcPx & BLUE_MASK)
-                        : mult(srcPx & BLUE_MASK, alpha);
-                int destA = (destPx & ALPHA_MASK) >>> 24;
+                int srcA = srcPx >>> 24;
+                int srcR = (srcPx & RED_MASK) >>> 16;
+                int srcG = (srcPx & GREEN_MASK) >>> 8;
+                int srcB = srcPx & BLUE_MASK;
+                int destA = destPx >>> 24;
                 int destR = (destPx & RED_MASK) >>> 16;
                 int destG = (destPx & GREEN_MASK) >>> 8;
                 int destB = (destPx & BLUE_MASK);
 
-//                destOut[destOutPos] = min(srcA + destA, 0xFF) << 24 |
-//                        min(srcR + destR, 0xFF) << 16 |
-//                        min(srcG + destG, 0xFF) << 8 |
-//                        min(srcB + destB, 0xFF);
-
                 int a = min(srcA + destA, 0xFF);
                 dest[destPos] = a << 24
                         | min(srcR + destR, a) << 16
@@ -116,22 +125,12 @@ abstract class RGBComposite {
 
         @Override
         void rgb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
+            int inv = 0xFF - alpha;
             for (int i = 0; i < length; i++) {
-                int srcPx = src[srcPos];
-                int destPx = dest[destPos];
-                int srcR = (alpha == 255) ? (srcPx & RED_MASK) >>> 16
-                        : mult((srcPx & RED_MASK) >>> 16, alpha);
-                int srcG = (alpha == 255) ? (srcPx & GREEN_MASK) >>> 8
-                        : mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                int srcB = (alpha == 255) ? (srcPx & BLUE_MASK)
-                        : mult(srcPx & BLUE_MASK, alpha);
-                int destR = (destPx & RED_MASK) >>> 16;
-                int destG = (destPx & GREEN_MASK) >>> 8;
-                int destB = (destPx & BLUE_MASK);
+                int srcPx = scale(src[srcPos], alpha) & 0xFFFFFF;
+                int destPx = lerpDest(dest[destPos], inv) & 0xFFFFFF;
 
-                dest[destPos] = blend(srcR, destR, alpha) << 16
-                        | blend(srcG, destG, alpha) << 8
-                        | blend(srcB, destB, alpha);
+                dest[destPos] = srcPx + destPx;
 
                 srcPos++;
                 destPos++;
@@ -142,25 +141,11 @@ abstract class RGBComposite {
         @Override
         void argb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
             for (int i = 0; i < length; i++) {
-                int srcPx = src[srcPos];
-                int destPx = dest[destPos];
-                int srcA = (alpha == 255) ? (srcPx & ALPHA_MASK) >>> 24
-                        : mult((srcPx & ALPHA_MASK) >>> 24, alpha);
-                int srcR = (alpha == 255) ? (srcPx & RED_MASK) >>> 16
-                        : mult((srcPx & RED_MASK) >>> 16, alpha);
-                int srcG = (alpha == 255) ? (srcPx & GREEN_MASK) >>> 8
-                        : mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                int srcB = (alpha == 255) ? (srcPx & BLUE_MASK)
-                        : mult(srcPx & BLUE_MASK, alpha);
-                int destA = (destPx & ALPHA_MASK) >>> 24;
-                int destR = (destPx & RED_MASK) >>> 16;
-                int destG = (destPx & GREEN_MASK) >>> 8;
-                int destB = (destPx & BLUE_MASK);
+                int srcPx = scale(src[srcPos], alpha);
+                int destPx = lerpDest(dest[destPos], 0xFF - (srcPx >>> 24));
 
-                dest[destPos] = blend(srcA, destA, srcA) << 24
-                        | blend(srcR, destR, srcA) << 16
-                        | blend(srcG, destG, srcA) << 8
-                        | blend(srcB, destB, srcA);
+                dest[destPos] = ((srcPx & RB_MASK) + (destPx & RB_MASK))
+                        | ((srcPx & AG_MASK) + (destPx & AG_MASK));
 
                 srcPos++;
                 destPos++;
@@ -177,21 +162,10 @@ abstract class RGBComposite {
         @Override
         void rgb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
             for (int i = 0; i < length; i++) {
-                int srcPx = src[srcPos];
+                int srcPx = scale(src[srcPos], alpha);
                 int destPx = dest[destPos];
-                int srcR = (alpha == 255) ? (srcPx & RED_MASK) >>> 16
-                        : mult((srcPx & RED_MASK) >>> 16, alpha);
-                int srcG = (alpha == 255) ? (srcPx & GREEN_MASK) >>> 8
-                        : mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                int srcB = (alpha == 255) ? (srcPx & BLUE_MASK)
-                        : mult(srcPx & BLUE_MASK, alpha);
-                int destR = (destPx & RED_MASK) >>> 16;
-                int destG = (destPx & GREEN_MASK) >>> 8;
-                int destB = (destPx & BLUE_MASK);
 
-                dest[destPos] = max(destR - srcR, 0) << 16
-                        | max(destG - srcG, 0) << 8
-                        | max(destB - srcB, 0);
+                dest[destPos] = subRGB(srcPx, destPx);
 
                 srcPos++;
                 destPos++;
@@ -202,31 +176,27 @@ abstract class RGBComposite {
         @Override
         void argb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
             for (int i = 0; i < length; i++) {
-                int srcPx = src[srcPos];
+                int srcPx = scale(src[srcPos], alpha);
                 int destPx = dest[destPos];
-                int srcA = (alpha == 255) ? (srcPx & ALPHA_MASK) >>> 24
-                        : mult((srcPx & ALPHA_MASK) >>> 24, alpha);
-                int srcR = (alpha == 255) ? (srcPx & RED_MASK) >>> 16
-                        : mult((srcPx & RED_MASK) >>> 16, alpha);
-                int srcG = (alpha == 255) ? (srcPx & GREEN_MASK) >>> 8
-                        : mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                int srcB = (alpha == 255) ? (srcPx & BLUE_MASK)
-                        : mult(srcPx & BLUE_MASK, alpha);
-                int destA = (destPx & ALPHA_MASK) >>> 24;
-                int destR = (destPx & RED_MASK) >>> 16;
-                int destG = (destPx & GREEN_MASK) >>> 8;
-                int destB = (destPx & BLUE_MASK);
+                int srcA = srcPx >>> 24;
 
-                dest[destPos] = blend(srcA, destA, srcA) << 24
-                        | max(destR - srcR, 0) << 16
-                        | max(destG - srcG, 0) << 8
-                        | max(destB - srcB, 0);
+                dest[destPos] = blend(srcA, destPx >>> 24, srcA) << 24
+                        | subRGB(srcPx, destPx);
 
                 srcPos++;
                 destPos++;
             }
 
         }
+
+        // saturating dest - src, lanes that borrow are cleared
+        private static int subRGB(int srcPx, int destPx) {
+            int rb = ((destPx & RB_MASK) | 0x1000100) - (srcPx & RB_MASK);
+            int g = ((destPx & GREEN_MASK) | 0x10000) - (srcPx & GREEN_MASK);
+            rb &= ((rb >>> 8) & 0x10001) * 0xFF;
+            g &= ((g >>> 8) & 0x100) * 0xFF;
+            return (rb & RB_MASK) | (g & GREEN_MASK);
+        }
     }
 
     static class Difference extends RGBComposite {
@@ -237,14 +207,11 @@ abstract class RGBComposite {
         @Override
         void rgb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
             for (int i = 0; i < length; i++) {
-                int srcPx = src[srcPos];
+                int srcPx = scale(src[srcPos], alpha);
                 int destPx = dest[destPos];
-                int srcR = (alpha == 255) ? (srcPx & RED_MASK) >>> 16
-                        : mult((srcPx & RED_MASK) >>> 16, alpha);
-                int srcG = (alpha == 255) ? (srcPx & GREEN_MASK) >>> 8
-                        : mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                int srcB = (alpha == 255) ? (srcPx & BLUE_MASK)
-                        : mult(srcPx & BLUE_MASK, alpha);
+                int srcR = (srcPx & RED_MASK) >>> 16;
+                int srcG = (srcPx & GREEN_MASK) >>> 8;
+                int srcB = srcPx & BLUE_MASK;
                 int destR = (destPx & RED_MASK) >>> 16;
                 int destG = (destPx & GREEN_MASK) >>> 8;
                 int destB = (destPx & BLUE_MASK);
@@ -264,26 +231,17 @@ abstract class RGBComposite {
         @Override
         void argb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
             for (int i = 0; i < length; i++) {
-                int srcPx = src[srcPos];
+                int srcPx = scale(src[srcPos], alpha);
                 int destPx = dest[destPos];
-                int srcA = (alpha == 255) ? (srcPx & ALPHA_MASK) >>> 24
-                        : mult((srcPx & ALPHA_MASK) >>> 24, alpha);
-                int srcR = (alpha == 255) ? (srcPx & RED_MASK) >>> 16
-                        : mult((srcPx & RED_MASK) >>> 16, alpha);
-                int srcG = (alpha == 255) ? (srcPx & GREEN_MASK) >>> 8
-                        : mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                int srcB = (alpha == 255) ? (srcPx & BLUE_MASK)
-                        : mult(srcPx & BLUE_MASK, alpha);
-                int destA = (destPx & ALPHA_MASK) >>> 24;
+                int srcA = srcPx >>> 24;
+                int srcR = (srcPx & RED_MASK) >>> 16;
+                int srcG = (srcPx & GREEN_MASK) >>> 8;
+                int srcB = srcPx & BLUE_MASK;
+                int destA = destPx >>> 24;
                 int destR = (destPx & RED_MASK) >>> 16;
                 int destG = (destPx & GREEN_MASK) >>> 8;
                 int destB = (destPx & BLUE_MASK);
 
-//                destOut[destOutPos] = blend(srcA, destA, srcA) << 24 |
-//                        diff(srcR, destR) << 16 |
-//                        diff(srcG, destG) << 8 |
-//                        diff(srcB, destB);
-
                 dest[destPos] = blend(srcA, destA, srcA) << 24
                         | (srcR + destR - (2 * min(mult(srcR, destA), mult(destR, srcA)))) << 16
                         | (srcG + destG - (2 * min(mult(srcG, destA), mult(destG, srcA)))) << 8
@@ -304,21 +262,7 @@ abstract class RGBComposite {
         @Override
         void rgb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
             for (int i = 0; i < length; i++) {
-                int srcPx = src[srcPos];
-                int destPx = dest[destPos];
-                int srcR = (alpha == 255) ? (srcPx & RED_MASK) >>> 16
-                        : mult((srcPx & RED_MASK) >>> 16, alpha);
-                int srcG = (alpha == 255) ? (srcPx & GREEN_MASK) >>> 8
-                        : mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                int srcB = (alpha == 255) ? (srcPx & BLUE_MASK)
-                        : mult(srcPx & BLUE_MASK, alpha);
-                int destR = (destPx & RED_MASK) >>> 16;
-                int destG = (destPx & GREEN_MASK) >>> 8;
-                int destB = (destPx & BLUE_MASK);
-
-                dest[destPos] = (srcR ^ destR) << 16
-                        | (srcG ^ destG) << 8
-                        | (srcB ^ destB);
+                dest[destPos] = (scale(src[srcPos], alpha) ^ dest[destPos]) & 0xFFFFFF;
 
                 srcPos++;
                 destPos++;
@@ -329,25 +273,12 @@ abstract class RGBComposite {
         @Override
         void argb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
             for (int i = 0; i < length; i++) {
-                int srcPx = src[srcPos];
+                int srcPx = scale(src[srcPos], alpha);
                 int destPx = dest[destPos];
-                int srcA = (alpha == 255) ? (srcPx & ALPHA_MASK) >>> 24
-                        : mult((srcPx & ALPHA_MASK) >>> 24, alpha);
-                int srcR = (alpha == 255) ? (srcPx & RED_MASK) >>> 16
-                        : mult((srcPx & RED_MASK) >>> 16, alpha);
-                int srcG = (alpha == 255) ? (srcPx & GREEN_MASK) >>> 8
-                        : mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                int srcB = (alpha == 255) ? (srcPx & BLUE_MASK)
-                        : mult(srcPx & BLUE_MASK, alpha);
-                int destA = (destPx & ALPHA_MASK) >>> 24;
-                int destR = (destPx & RED_MASK) >>> 16;
-                int destG = (destPx & GREEN_MASK) >>> 8;
-                int destB = (destPx & BLUE_MASK);
+                int srcA = srcPx >>> 24;
 
-                dest[destPos] = blend(srcA, destA, srcA) << 24
-                        | (srcR ^ destR) << 16
-                        | (srcG ^ destG) << 8
-                        | (srcB ^ destB);
+                dest[destPos] = blend(srcA, destPx >>> 24, srcA) << 24
+                        | (srcPx ^ destPx) & 0xFFFFFF;
 
                 srcPos++;
                 destPos++;
@@ -364,14 +295,11 @@ abstract class RGBComposite {
         @Override
         void rgb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
             for (int i = 0; i < length; i++) {
-                int srcPx = src[srcPos];
+                int srcPx = scale(src[srcPos], alpha);
                 int destPx = dest[destPos];
-                int srcR = (alpha == 255) ? (srcPx & RED_MASK) >>> 16
-                        : mult((srcPx & RED_MASK) >>> 16, alpha);
-                int srcG = (alpha == 255) ? (srcPx & GREEN_MASK) >>> 8
-                        : mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                int srcB = (alpha == 255) ? (srcPx & BLUE_MASK)
-                        : mult(srcPx & BLUE_MASK, alpha);
+                int srcR = (srcPx & RED_MASK) >>> 16;
+                int srcG = (srcPx & GREEN_MASK) >>> 8;
+                int srcB = srcPx & BLUE_MASK;
                 int destR = (destPx & RED_MASK) >>> 16;
                 int destG = (destPx & GREEN_MASK) >>> 8;
                 int destB = (destPx & BLUE_MASK);
@@ -389,17 +317,13 @@ abstract class RGBComposite {
         @Override
         void argb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
             for (int i = 0; i < length; i++) {
-                int srcPx = src[srcPos];
+                int srcPx = scale(src[srcPos], alpha);
                 int destPx = dest[destPos];
-                int srcA = (alpha == 255) ? (srcPx & ALPHA_MASK) >>> 24
-                        : mult((srcPx & ALPHA_MASK) >>> 24, alpha);
-                int srcR = (alpha == 255) ? (srcPx & RED_MASK) >>> 16
-                        : mult((srcPx & RED_MASK) >>> 16, alpha);
-                int srcG = (alpha == 255) ? (srcPx & GREEN_MASK) >>> 8
-                        : mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                int srcB = (alpha == 255) ? (srcPx & BLUE_MASK)
-                        : mult(srcPx & BLUE_MASK, alpha);
-                int destA = (destPx & ALPHA_MASK) >>> 24;
+                int srcA = srcPx >>> 24;
+                int srcR = (srcPx & RED_MASK) >>> 16;
+                int srcG = (srcPx & GREEN_MASK) >>> 8;
+                int srcB = srcPx & BLUE_MASK;
+                int destA = destPx >>> 24;
                 int destR = (destPx & RED_MASK) >>> 16;
                 int destG = (destPx & GREEN_MASK) >>> 8;
                 int destB = (destPx & BLUE_MASK);
@@ -425,14 +349,11 @@ abstract class RGBComposite {
         @Override
         void rgb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
             for (int i = 0; i < length; i++) {
-                int srcPx = src[srcPos];
+                int srcPx = scale(src[srcPos], alpha);
                 int destPx = dest[destPos];
-                int srcR = (alpha == 255) ? (srcPx & RED_MASK) >>> 16
-                        : mult((srcPx & RED_MASK) >>> 16, alpha);
-                int srcG = (alpha == 255) ? (srcPx & GREEN_MASK) >>> 8
-                        : mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                int srcB = (alpha == 255) ? (srcPx & BLUE_MASK)
-                        : mult(srcPx & BLUE_MASK, alpha);
+                int srcR = (srcPx & RED_MASK) >>> 16;
+                int srcG = (srcPx & GREEN_MASK) >>> 8;
+                int srcB = srcPx & BLUE_MASK;
                 int destR = (destPx & RED_MASK) >>> 16;
                 int destG = (destPx & GREEN_MASK) >>> 8;
                 int destB = (destPx & BLUE_MASK);
@@ -453,17 +374,13 @@ abstract class RGBComposite {
         @Override
         public void argb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
             for (int i = 0; i < length; i++) {
-                int srcPx = src[srcPos];
+                int srcPx = scale(src[srcPos], alpha);
                 int destPx = dest[destPos];
-                int srcA = (alpha == 255) ? (srcPx & ALPHA_MASK) >>> 24
-                        : mult((srcPx & ALPHA_MASK) >>> 24, alpha);
-                int srcR = (alpha == 255) ? (srcPx & RED_MASK) >>> 16
-                        : mult((srcPx & RED_MASK) >>> 16, alpha);
-                int srcG = (alpha == 255) ? (srcPx & GREEN_MASK) >>> 8
-                        : mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                int srcB = (alpha == 255) ? (srcPx & BLUE_MASK)
-                        : mult(srcPx & BLUE_MASK, alpha);
-                int destA = (destPx & ALPHA_MASK) >>> 24;
+                int srcA = srcPx >>> 24;
+                int srcR = (srcPx & RED_MASK) >>> 16;
+                int srcG = (srcPx & GREEN_MASK) >>> 8;
+                int srcB = srcPx & BLUE_MASK;
+                int destA = destPx >>> 24;
                 int destR = (destPx & RED_MASK) >>> 16;
                 int destG = (destPx & GREEN_MASK) >>> 8;
                 int destB = (destPx & BLUE_MASK);
@@ -488,14 +405,11 @@ abstract class RGBComposite {
         @Override
         void rgb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
             for (int i = 0; i < length; i++) {
-                int srcPx = src[srcPos];
+                int srcPx = scale(src[srcPos], alpha);
                 int destPx = dest[destPos];
-                int srcR = (alpha == 255) ? (srcPx & RED_MASK) >>> 16
-                        : mult((srcPx & RED_MASK) >>> 16, alpha);
-                int srcG = (alpha == 255) ? (srcPx & GREEN_MASK) >>> 8
-                        : mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                int srcB = (alpha == 255) ? (srcPx & BLUE_MASK)
-                        : mult(srcPx & BLUE_MASK, alpha);
+                int srcR = (srcPx & RED_MASK) >>> 16;
+                int srcG = (srcPx & GREEN_MASK) >>> 8;
+                int srcB = srcPx & BLUE_MASK;
                 int destR = (destPx & RED_MASK) >>> 16;
                 int destG = (destPx & GREEN_MASK) >>> 8;
                 int destB = (destPx & BLUE_MASK);
@@ -516,26 +430,17 @@ abstract class RGBComposite {
         @Override
         void argb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
             for (int i = 0; i < length; i++) {
-                int srcPx = src[srcPos];
+                int srcPx = scale(src[srcPos], alpha);
                 int destPx = dest[destPos];
-                int srcA = (alpha == 255) ? (srcPx & ALPHA_MASK) >>> 24
-                        : mult((srcPx & ALPHA_MASK) >>> 24, alpha);
-                int srcR = (alpha == 255) ? (srcPx & RED_MASK) >>> 16
-                        : mult((srcPx & RED_MASK) >>> 16, alpha);
-                int srcG = (alpha == 255) ? (srcPx & GREEN_MASK) >>> 8
-                        : mult((srcPx & GREEN_MASK) >>> 8, alpha);
-                int srcB = (alpha == 255) ? (srcPx & BLUE_MASK)
-                        : mult(srcPx & BLUE_MASK, alpha);
-                int destA = (destPx & ALPHA_MASK) >>> 24;
+                int srcA = srcPx >>> 24;
+                int srcR = (srcPx & RED_MASK) >>> 16;
+                int srcG = (srcPx & GREEN_MASK) >>> 8;
+                int srcB = srcPx & BLUE_MASK;
+                int destA = destPx >>> 24;
                 int destR = (destPx & RED_MASK) >>> 16;
                 int destG = (destPx & GREEN_MASK) >>> 8;
                 int destB = (destPx & BLUE_MASK);
 
-//                dest[destPos] = blend(srcA, destA, srcA) << 24 |
-//                        (mult(srcR, destR) + mult(destR, 255 - srcA) + mult(srcR, 255 - destA)) << 16 |
-//                        (mult(srcG, destG) + mult(destG, 255 - srcA) + mult(srcG, 255 - destA)) << 8 |
-//                        mult(srcB, destB) + mult(destB, 255 - srcA) + mult(srcB, 255 - destA);
-
                 dest[destPos] = (alpha == 255) ? mult(srcA, destA) << 24
                         | mult(srcR, destR) << 16
                         | mult(srcG, destG) << 8
@@ -26,14 +26,15 @@ import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import org.praxislive.video.render.PixelData;
-import org.praxislive.video.render.SurfaceOp;
+import org.praxislive.video.render.TileableOp;
 import org.praxislive.video.render.utils.ImageUtils;
+import org.praxislive.video.render.utils.Tiles;
 
 /**
  *
  * @author Neil C Smith (http://neilcsmith.net)
  */
-public class ScaledBlit implements SurfaceOp {
+public class ScaledBlit implements TileableOp {
 
     private final Rectangle srcRegion = new Rectangle();
     private final Rectangle dstRegion = new Rectangle();
@@ -144,22 +145,43 @@ public class ScaledBlit implements SurfaceOp {
         return opacity;
     }
 
+    @Override
     public void process(PixelData output, PixelData... inputs) {
         if (inputs.length < 1) {
             return;
         }
+        Rectangle bounds = destinationBounds(output);
+        if (!bounds.isEmpty()) {
+            Tiles.process(this, bounds.y, bounds.y + bounds.height, bounds.width,
+                    output, inputs);
+        }
+    }
+
+    @Override
+    public void process(int startRow, int endRow,
+            PixelData output, PixelData... inputs) {
+        if (inputs.length < 1) {
+            return;
+        }
         AlphaComposite cmp = compositeFromBlend();
         if (cmp != null) {
-            processDirect(cmp, output, inputs[0]);
+            processDirect(cmp, startRow, endRow, output, inputs[0]);
         } else {
-            processIndirect(output, inputs[0]);
+            processIndirect(startRow, endRow, output, inputs[0]);
         }
     }
 
-    private void processDirect(AlphaComposite cmp, PixelData output, PixelData input) {
+    private Rectangle destinationBounds(PixelData output) {
+        Rectangle bounds = new Rectangle(0, 0, output.getWidth(), output.getHeight());
+        return hasDstRegion ? bounds.intersection(dstRegion) : bounds;
+    }
+
+    private void processDirect(AlphaComposite cmp, int startRow, int endRow,
+            PixelData output, PixelData input) {
         BufferedImage out = ImageUtils.toImage(output);
         BufferedImage in = ImageUtils.toImage(input);
         Graphics2D g2d = out.createGraphics();
+        g2d.clipRect(0, startRow, out.getWidth(), endRow - startRow);
         g2d.setComposite(cmp);
         int sx1 = hasSrcRegion ? srcRegion.x : 0;
         int sy1 = hasSrcRegion ? srcRegion.y : 0;
@@ -170,6 +192,7 @@ public class ScaledBlit implements SurfaceOp {
         int dx2 = hasDstRegion ? dx1 + dstRegion.width : out.getWidth();
         int dy2 = hasDstRegion ? dy1 + dstRegion.height : out.getHeight();
         g2d.drawImage(in, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null);
+        g2d.dispose();
     }
 
     private AlphaComposite compositeFromBlend() {
@@ -181,7 +204,8 @@ public class ScaledBlit implements SurfaceOp {
 
     }
 
-    private void processIndirect(PixelData output, PixelData input) {
+    private void processIndirect(int startRow, int endRow,
+            PixelData output, PixelData input) {
         int sx1 = hasSrcRegion ? srcRegion.x : 0;
         int sy1 = hasSrcRegion ? srcRegion.y : 0;
         int sx2 = hasSrcRegion ? sx1 + srcRegion.width : input.getWidth();
@@ -191,22 +215,27 @@ public class ScaledBlit implements SurfaceOp {
         int dw = hasDstRegion ? dstRegion.width : output.getWidth();
         int dh = hasDstRegion ? dstRegion.height : output.getHeight();
 
-        if (dw <= 0 || dh <= 0) {
+        // only the destination rows within this band
+        int start = Math.max(startRow, dy);
+        int end = Math.min(endRow, dy + dh);
+        if (dw <= 0 || start >= end) {
             return;
         }
 
         // get temp data
-        TempData tmp = TempData.create(dw, dh, input.hasAlpha());
+        TempData tmp = TempData.create(dw, end - start, input.hasAlpha());
 
         // draw to temp
         BufferedImage tmpIm = ImageUtils.toImage(tmp);
         BufferedImage in = ImageUtils.toImage(input);
         Graphics2D g2d = tmpIm.createGraphics();
         g2d.setComposite(AlphaComposite.Src);
+        g2d.translate(0, dy - start);
         g2d.drawImage(in, 0, 0, dw, dh, sx1, sy1, sx2, sy2, null);
+        g2d.dispose();
 
-//        Blit.op(blend, dx, dy).process(output, tmp);
-        new Blit().setX(dx).setY(dy).setBlendMode(blendMode).setOpacity(opacity).process(output, tmp);
+        new Blit().setX(dx).setY(start).setBlendMode(blendMode).setOpacity(opacity)
+                .process(start, end, output, tmp);
 
         tmp.release();
     }
@@ -28,14 +28,15 @@ import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.util.logging.Logger;
 import org.praxislive.video.render.PixelData;
-import org.praxislive.video.render.SurfaceOp;
+import org.praxislive.video.render.TileableOp;
 import org.praxislive.video.render.utils.ImageUtils;
+import org.praxislive.video.render.utils.Tiles;
 
 /**
  *
  * @author Neil C Smith (http://neilcsmith.net)
  */
-public class TransformBlit implements SurfaceOp {
+public class TransformBlit implements TileableOp {
     
     private final static Logger LOG = Logger.getLogger(TransformBlit.class.getName());
 
@@ -155,23 +156,53 @@ public class TransformBlit implements SurfaceOp {
         return opacity;
     }
 
+    @Override
     public void process(PixelData output, PixelData... inputs) {
         if (inputs.length < 1) {
             return;
         }
+        Rectangle bounds = destinationBounds(output);
+        if (!bounds.isEmpty()) {
+            Tiles.process(this, bounds.y, bounds.y + bounds.height, bounds.width,
+                    output, inputs);
+        }
+    }
+
+    @Override
+    public void process(int startRow, int endRow,
+            PixelData output, PixelData... inputs) {
+        if (inputs.length < 1) {
+            return;
+        }
         AlphaComposite cmp = compositeFromBlend();
         if (cmp != null) {
-            processDirect(cmp, output, inputs[0]);
+            processDirect(cmp, startRow, endRow, output, inputs[0]);
         } else {
-            processIndirect(output, inputs[0]);
+            processIndirect(startRow, endRow, output, inputs[0]);
         }
     }
 
-    private void processDirect(AlphaComposite cmp, PixelData output, PixelData input) {
+    private Rectangle destinationRegion(PixelData output) {
+        return hasDstRegion ? new Rectangle(dstRegion)
+                : new Rectangle(0, 0, output.getWidth(), output.getHeight());
+    }
+
+    // bounds of the transformed destination region in output space
+    private Rectangle destinationBounds(PixelData output) {
+        Rectangle bounds = transform.createTransformedShape(
+                destinationRegion(output)).getBounds();
+        return bounds.intersection(
+                new Rectangle(0, 0, output.getWidth(), output.getHeight()));
+    }
+
+    private void processDirect(AlphaComposite cmp, int startRow, int endRow,
+            PixelData output, PixelData input) {
         LOG.fine("Processing TransformBlit direct");
         BufferedImage out = ImageUtils.toImage(output);
         BufferedImage in = ImageUtils.toImage(input);
         Graphics2D g2d = out.createGraphics();
+        // clip in output space before setting the transform
+        g2d.clipRect(0, startRow, out.getWidth(), endRow - startRow);
         g2d.setComposite(cmp);
         g2d.setTransform(transform);
         int sx1 = hasSrcRegion ? srcRegion.x : 0;
@@ -183,6 +214,7 @@ public class TransformBlit implements SurfaceOp {
         int dx2 = hasDstRegion ? dx1 + dstRegion.width : out.getWidth();
         int dy2 = hasDstRegion ? dy1 + dstRegion.height : out.getHeight();
         g2d.drawImage(in, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null);
+        g2d.dispose();
     }
 
     private AlphaComposite compositeFromBlend() {
@@ -194,27 +226,21 @@ public class TransformBlit implements SurfaceOp {
 
     }
 
-    private void processIndirect(PixelData output, PixelData input) {
+    private void processIndirect(int startRow, int endRow,
+            PixelData output, PixelData input) {
         int sx1 = hasSrcRegion ? srcRegion.x : 0;
         int sy1 = hasSrcRegion ? srcRegion.y : 0;
         int sx2 = hasSrcRegion ? sx1 + srcRegion.width : input.getWidth();
         int sy2 = hasSrcRegion ? sy1 + srcRegion.height : input.getHeight();
-        
-        if (!hasDstRegion) {
-            dstRegion.setBounds(0, 0, output.getWidth(), output.getHeight());
-        }
-        
-        Rectangle bounds = transform.createTransformedShape(dstRegion).getBounds();
-        bounds = bounds.intersection(new Rectangle(0,0,output.getWidth(), output.getHeight()));
-        LOG.fine("Calculated bounds\n" + bounds);
-//        int dx = hasDstRegion ? dstRegion.x : 0;
-//        int dy = hasDstRegion ? dstRegion.y : 0;
-//        int dw = hasDstRegion ? dstRegion.width : output.getWidth();
-//        int dh = hasDstRegion ? dstRegion.height : output.getHeight();
 
-//        if (dw <= 0 || dh <= 0) {
-//            return;
-//        }
+        Rectangle dst = destinationRegion(output);
+        // only the transformed bounds within this band
+        Rectangle bounds = destinationBounds(output).intersection(
+                new Rectangle(0, startRow, output.getWidth(), endRow - startRow));
+        LOG.fine("Calculated bounds\n" + bounds);
+        if (bounds.isEmpty()) {
+            return;
+        }
 
         // get temp data
         TempData tmp = TempData.create(bounds.width, bounds.height, true);
@@ -225,16 +251,17 @@ public class TransformBlit implements SurfaceOp {
         Graphics2D g2d = tmpIm.createGraphics();
         g2d.setComposite(AlphaComposite.Src);
         g2d.translate(-bounds.x, -bounds.y);
-        g2d.transform(transform);   
-        
-        g2d.drawImage(in, 
-                dstRegion.x, dstRegion.y, 
-                dstRegion.x + dstRegion.width, 
-                dstRegion.y + dstRegion.height, 
+        g2d.transform(transform);
+
+        g2d.drawImage(in,
+                dst.x, dst.y,
+                dst.x + dst.width,
+                dst.y + dst.height,
                 sx1, sy1, sx2, sy2, null);
+        g2d.dispose();
 
-//        Blit.op(blend, dx, dy).process(output, tmp);
-        new Blit().setX(bounds.x).setY(bounds.y).setBlendMode(blendMode).setOpacity(opacity).process(output, tmp);
+        new Blit().setX(bounds.x).setY(bounds.y).setBlendMode(blendMode).setOpacity(opacity)
+                .process(bounds.y, bounds.y + bounds.height, output, tmp);
 
         tmp.release();
     }
@@ -0,0 +1,230 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.render.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A shared cache of decoded images, keyed by URI and (for file URIs)
+ * modification time. Surfaces returned from the cache are shared between all
+ * users and must be treated as read-only.
+ * <p>
+ * Recently used images are retained up to a memory limit, evicting least
+ * recently used first. Evicted images that are still referenced elsewhere
+ * remain available without decoding again until they are garbage collected.
+ * The limit in megabytes can be set using the system property
+ * <code>praxis.video.imagecache.size</code> (default 128).
+ *
+ * @author Neil C Smith
+ */
+public class ImageCache {
+
+    private final static Logger LOG = Logger.getLogger(ImageCache.class.getName());
+    private final static long MAX_RETAINED
+            = Math.max(0, Integer.getInteger("praxis.video.imagecache.size", 128)) * 1024L * 1024L;
+    private final static String[] EXTENSIONS = {".png", ".jpg", ".jpeg", ".gif", ".bmp"};
+
+    private final static LinkedHashMap<Key, BufferedImageSurface> retained
+            = new LinkedHashMap<>(16, 0.75f, true);
+    private final static Map<Key, WeakReference<BufferedImageSurface>> live
+            = new HashMap<>();
+    private static long retainedBytes;
+    private static long maxRetained = MAX_RETAINED;
+    private static ExecutorService prewarmer;
+
+    private ImageCache() {
+    }
+
+    /**
+     * Load the image at the given location, decoding only if no current
+     * version is cached. The returned surface is shared and must not be
+     * modified.
+     *
+     * @param location image location
+     * @return shared surface
+     * @throws IOException if the image cannot be loaded
+     */
+    public static BufferedImageSurface load(URI location) throws IOException {
+        Key key = new Key(location);
+        BufferedImageSurface surface = find(key);
+        if (surface != null) {
+            return surface;
+        }
+        LOG.log(Level.FINE, "Decoding image {0}", location);
+        surface = BufferedImageSurface.load(location);
+        synchronized (ImageCache.class) {
+            BufferedImageSurface existing = find(key);
+            if (existing != null) {
+                return existing;
+            }
+            retain(key, surface);
+            return surface;
+        }
+    }
+
+    /**
+     * Decode images in the given directory on a background thread, so that
+     * later calls to {@link #load(java.net.URI)} find them in the cache.
+     * Images are only retained up to the cache memory limit. Video roots call
+     * this on start for the directory set in their image-prewarm property.
+     *
+     * @param directory directory of images
+     */
+    public static synchronized void prewarm(Path directory) {
+        Objects.requireNonNull(directory);
+        if (prewarmer == null) {
+            prewarmer = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "Image Cache Prewarm");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        prewarmer.execute(() -> {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                    ImageCache::isImageFile)) {
+                for (Path file : files) {
+                    try {
+                        load(file.toUri());
+                    } catch (IOException ex) {
+                        LOG.log(Level.FINE, "Unable to prewarm " + file, ex);
+                    }
+                }
+            } catch (IOException ex) {
+                LOG.log(Level.WARNING, "Unable to prewarm " + directory, ex);
+            }
+        });
+    }
+
+    /**
+     * Remove all retained images from the cache.
+     */
+    public static synchronized void clear() {
+        retained.clear();
+        live.clear();
+        retainedBytes = 0;
+    }
+
+    static synchronized void setMaxRetained(long bytes) {
+        maxRetained = bytes;
+        trim();
+    }
+
+    static synchronized boolean isRetained(URI location) {
+        return retained.containsKey(new Key(location));
+    }
+
+    private static synchronized BufferedImageSurface find(Key key) {
+        BufferedImageSurface surface = retained.get(key);
+        if (surface == null) {
+            WeakReference<BufferedImageSurface> ref = live.get(key);
+            surface = ref == null ? null : ref.get();
+            if (surface != null) {
+                LOG.log(Level.FINE, "Restoring live image {0}", key.uri);
+                retain(key, surface);
+            }
+        }
+        return surface;
+    }
+
+    private static void retain(Key key, BufferedImageSurface surface) {
+        live.put(key, new WeakReference<>(surface));
+        if (retained.put(key, surface) == null) {
+            retainedBytes += bytes(surface);
+        }
+        trim();
+    }
+
+    private static void trim() {
+        Iterator<Map.Entry<Key, BufferedImageSurface>> itr = retained.entrySet().iterator();
+        while (retainedBytes > maxRetained && itr.hasNext()) {
+            Map.Entry<Key, BufferedImageSurface> eldest = itr.next();
+            retainedBytes -= bytes(eldest.getValue());
+            itr.remove();
+        }
+        live.values().removeIf(ref -> ref.get() == null);
+    }
+
+    private static long bytes(BufferedImageSurface surface) {
+        return 4L * surface.getWidth() * surface.getHeight();
+    }
+
+    private static boolean isImageFile(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        for (String ext : EXTENSIONS) {
+            if (name.endsWith(ext)) {
+                return Files.isRegularFile(path);
+            }
+        }
+        return false;
+    }
+
+    private static class Key {
+
+        private final URI uri;
+        private final long modified;
+
+        private Key(URI uri) {
+            this.uri = uri;
+            long mod = 0;
+            if ("file".equals(uri.getScheme())) {
+                try {
+                    mod = new File(uri).lastModified();
+                } catch (IllegalArgumentException ex) {
+                    // not a hierarchical file URI
+                }
+            }
+            this.modified = mod;
+        }
+
+        @Override
+        public int hashCode() {
+            return uri.hashCode() * 31 + Long.hashCode(modified);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Key) {
+                Key other = (Key) obj;
+                return modified == other.modified && uri.equals(other.uri);
+            }
+            return false;
+        }
+
+    }
+
+}
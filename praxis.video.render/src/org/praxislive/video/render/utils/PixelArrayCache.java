@@ -19,18 +19,25 @@
  * Please visit https://www.praxislive.org if you need additional information or
  * have any questions.
  */
-
 package org.praxislive.video.render.utils;
 
-import java.lang.ref.SoftReference;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Arrays;
-import java.util.Iterator;
-import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
+ * A shared pool of pixel arrays. Arrays are pooled in size classes rounded up
+ * to a multiple of 256 pixels, so common frame sizes map to exact-size
+ * buckets. Each size class is locked independently, and arrays released on
+ * one thread may be reused on any other.
+ * <p>
+ * The total retained size is bounded. The limit in megabytes can be set using
+ * the system property <code>praxis.video.pixelcache.size</code>. By default it
+ * is the smaller of 256MB and a quarter of the maximum heap.
  *
  * @author Neil C Smith (http://neilcsmith.net)
  */
@@ -38,103 +45,220 @@ public class PixelArrayCache {
 
     private final static Logger LOG = Logger.getLogger(PixelArrayCache.class.getName());
     private final static int SMALL_THRESHOLD = 256;
-    private final static int TILE_SIZE = 256 * 256;
-
-    private static ThreadLocal<CacheImpl> cache = new ThreadLocal<CacheImpl>() {
-
-        @Override
-        protected CacheImpl initialValue() {
-            return new CacheImpl();
-        }
+    private final static int SIZE_CLASS = 256;
+    private final static long MAX_RETAINED = maxRetained();
 
-    };
+    private final static ConcurrentHashMap<Integer, Bucket> buckets
+            = new ConcurrentHashMap<>();
+    private final static AtomicLong retained = new AtomicLong();
+    private final static AtomicLong clock = new AtomicLong();
+    private final static LongAdder hits = new LongAdder();
+    private final static LongAdder misses = new LongAdder();
+    private final static LongAdder discards = new LongAdder();
 
     private PixelArrayCache() {}
 
+    /**
+     * Acquire an array with a length of at least the requested size.
+     *
+     * @param size minimum size
+     * @param clear whether to zero the array contents
+     * @return array
+     */
     public static int[] acquire(int size, boolean clear) {
-        if (size > SMALL_THRESHOLD) {
-            return cache.get().acquire(size, clear);
-        } else {
+        if (size <= SMALL_THRESHOLD) {
             LOG.log(Level.FINEST, "Creating array below threshold of size : {0}", size);
             return new int[size];
         }
-        
+        int length = sizeClass(size);
+        Bucket bucket = buckets.get(length);
+        int[] array = bucket == null ? null : bucket.poll();
+        if (array != null) {
+            retained.addAndGet(-bytes(length));
+            hits.increment();
+            if (clear) {
+                Arrays.fill(array, 0);
+            }
+            return array;
+        } else {
+            misses.increment();
+            LOG.log(Level.FINEST, "Creating new array of size : {0}", length);
+            return new int[length];
+        }
     }
 
+    /**
+     * Release an array back to the pool. The array must not be used after
+     * release.
+     *
+     * @param array array to release
+     */
     public static void release(int[] array) {
-        if (array.length > SMALL_THRESHOLD) {
-            cache.get().release(array);
-        } 
+        int length = array.length;
+        if (length <= SMALL_THRESHOLD || length % SIZE_CLASS != 0) {
+            return;
+        }
+        long size = bytes(length);
+        if (size > MAX_RETAINED) {
+            discards.increment();
+            return;
+        }
+        long current;
+        do {
+            current = retained.get();
+            if (current + size > MAX_RETAINED) {
+                if (!evict()) {
+                    discards.increment();
+                    return;
+                }
+                current = -1;
+            }
+        } while (current < 0 || !retained.compareAndSet(current, current + size));
+        buckets.computeIfAbsent(length, Bucket::new).offer(array);
     }
 
-    private static class CacheImpl {
-
-        private List<SoftReference<int[]>> arrays = new ArrayList<SoftReference<int[]>>();
-
-        private int[] acquire(int size, boolean clear) {
-            int[] array = null;
-            SoftReference<int[]> ref = null;
-            int minDiff = Integer.MAX_VALUE;
-            Iterator<SoftReference<int[]>> itr = arrays.iterator();
-            while (itr.hasNext()) {
-                SoftReference<int[]> entry = itr.next();
-                int[] ar = entry.get();
-                if (ar == null) {
-                    LOG.log(Level.FINEST,
-                            "Pixel array collected, removing SoftReference.\nList size : {0}",
-                            arrays.size());
-                    itr.remove();
-                    continue;
-                }
-                if (ar.length >= size) {
-                    int diff = ar.length - size;
-                    if (array == null || diff < minDiff) {
-                        array = ar;
-                        ref = entry;
-                        minDiff = diff;
-                    }
-                    if (diff == 0) {
-                        break;
-                    }
-                }
+    /**
+     * Get a snapshot of the pool statistics.
+     *
+     * @return statistics
+     */
+    public static Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), discards.sum(),
+                retained.get(), MAX_RETAINED);
+    }
+
+    /**
+     * Empty the pool and reset statistics.
+     */
+    public static void clear() {
+        buckets.values().forEach(b -> retained.addAndGet(-b.clear()));
+        hits.reset();
+        misses.reset();
+        discards.reset();
+    }
+
+    static int sizeClass(int size) {
+        return ((size + SIZE_CLASS - 1) / SIZE_CLASS) * SIZE_CLASS;
+    }
+
+    private static long bytes(int length) {
+        return 4L * length;
+    }
+
+    // drop one array from the least recently used non-empty bucket
+    private static boolean evict() {
+        Bucket lru = null;
+        for (Bucket b : buckets.values()) {
+            if (!b.isEmpty() && (lru == null || b.lastUsed < lru.lastUsed)) {
+                lru = b;
             }
-            if ( (array != null) && (minDiff < (calculateSize(size)) ) ) {
-                arrays.remove(ref);
-                if (clear) {
-                    Arrays.fill(array, 0);
-                }
-                return array;
-            } else {
-                array = new int[calculateSize(size)];
-                if (LOG.isLoggable(Level.FINEST)) {
-                    LOG.log(Level.FINEST,
-                            "Creating new array of size : " + array.length +
-                            "\n - Requested size : " + size +
-                            "\n - Cache list size : " + arrays.size() +
-                            "\n - Minimum Difference found : " + minDiff);
+        }
+        if (lru == null) {
+            return false;
+        }
+        if (lru.poll() != null) {
+            retained.addAndGet(-bytes(lru.length));
+            discards.increment();
+        }
+        return true;
+    }
 
-                }
-                return array;
-            }      
+    private static long maxRetained() {
+        long max = Math.min(256L << 20, Runtime.getRuntime().maxMemory() / 4);
+        Integer mb = Integer.getInteger("praxis.video.pixelcache.size");
+        if (mb != null) {
+            max = Math.max(0, mb.longValue() << 20);
         }
+        return max;
+    }
 
-        private int calculateSize(int minSize) {
-//            if (minSize < TILE_SIZE) {
-                int size = SMALL_THRESHOLD * 2;
-                while (size < minSize) {
-                    size *= 2;
-                }
-                return size;
-//            } else {
-//                int size = minSize / TILE_SIZE;
-//                size += 1;
-//                size *= TILE_SIZE;
-//                return size;
-//            }
+    /**
+     * Pool statistics.
+     */
+    public static final class Statistics {
+
+        private final long hits;
+        private final long misses;
+        private final long discards;
+        private final long retainedBytes;
+        private final long maxRetainedBytes;
+
+        private Statistics(long hits, long misses, long discards,
+                long retainedBytes, long maxRetainedBytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.discards = discards;
+            this.retainedBytes = retainedBytes;
+            this.maxRetainedBytes = maxRetainedBytes;
+        }
+
+        /**
+         * @return number of acquires satisfied from the pool
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * @return number of acquires requiring a new array
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return number of released arrays dropped due to the size limit
+         */
+        public long getDiscards() {
+            return discards;
+        }
+
+        /**
+         * @return bytes currently held by the pool
+         */
+        public long getRetainedBytes() {
+            return retainedBytes;
+        }
+
+        /**
+         * @return maximum bytes the pool will hold
+         */
+        public long getMaxRetainedBytes() {
+            return maxRetainedBytes;
+        }
+
+    }
+
+    private static class Bucket {
+
+        private final int length;
+        private final ArrayDeque<int[]> arrays;
+
+        private volatile long lastUsed;
+
+        private Bucket(int length) {
+            this.length = length;
+            this.arrays = new ArrayDeque<>();
+        }
+
+        private synchronized int[] poll() {
+            lastUsed = clock.incrementAndGet();
+            return arrays.pollLast();
+        }
+
+        private synchronized void offer(int[] array) {
+            lastUsed = clock.incrementAndGet();
+            arrays.addLast(array);
+        }
+
+        private synchronized boolean isEmpty() {
+            return arrays.isEmpty();
         }
 
-        private void release(int[] array) {
-            arrays.add(new SoftReference<int[]>(array));
+        private synchronized long clear() {
+            long size = bytes(length) * arrays.size();
+            arrays.clear();
+            return size;
         }
 
     }
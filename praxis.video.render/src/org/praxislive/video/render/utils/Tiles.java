@@ -0,0 +1,194 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2019 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.render.utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.praxislive.video.render.PixelData;
+import org.praxislive.video.render.TileableOp;
+
+/**
+ * Utility for splitting pixel processing into horizontal bands that can be
+ * executed in parallel on the common fork/join pool. Work below a pixel
+ * threshold, or when the pool has no spare parallelism, runs serially on the
+ * calling thread.
+ * <p>
+ * Ops implementing {@link TileableOp} are dispatched here by default. Ops
+ * that cannot be split by output row, such as the two passes of a blur, can
+ * use {@link #process(int, int, RowTask)} for each independent pass.
+ * <p>
+ * The threshold can be configured using the system property
+ * <code>praxis.video.tile.threshold</code> (pixels). A value of zero or less
+ * disables parallel processing.
+ *
+ * @author Neil C Smith
+ */
+public class Tiles {
+
+    private final static int THRESHOLD
+            = Integer.getInteger("praxis.video.tile.threshold", 256 * 256);
+    private final static int MIN_ROWS = 16;
+
+    private Tiles() {
+    }
+
+    /**
+     * Process the rows from zero to height, splitting into bands if the area
+     * is large enough. The task must only write to the rows it is given, and
+     * must not depend on the order in which bands are processed.
+     *
+     * @param width width in pixels
+     * @param height height in pixels
+     * @param task row task
+     */
+    public static void process(int width, int height, RowTask task) {
+        if (height <= 0 || width <= 0) {
+            return;
+        }
+        int bands = bandsFor(width, height);
+        if (bands < 2) {
+            task.process(0, height);
+        } else {
+            ForkJoinPool.commonPool().invoke(new Band(task, 0, height,
+                    (height + bands - 1) / bands));
+        }
+    }
+
+    /**
+     * Process the op over all rows of the output. Processing is serial if any
+     * input shares its pixel array with the output.
+     *
+     * @param op tileable op
+     * @param output output data
+     * @param inputs input data
+     */
+    public static void process(TileableOp op, PixelData output, PixelData... inputs) {
+        process(op, 0, output.getHeight(), output.getWidth(), output, inputs);
+    }
+
+    /**
+     * Process the op over the given range of output rows, splitting into bands
+     * if the area of width by rows is large enough. Ops that only affect part
+     * of the output should use this to avoid splitting unaffected rows.
+     * Processing is serial if any input shares its pixel array with the output.
+     *
+     * @param op tileable op
+     * @param startRow first output row (inclusive)
+     * @param endRow last output row (exclusive)
+     * @param width width in pixels of the affected area
+     * @param output output data
+     * @param inputs input data
+     */
+    public static void process(TileableOp op, int startRow, int endRow, int width,
+            PixelData output, PixelData... inputs) {
+        int height = endRow - startRow;
+        if (height <= 0 || width <= 0) {
+            return;
+        }
+        if (bandsFor(width, height) < 2 || sharesData(output, inputs)) {
+            op.process(startRow, endRow, output, inputs);
+        } else {
+            process(width, height, (start, end)
+                    -> op.process(startRow + start, startRow + end, output, inputs));
+        }
+    }
+
+    /**
+     * Check whether an area of the given size would be processed in parallel.
+     *
+     * @param width width in pixels
+     * @param height height in pixels
+     * @return true if area would be split
+     */
+    public static boolean isParallel(int width, int height) {
+        return bandsFor(width, height) > 1;
+    }
+
+    private static boolean sharesData(PixelData output, PixelData[] inputs) {
+        int[] data = output.getData();
+        for (PixelData input : inputs) {
+            if (input.getData() == data) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static int bandsFor(int width, int height) {
+        if (THRESHOLD <= 0) {
+            return 1;
+        }
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (parallelism < 2 || height < MIN_ROWS * 2
+                || (long) width * height < THRESHOLD) {
+            return 1;
+        }
+        return Math.min(parallelism * 2, height / MIN_ROWS);
+    }
+
+    /**
+     * A task processing a range of rows.
+     */
+    @FunctionalInterface
+    public static interface RowTask {
+
+        /**
+         * Process rows.
+         *
+         * @param startRow first row (inclusive)
+         * @param endRow last row (exclusive)
+         */
+        public void process(int startRow, int endRow);
+
+    }
+
+    private static class Band extends RecursiveAction {
+
+        private final RowTask task;
+        private final int start;
+        private final int end;
+        private final int rows;
+
+        private Band(RowTask task, int start, int end, int rows) {
+            this.task = task;
+            this.start = start;
+            this.end = end;
+            this.rows = rows;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= rows) {
+                task.process(start, end);
+            } else {
+                int mid = start + ((end - start) / rows / 2) * rows;
+                if (mid <= start) {
+                    mid = start + rows;
+                }
+                invokeAll(new Band(task, start, mid, rows),
+                        new Band(task, mid, end, rows));
+            }
+        }
+
+    }
+
+}
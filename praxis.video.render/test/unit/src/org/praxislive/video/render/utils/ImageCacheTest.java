@@ -0,0 +1,100 @@
+package org.praxislive.video.render.utils;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ */
+public class ImageCacheTest {
+
+    private final static int SIZE = 10;
+    private final static long IMAGE_BYTES = 4L * SIZE * SIZE;
+
+    private Path dir;
+
+    public ImageCacheTest() {
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("imagecache");
+        ImageCache.clear();
+        ImageCache.setMaxRetained(2 * IMAGE_BYTES);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        ImageCache.clear();
+        ImageCache.setMaxRetained(128 * 1024L * 1024L);
+        File[] files = dir.toFile().listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Test
+    public void testSharedBetweenUsers() throws IOException {
+        URI image = write("a.png");
+        BufferedImageSurface first = ImageCache.load(image);
+        BufferedImageSurface second = ImageCache.load(image);
+        assertSame(first, second);
+        assertEquals(SIZE, first.getWidth());
+    }
+
+    @Test
+    public void testModifiedFileDecodedAgain() throws IOException {
+        URI image = write("a.png");
+        BufferedImageSurface first = ImageCache.load(image);
+        File file = new File(image);
+        assertTrue(file.setLastModified(file.lastModified() + 2000));
+        BufferedImageSurface second = ImageCache.load(image);
+        assertNotSame(first, second);
+        assertSame(second, ImageCache.load(image));
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() throws IOException {
+        URI a = write("a.png");
+        URI b = write("b.png");
+        URI c = write("c.png");
+        ImageCache.load(a);
+        ImageCache.load(b);
+        ImageCache.load(a);
+        ImageCache.load(c);
+        assertTrue(ImageCache.isRetained(a));
+        assertFalse(ImageCache.isRetained(b));
+        assertTrue(ImageCache.isRetained(c));
+    }
+
+    @Test
+    public void testEvictedImageInUseIsShared() throws IOException {
+        URI a = write("a.png");
+        BufferedImageSurface inUse = ImageCache.load(a);
+        ImageCache.load(write("b.png"));
+        ImageCache.load(write("c.png"));
+        assertFalse(ImageCache.isRetained(a));
+        assertSame(inUse, ImageCache.load(a));
+        assertTrue(ImageCache.isRetained(a));
+    }
+
+    private URI write(String name) throws IOException {
+        BufferedImage im = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+        File file = dir.resolve(name).toFile();
+        ImageIO.write(im, "png", file);
+        return file.toURI();
+    }
+
+}